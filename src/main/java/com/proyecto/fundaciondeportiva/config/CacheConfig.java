@@ -0,0 +1,70 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proyecto.fundaciondeportiva.service.cache.BusInvalidacionCache;
+import com.proyecto.fundaciondeportiva.service.cache.CaffeineCacheDistribuida;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caches en memoria (Caffeine) para datos de referencia que cambian poco: configuración de
+ * matrícula, catálogo de cursos y cabeceras de sección.
+ *
+ * Cada cache tiene tamaño máximo y TTL propios, y registra estadísticas: actuator las publica
+ * como cache.gets{result=hit|miss}, cache.puts y cache.evictions por nombre de cache.
+ * Los @CacheEvict de los servicios se aplican al confirmar la transacción, así que una lectura
+ * concurrente no vuelve a cachear el valor anterior mientras la escritura sigue abierta, y se
+ * publican en BusInvalidacionCache para que las demás instancias también las apliquen.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CONFIGURACION_MATRICULA = "configuracionMatricula";
+    public static final String CURSOS = "cursos";
+    public static final String SECCIONES = "secciones";
+
+    @Bean
+    public CacheManager cacheManager(
+            BusInvalidacionCache bus,
+            @Value("${cache.configuracion-matricula.ttl-segundos:300}") long ttlConfiguracion,
+            @Value("${cache.cursos.max-entradas:500}") long maxCursos,
+            @Value("${cache.cursos.ttl-segundos:600}") long ttlCursos,
+            @Value("${cache.secciones.max-entradas:2000}") long maxSecciones,
+            @Value("${cache.secciones.ttl-segundos:300}") long ttlSecciones) {
+
+        CaffeineCacheManager manager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                CaffeineCacheDistribuida distribuida = new CaffeineCacheDistribuida(name, cache, isAllowNullValues(), bus);
+                bus.suscribir(name, distribuida::invalidarLocal);
+                return distribuida;
+            }
+        };
+        // Solo estas caches: un nombre mal escrito en @Cacheable falla en vez de crear una sin límites
+        manager.setCacheNames(List.of());
+        manager.setAllowNullValues(false);
+
+        manager.registerCustomCache(CONFIGURACION_MATRICULA, construir(10, ttlConfiguracion));
+        manager.registerCustomCache(CURSOS, construir(maxCursos, ttlCursos));
+        manager.registerCustomCache(SECCIONES, construir(maxSecciones, ttlSecciones));
+
+        return manager;
+    }
+
+    private static Cache<Object, Object> construir(long maxEntradas, long ttlSegundos) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+    }
+}
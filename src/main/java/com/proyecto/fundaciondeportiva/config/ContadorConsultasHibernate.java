@@ -0,0 +1,84 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta, por hilo de petición, las sentencias SQL, entidades cargadas y colecciones
+ * inicializadas por Hibernate. MetricasPeticionFilter abre y cierra la medición; fuera
+ * de una petición (tareas programadas, trabajadores de colas) no se cuenta nada.
+ */
+public class ContadorConsultasHibernate implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+
+    public static final ContadorConsultasHibernate INSTANCIA = new ContadorConsultasHibernate();
+
+    private static final ThreadLocal<Contadores> ACTUAL = new ThreadLocal<>();
+
+    private ContadorConsultasHibernate() {
+    }
+
+    public static void iniciar() {
+        ACTUAL.set(new Contadores());
+    }
+
+    public static Contadores finalizar() {
+        Contadores contadores = ACTUAL.get();
+        ACTUAL.remove();
+        return contadores;
+    }
+
+    /**
+     * Sentencias que Hibernate lleva en la medición del hilo actual (0 fuera de una petición).
+     * No incluye lo que se ejecuta directamente con JdbcTemplate.
+     */
+    public static int sentenciasHastaAhora() {
+        Contadores contadores = ACTUAL.get();
+        return contadores != null ? contadores.sentencias : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Contadores contadores = ACTUAL.get();
+        if (contadores != null) {
+            contadores.sentencias++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Contadores contadores = ACTUAL.get();
+        if (contadores != null) {
+            contadores.entidades++;
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        Contadores contadores = ACTUAL.get();
+        if (contadores != null) {
+            contadores.colecciones++;
+        }
+    }
+
+    public static final class Contadores {
+        private int sentencias;
+        private int entidades;
+        private int colecciones;
+
+        public int getSentencias() {
+            return sentencias;
+        }
+
+        public int getEntidades() {
+            return entidades;
+        }
+
+        public int getColecciones() {
+            return colecciones;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.proyecto.fundaciondeportiva.model.entity.ConfiguracionMatricula;
 import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.Rol;
 import com.proyecto.fundaciondeportiva.repository.ConfiguracionMatriculaRepository;
+import com.proyecto.fundaciondeportiva.repository.SeccionRepository;
 import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
@@ -20,6 +21,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private ConfiguracionMatriculaRepository configuracionMatriculaRepository;
 
+    @Autowired
+    private SeccionRepository seccionRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -55,5 +59,9 @@ public class DataInitializer implements CommandLineRunner {
 
             System.out.println("Configuración de matrícula creada con éxito.");
         }
+
+        // 3) Contador de cupos ocupados por sección (recalculado desde las matrículas ACTIVAS)
+        int secciones = seccionRepository.reconciliarCuposOcupados();
+        System.out.println("Cupos ocupados reconciliados en " + secciones + " sección(es).");
     }
 }
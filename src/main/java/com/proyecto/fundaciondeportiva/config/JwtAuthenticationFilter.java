@@ -1,22 +1,32 @@
 package com.proyecto.fundaciondeportiva.config;
 
+import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.service.JwtService;
+import com.proyecto.fundaciondeportiva.service.VersionSeguridadService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-
+import java.util.Optional;
+
+/**
+ * Autentica las peticiones con el access token del header Authorization.
+ *
+ * Modo CLAIMS (por defecto): el principal (UsuarioAutenticado) sale de los claims verificados
+ * del token y solo se comprueba la versión de seguridad en memoria, sin consultar la BD.
+ * Modo BD (jwt.autenticacion.modo=BD): carga el usuario en cada petición, como antes.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -26,6 +36,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private VersionSeguridadService versionSeguridadService;
+
+    @Value("${jwt.autenticacion.modo:CLAIMS}")
+    private String modo;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -68,18 +84,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            String userEmail = jwtService.extractUsername(jwt);
+            // Un solo parseo/verificación por petición (o ninguno si el token ya está en cache)
+            Optional<JwtService.TokenVerificado> token = jwtService.verificarAccessToken(jwt);
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+            if (token.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsuarioAutenticado principal = "BD".equalsIgnoreCase(modo)
+                        ? desdeBaseDeDatos(token.get())
+                        : desdeClaims(token.get());
 
-                // Solo ACCESS token autentica requests
-                if (jwtService.validateAccessToken(jwt, userDetails)) {
+                if (principal != null) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails,
+                                    principal,
                                     null,
-                                    userDetails.getAuthorities()
+                                    principal.getAuthorities()
                             );
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -92,4 +110,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Sin BD: el token ya trae id, email y rol; solo se revisa que su versión siga vigente
+    private UsuarioAutenticado desdeClaims(JwtService.TokenVerificado token) {
+        if (!versionSeguridadService.esVigente(token.usuarioId(), token.versionSeguridad())) {
+            return null;
+        }
+        return new UsuarioAutenticado(token.usuarioId(), token.email(), token.rol());
+    }
+
+    private UsuarioAutenticado desdeBaseDeDatos(JwtService.TokenVerificado token) {
+        Usuario usuario = (Usuario) userDetailsService.loadUserByUsername(token.email());
+        int version = usuario.getVersionSeguridad() != null ? usuario.getVersionSeguridad() : 0;
+        if (version != token.versionSeguridad()) {
+            return null;
+        }
+        return UsuarioAutenticado.desde(usuario);
+    }
 }
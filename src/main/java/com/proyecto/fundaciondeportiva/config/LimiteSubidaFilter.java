@@ -0,0 +1,80 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Límite general de las subidas multipart.
+ *
+ * El límite del contenedor (spring.servlet.multipart.*) es uno solo para toda la aplicación y
+ * está pensado para los Excel de las cargas masivas (/api/etl/**). El resto de rutas no debe
+ * aceptar archivos tan grandes: este filtro rechaza con 413 las peticiones multipart que superen
+ * subida.max-peticion antes de que se lea el cuerpo. Va justo después de CORS (para que el
+ * navegador pueda leer el 413) y antes que cualquier filtro que pueda leer parámetros.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LimiteSubidaFilter extends OncePerRequestFilter {
+
+    private static final String RUTAS_ETL = "/api/etl/";
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+
+    public LimiteSubidaFilter(ObjectMapper objectMapper,
+                              @Value("${subida.max-peticion:10MB}") DataSize maxPeticion) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxPeticion.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType == null
+                || !contentType.toLowerCase().startsWith("multipart/")
+                || request.getRequestURI().startsWith(request.getContextPath() + RUTAS_ETL);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // Sin Content-Length (chunked) solo aplica el límite del contenedor
+        if (request.getContentLengthLong() > maxBytes) {
+            // Respuesta directa, con la forma de GlobalExceptionHandler: sendError pasaría por
+            // /error y la seguridad lo convertiría en 401/403
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+            error.put("message", "El archivo supera el tamaño máximo permitido ("
+                    + DataSize.ofBytes(maxBytes).toMegabytes() + " MB)");
+            error.put("timestamp", LocalDateTime.now());
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getWriter(), error);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
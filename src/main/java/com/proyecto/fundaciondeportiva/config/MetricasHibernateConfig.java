@@ -0,0 +1,45 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Conecta ContadorConsultasHibernate a Hibernate:
+ * - StatementInspector: ve cada sentencia SQL antes de prepararla.
+ * - Listeners POST_LOAD / INIT_COLLECTION: entidades cargadas y colecciones lazy inicializadas.
+ * No requiere hibernate.generate_statistics.
+ */
+@Configuration
+public class MetricasHibernateConfig {
+
+    private final AtomicBoolean listenersRegistrados = new AtomicBoolean(false);
+
+    @Bean
+    public HibernatePropertiesCustomizer inspectorSentenciasCustomizer() {
+        return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR, ContadorConsultasHibernate.INSTANCIA);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void registrarListeners(ContextRefreshedEvent event) {
+        if (!listenersRegistrados.compareAndSet(false, true)) {
+            return;
+        }
+        EntityManagerFactory emf = event.getApplicationContext().getBean(EntityManagerFactory.class);
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_LOAD, ContadorConsultasHibernate.INSTANCIA);
+        registry.appendListeners(EventType.INIT_COLLECTION, ContadorConsultasHibernate.INSTANCIA);
+    }
+}
@@ -0,0 +1,99 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cada petición por patrón de ruta (ej. /api/docente/secciones/{seccionId}/examenes):
+ * sentencias SQL, entidades cargadas, colecciones inicializadas y duración.
+ *
+ * Métricas (GET /actuator/metrics/{nombre}?tag=uri:...):
+ *   peticiones.sql.sentencias, peticiones.entidades.cargadas,
+ *   peticiones.colecciones.inicializadas, peticiones.duracion
+ *
+ * Si una petición supera metricas.sql.presupuesto-sentencias se registra un WARN.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class MetricasPeticionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricasPeticionFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${metricas.sql.presupuesto-sentencias:30}")
+    private int presupuestoSentencias;
+
+    public MetricasPeticionFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ContadorConsultasHibernate.iniciar();
+        long inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long duracion = System.nanoTime() - inicio;
+            ContadorConsultasHibernate.Contadores contadores = ContadorConsultasHibernate.finalizar();
+            registrar(request, response, duracion, contadores);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, HttpServletResponse response, long duracionNanos,
+                           ContadorConsultasHibernate.Contadores contadores) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "SIN_MAPEO";
+        Tags tags = Tags.of("uri", uri, "method", request.getMethod());
+
+        Timer.builder("peticiones.duracion")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(duracionNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("peticiones.sql.sentencias")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(contadores.getSentencias());
+        DistributionSummary.builder("peticiones.entidades.cargadas")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(contadores.getEntidades());
+        DistributionSummary.builder("peticiones.colecciones.inicializadas")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(contadores.getColecciones());
+
+        if (contadores.getSentencias() > presupuestoSentencias) {
+            logger.warn("{} {} ejecutó {} sentencias SQL (presupuesto {}), {} entidades, {} colecciones, {} ms, status {}",
+                    request.getMethod(), uri, contadores.getSentencias(), presupuestoSentencias,
+                    contadores.getEntidades(), contadores.getColecciones(),
+                    TimeUnit.NANOSECONDS.toMillis(duracionNanos), response.getStatus());
+        }
+    }
+}
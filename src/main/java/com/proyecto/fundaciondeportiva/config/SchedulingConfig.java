@@ -0,0 +1,12 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas @Scheduled (stream del monitor de asistencias, limpieza de eventos, etc.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,21 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inyecta en un parámetro de controller el usuario autenticado (UsuarioAutenticado) de la
+ * petición, tomado del principal que deja el filtro JWT: id, email y rol sin consultar la BD.
+ *
+ * <pre>
+ * public ResponseEntity&lt;...&gt; misMatriculas(@UsuarioActual UsuarioAutenticado alumno)
+ * </pre>
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsuarioActual {
+}
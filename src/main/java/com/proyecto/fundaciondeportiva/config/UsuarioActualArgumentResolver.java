@@ -0,0 +1,35 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import com.proyecto.fundaciondeportiva.exception.InvalidCredentialsException;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resuelve los parámetros @UsuarioActual UsuarioAutenticado desde el SecurityContext.
+ * Registrado en UsuarioActualConfig.
+ */
+public class UsuarioActualArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(UsuarioActual.class)
+                && UsuarioAutenticado.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return usuario;
+        }
+        throw new InvalidCredentialsException("No autenticado");
+    }
+}
@@ -0,0 +1,19 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registra el resolver de @UsuarioActual para todos los controllers.
+ */
+@Configuration
+public class UsuarioActualConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new UsuarioActualArgumentResolver());
+    }
+}
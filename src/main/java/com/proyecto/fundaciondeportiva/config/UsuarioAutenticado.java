@@ -0,0 +1,47 @@
+package com.proyecto.fundaciondeportiva.config;
+
+import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import com.proyecto.fundaciondeportiva.model.enums.Rol;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal de las peticiones autenticadas con JWT.
+ *
+ * Se arma con los claims ya verificados del access token (uid, sub, rol), sin consultar la BD.
+ * Para datos del usuario más allá del id, email y rol hay que cargarlo por id.
+ */
+public record UsuarioAutenticado(Long id, String email, Rol rol) implements UserDetails {
+
+    public static UsuarioAutenticado desde(Usuario usuario) {
+        return new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), usuario.getRol());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + rol.name()));
+    }
+
+    // No hay contraseña: la autenticación ya la hizo el token
+    @Override
+    public String getPassword() { return null; }
+
+    @Override
+    public String getUsername() { return email; }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+}
@@ -1,17 +1,16 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.response.AlumnoExamenDTO;
 import com.proyecto.fundaciondeportiva.model.entity.Examen;
 import com.proyecto.fundaciondeportiva.model.entity.NotaExamen;
 import com.proyecto.fundaciondeportiva.model.entity.Seccion;
-import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.EstadoNotaExamen;
 import com.proyecto.fundaciondeportiva.repository.NotaExamenRepository;
-import com.proyecto.fundaciondeportiva.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,25 +20,14 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/alumno")
 public class AlumnoExamenController {
 
-    @Autowired
-    private UsuarioService usuarioService;
-
     @Autowired
     private NotaExamenRepository notaExamenRepository;
 
-    private Usuario getAlumnoActual() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usuarioService.obtenerUsuarioPorEmail(email)
-                .orElseThrow(() -> new RuntimeException("Alumno autenticado no encontrado"));
-    }
-
     @GetMapping("/examenes")
     @PreAuthorize("hasRole('ALUMNO')")
-    public ResponseEntity<List<AlumnoExamenDTO>> listarExamenesAlumno() {
-
-        Usuario alumno = getAlumnoActual();
+    public ResponseEntity<List<AlumnoExamenDTO>> listarExamenesAlumno(@UsuarioActual UsuarioAutenticado alumno) {
 
-        List<NotaExamen> notas = notaExamenRepository.findByAlumno_Id(alumno.getId());
+        List<NotaExamen> notas = notaExamenRepository.findByAlumno_Id(alumno.id());
 
         List<AlumnoExamenDTO> dtoList = notas.stream().map(n -> {
             Examen ex = n.getExamen();
@@ -1,15 +1,14 @@
 // src/main/java/com/proyecto/fundaciondeportiva/controller/AlumnoHorarioController.java
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.response.SesionHorarioDTO;
 import com.proyecto.fundaciondeportiva.model.entity.Sesion;
-import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.repository.SesionRepository;
-import com.proyecto.fundaciondeportiva.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,21 +17,14 @@ import java.util.List;
 @RequestMapping("/api/alumno")
 public class AlumnoHorarioController {
 
-    @Autowired
-    private UsuarioService usuarioService;
-
     @Autowired
     private SesionRepository sesionRepository;
 
     @GetMapping("/horario")
     @PreAuthorize("hasRole('ALUMNO')")
-    public ResponseEntity<List<SesionHorarioDTO>> obtenerHorarioAlumno() {
-
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Usuario alumno = usuarioService.obtenerUsuarioPorEmail(email)
-                .orElseThrow(() -> new RuntimeException("Alumno autenticado no encontrado"));
+    public ResponseEntity<List<SesionHorarioDTO>> obtenerHorarioAlumno(@UsuarioActual UsuarioAutenticado alumno) {
 
-        Long alumnoId = alumno.getId();
+        Long alumnoId = alumno.id();
 
         List<Sesion> sesiones = sesionRepository
                 .findBySeccion_Matriculas_Alumno_IdOrderByFechaAsc(alumnoId);
@@ -1,21 +1,20 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.response.CursoAlumnoProgresoDTO;
 import com.proyecto.fundaciondeportiva.dto.response.ProgresoAlumnoResumenDTO;
 import com.proyecto.fundaciondeportiva.model.entity.Matricula;
-import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
-import com.proyecto.fundaciondeportiva.service.UsuarioService;
+import com.proyecto.fundaciondeportiva.repository.MatriculaRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,23 +22,16 @@ import java.util.stream.Collectors;
 public class AlumnoProgresoController {
 
     @Autowired
-    private UsuarioService usuarioService;
+    private MatriculaRepository matriculaRepository;
 
     @GetMapping("/progreso")
     @PreAuthorize("hasRole('ALUMNO')")
     @Transactional
-    public ResponseEntity<ProgresoAlumnoResumenDTO> obtenerProgresoAlumno() {
+    public ResponseEntity<ProgresoAlumnoResumenDTO> obtenerProgresoAlumno(@UsuarioActual UsuarioAutenticado alumno) {
 
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        Usuario alumno = usuarioService.obtenerUsuarioPorEmail(email)
-                .orElseThrow(() -> new RuntimeException("Alumno autenticado no encontrado"));
-
-        Set<Matricula> todasMatriculas = alumno.getMatriculas(); // asegúrate de tener el mapeo
-
-        List<Matricula> matriculasActivas = todasMatriculas.stream()
-                .filter(m -> m.getEstado() == EstadoMatricula.ACTIVA)
-                .toList();
+        // Por id del token: sin cargar el usuario ni todas sus matrículas para luego filtrarlas
+        List<Matricula> matriculasActivas =
+                matriculaRepository.findByAlumnoIdAndEstado(alumno.id(), EstadoMatricula.ACTIVA);
 
         int totalCursosActivos = matriculasActivas.size();
 
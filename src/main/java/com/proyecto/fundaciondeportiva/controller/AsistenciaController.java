@@ -1,15 +1,17 @@
 // src/main/java/com/proyecto/fundaciondeportiva/controller/AsistenciaController.java
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.RegistrarAsistenciasSesionRequest;
 import com.proyecto.fundaciondeportiva.dto.response.AsistenciaAlumnoSemanaDTO;
 import com.proyecto.fundaciondeportiva.dto.response.AsistenciaDetalleAlumnoDTO;
+import com.proyecto.fundaciondeportiva.dto.response.RegistroAsistenciasResultadoDTO;
 import com.proyecto.fundaciondeportiva.service.AsistenciaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -42,13 +44,13 @@ public class AsistenciaController {
             consumes = MediaType.APPLICATION_JSON_VALUE
     )
     @PreAuthorize("hasAnyRole('PROFESOR','ADMINISTRADOR')")
-    public ResponseEntity<Void> registrarAsistenciasSesion(
+    public ResponseEntity<RegistroAsistenciasResultadoDTO> registrarAsistenciasSesion(
             @RequestBody RegistrarAsistenciasSesionRequest request,
-            Authentication authentication
+            @UsuarioActual UsuarioAutenticado usuario
     ) {
-        String emailUsuario = authentication.getName();
-        asistenciaService.registrarAsistenciasSesion(request, emailUsuario);
-        return ResponseEntity.ok().build();
+        RegistroAsistenciasResultadoDTO resultado =
+                asistenciaService.registrarAsistenciasSesion(request, usuario);
+        return ResponseEntity.ok(resultado);
     }
 
     // ======== ALUMNO ========
@@ -60,11 +62,10 @@ public class AsistenciaController {
     @PreAuthorize("hasRole('ALUMNO')")
     public ResponseEntity<List<AsistenciaAlumnoSemanaDTO>> obtenerMisAsistencias(
             @RequestParam Long seccionId,
-            Authentication authentication
+            @UsuarioActual UsuarioAutenticado alumno
     ) {
-        String emailAlumno = authentication.getName();
         List<AsistenciaAlumnoSemanaDTO> lista =
-                asistenciaService.obtenerMisAsistenciasEnSeccion(seccionId, emailAlumno);
+                asistenciaService.obtenerMisAsistenciasEnSeccion(seccionId, alumno.id());
         return ResponseEntity.ok(lista);
     }
 }
\ No newline at end of file
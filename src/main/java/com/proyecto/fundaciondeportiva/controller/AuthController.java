@@ -16,7 +16,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Arrays;
@@ -36,9 +35,6 @@ public class AuthController {
     @Autowired
     private JwtService jwtService;
 
-    @Autowired
-    private UserDetailsService userDetailsService;
-
     @PostMapping("/login")
     public ResponseEntity<LoginOutputDTO> login(
             @Valid @RequestBody LoginInputDTO loginInputDTO,
@@ -52,10 +48,10 @@ public class AuthController {
         Usuario usuario = usuarioRepository.findByEmail(userDetails.getUsername()).orElseThrow();
 
         // Access (corto) -> lo envías en el body
-        String accessToken = jwtService.generateAccessToken(userDetails);
+        String accessToken = jwtService.generateAccessToken(usuario);
 
         // Refresh (largo) -> cookie HttpOnly
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        String refreshToken = jwtService.generateRefreshToken(usuario);
 
         String dni = null;
         String nivelAlumno = null;
@@ -111,22 +107,19 @@ public class AuthController {
             return ResponseEntity.status(401).build();
         }
 
-        // carga user “oficial” del security
-        UserDetails userDetails;
-        try {
-            userDetails = userDetailsService.loadUserByUsername(email);
-        } catch (Exception e) {
+        // El refresh sí va a la BD: toma el rol y la versión de seguridad actuales
+        Usuario usuario = usuarioRepository.findByEmail(email).orElse(null);
+        if (usuario == null) {
             return ResponseEntity.status(401).build();
         }
 
-        if (!jwtService.validateRefreshToken(refreshToken, userDetails)) {
+        // Incluye la versión: un cambio de contraseña/email invalida también el refresh
+        if (!jwtService.validateRefreshToken(refreshToken, usuario)) {
             return ResponseEntity.status(401).build();
         }
 
         // nuevo access token
-        String newAccessToken = jwtService.generateAccessToken(userDetails);
-
-        Usuario usuario = usuarioRepository.findByEmail(email).orElseThrow();
+        String newAccessToken = jwtService.generateAccessToken(usuario);
 
         LoginOutputDTO responseBody = LoginOutputDTO.builder()
                 .token(newAccessToken)
@@ -1,7 +1,10 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.CursoRequestDTO;
 import com.proyecto.fundaciondeportiva.dto.response.CursoResponseDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.service.ServicioCurso;
 import jakarta.validation.Valid;
@@ -9,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,9 +28,9 @@ public class CursoController {
     @PostMapping
     // CORRECCIÓN
     @PreAuthorize("hasRole('ADMINISTRADOR')")
-    public ResponseEntity<CursoResponseDTO> crearCurso(@Valid @RequestBody CursoRequestDTO request) {
-        String emailAdmin = SecurityContextHolder.getContext().getAuthentication().getName();
-        CursoResponseDTO cursoCreado = servicioCurso.crearCurso(request, emailAdmin);
+    public ResponseEntity<CursoResponseDTO> crearCurso(@Valid @RequestBody CursoRequestDTO request,
+                                                       @UsuarioActual UsuarioAutenticado admin) {
+        CursoResponseDTO cursoCreado = servicioCurso.crearCurso(request, admin.id());
         return new ResponseEntity<>(cursoCreado, HttpStatus.CREATED);
     }
 
@@ -55,6 +57,16 @@ public class CursoController {
         return ResponseEntity.ok(cursos);
     }
 
+    // Listado paginado por cursor: ?cursor=&limite=&nivel=
+    @GetMapping("/pagina")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PaginaCursorDTO<CursoResponseDTO>> paginarCursos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) NivelAcademico nivel) {
+        return ResponseEntity.ok(servicioCurso.paginarCursos(cursor, limite, nivel));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<CursoResponseDTO> obtenerCursoPorId(@PathVariable Long id) {
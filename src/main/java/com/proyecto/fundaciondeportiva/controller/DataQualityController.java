@@ -1,13 +1,27 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.dto.response.ConteoEventosDTO;
+import com.proyecto.fundaciondeportiva.service.AnaliticaEventosService;
+import com.proyecto.fundaciondeportiva.service.ArchivoEventosService;
 import com.proyecto.fundaciondeportiva.service.DataCleaningService;
+import com.proyecto.fundaciondeportiva.service.LimpiezaEventosProgramada;
+import com.proyecto.fundaciondeportiva.service.archivo.LectorArchivoEventos;
+import com.proyecto.fundaciondeportiva.service.normalizacion.NormalizadorTiposEvento;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -15,21 +29,124 @@ import java.util.Map;
 public class DataQualityController {
 
     private final DataCleaningService cleaningService;
+    private final LimpiezaEventosProgramada limpiezaProgramada;
+    private final AnaliticaEventosService analiticaService;
+    private final ArchivoEventosService archivoService;
+    private final LectorArchivoEventos lectorArchivo;
+    private final NormalizadorTiposEvento normalizadorTipos;
 
-    public DataQualityController(DataCleaningService cleaningService) {
+    public DataQualityController(DataCleaningService cleaningService,
+                                 LimpiezaEventosProgramada limpiezaProgramada,
+                                 AnaliticaEventosService analiticaService,
+                                 ArchivoEventosService archivoService,
+                                 LectorArchivoEventos lectorArchivo,
+                                 NormalizadorTiposEvento normalizadorTipos) {
         this.cleaningService = cleaningService;
+        this.limpiezaProgramada = limpiezaProgramada;
+        this.analiticaService = analiticaService;
+        this.archivoService = archivoService;
+        this.lectorArchivo = lectorArchivo;
+        this.normalizadorTipos = normalizadorTipos;
     }
 
+    // Mismo lease y tope de lotes que la limpieza programada: 409 si ya se está ejecutando aquí
+    // o en otra instancia; si quedan pendientes, se vuelve a llamar (o los toma la siguiente ejecución)
     @PostMapping("/limpiar-eventos")
-    public Map<String, Object> limpiarEventos() {
-        int n = cleaningService.limpiarEventosNuevos();
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<Map<String, Object>> limpiarEventos() {
         Map<String, Object> resp = new HashMap<>();
-        resp.put("eventosProcesados", n);
-        return resp;
+        return limpiezaProgramada.ejecutar()
+                .map(r -> {
+                    resp.put("eventosProcesados", r.limpios());
+                    resp.put("eventosLeidos", r.leidos());
+                    resp.put("pendientes", r.pendientes());
+                    return ResponseEntity.ok(resp);
+                })
+                .orElseGet(() -> {
+                    resp.put("message", "La limpieza de eventos ya se está ejecutando");
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(resp);
+                });
+    }
+
+    // Relee eventos.tipos.reglas; si el archivo es inválido se mantienen las reglas anteriores
+    @PostMapping("/reglas-tipo/recargar")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<Map<String, Object>> recargarReglasTipo() {
+        Map<String, Object> resp = new HashMap<>();
+        try {
+            resp.put("reglas", normalizadorTipos.recargar());
+            return ResponseEntity.ok(resp);
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            resp.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(resp);
+        }
     }
 
     @GetMapping("/resumen")   // NUEVO
     public ResponseEntity<Map<String, Object>> resumenCalidad() {
         return ResponseEntity.ok(cleaningService.obtenerResumenCalidad());
     }
+
+    // ==========================================================
+    // ANALÍTICA (lee solo evento_rollup_hora; solo administradores: cruza usuarios)
+    // Fechas ISO, p. ej. ?desde=2025-03-01T00:00:00&hasta=2025-03-08T00:00:00
+    // ==========================================================
+
+    @GetMapping("/analitica/por-hora")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<List<ConteoEventosDTO>> eventosPorHora(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) Long usuarioId) {
+        return ResponseEntity.ok(analiticaService.totalPorHora(desde, hasta, tipo, usuarioId));
+    }
+
+    @GetMapping("/analitica/por-tipo")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<List<ConteoEventosDTO>> eventosPorTipo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) Long usuarioId) {
+        return ResponseEntity.ok(analiticaService.totalPorTipo(desde, hasta, usuarioId));
+    }
+
+    // ==========================================================
+    // ARCHIVO (histórico en disco, CSV + gzip por día)
+    // ==========================================================
+
+    // Mismo lease y tope de lotes que el archivado programado: 409 si ya se está ejecutando
+    @PostMapping("/archivar-eventos")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<Map<String, Object>> archivarEventos() {
+        Map<String, Object> resp = new HashMap<>();
+        return archivoService.archivar()
+                .map(r -> {
+                    resp.put("eventosArchivados", r.archivados());
+                    resp.put("archivos", r.archivos());
+                    resp.put("crudosBorrados", r.crudosBorrados());
+                    return ResponseEntity.ok(resp);
+                })
+                .orElseGet(() -> {
+                    resp.put("message", "El archivado de eventos ya se está ejecutando");
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(resp);
+                });
+    }
+
+    @GetMapping("/archivo/particiones")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<List<LectorArchivoEventos.ParticionArchivo>> particionesArchivo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return ResponseEntity.ok(lectorArchivo.particiones(desde, hasta));
+    }
+
+    @GetMapping("/archivo/por-hora")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<List<ConteoEventosDTO>> eventosArchivadosPorHora(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String tipo) {
+        return ResponseEntity.ok(analiticaService.totalPorHoraArchivado(desde, hasta, tipo));
+    }
 }
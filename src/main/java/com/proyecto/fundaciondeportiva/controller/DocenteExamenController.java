@@ -1,5 +1,7 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.ExamenCrearDTO;
 import com.proyecto.fundaciondeportiva.dto.request.NotaExamenActualizarDTO;
 import com.proyecto.fundaciondeportiva.dto.response.ExamenResumenDocenteDTO;
@@ -12,11 +14,9 @@ import com.proyecto.fundaciondeportiva.model.enums.EstadoNotaExamen;
 import com.proyecto.fundaciondeportiva.repository.ExamenRepository;
 import com.proyecto.fundaciondeportiva.repository.NotaExamenRepository;
 import com.proyecto.fundaciondeportiva.repository.SeccionRepository;
-import com.proyecto.fundaciondeportiva.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -32,9 +32,6 @@ public class DocenteExamenController {
 
     private static final double NOTA_MIN_APROBATORIA = 10.5;
 
-    @Autowired
-    private UsuarioService usuarioService;
-
     @Autowired
     private SeccionRepository seccionRepository;
 
@@ -44,15 +41,9 @@ public class DocenteExamenController {
     @Autowired
     private NotaExamenRepository notaExamenRepository;
 
-    private Usuario getProfesorActual() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usuarioService.obtenerUsuarioPorEmail(email)
-                .orElseThrow(() -> new RuntimeException("Profesor autenticado no encontrado"));
-    }
-
-    private void validarSeccionDelProfesor(Seccion seccion, Usuario profesor) {
+    private void validarSeccionDelProfesor(Seccion seccion, UsuarioAutenticado profesor) {
         if (seccion.getProfesor() == null ||
-                !seccion.getProfesor().getId().equals(profesor.getId())) {
+                !seccion.getProfesor().getId().equals(profesor.id())) {
             throw new RuntimeException("No tienes permiso para gestionar esta sección.");
         }
     }
@@ -62,9 +53,8 @@ public class DocenteExamenController {
     @GetMapping("/secciones/{seccionId}/examenes")
     @PreAuthorize("hasRole('PROFESOR')")
     public ResponseEntity<List<ExamenResumenDocenteDTO>> listarExamenesSeccion(
-            @PathVariable Long seccionId) {
-
-        Usuario profesor = getProfesorActual();
+            @PathVariable Long seccionId,
+            @UsuarioActual UsuarioAutenticado profesor) {
 
         Seccion seccion = seccionRepository.findById(seccionId)
                 .orElseThrow(() -> new RecursoNoEncontradoException("Sección no encontrada"));
@@ -126,9 +116,8 @@ public class DocenteExamenController {
     @PreAuthorize("hasRole('PROFESOR')")
     public ResponseEntity<ExamenResumenDocenteDTO> crearExamen(
             @PathVariable Long seccionId,
-            @RequestBody ExamenCrearDTO request) {
-
-        Usuario profesor = getProfesorActual();
+            @RequestBody ExamenCrearDTO request,
+            @UsuarioActual UsuarioAutenticado profesor) {
 
         Seccion seccion = seccionRepository.findById(seccionId)
                 .orElseThrow(() -> new RecursoNoEncontradoException("Sección no encontrada"));
@@ -209,9 +198,8 @@ public class DocenteExamenController {
     @GetMapping("/examenes/{examenId}/notas")
     @PreAuthorize("hasRole('PROFESOR')")
     public ResponseEntity<NotasExamenDocenteDTO> listarNotasExamen(
-            @PathVariable Long examenId) {
-
-        Usuario profesor = getProfesorActual();
+            @PathVariable Long examenId,
+            @UsuarioActual UsuarioAutenticado profesor) {
 
         Examen examen = examenRepository.findById(examenId)
                 .orElseThrow(() -> new RecursoNoEncontradoException("Examen no encontrado"));
@@ -291,9 +279,8 @@ public class DocenteExamenController {
     @PreAuthorize("hasRole('PROFESOR')")
     public ResponseEntity<NotasExamenDocenteDTO> actualizarNotasExamen(
             @PathVariable Long examenId,
-            @RequestBody List<NotaExamenActualizarDTO> notasRequest) {
-
-        Usuario profesor = getProfesorActual();
+            @RequestBody List<NotaExamenActualizarDTO> notasRequest,
+            @UsuarioActual UsuarioAutenticado profesor) {
 
         Examen examen = examenRepository.findById(examenId)
                 .orElseThrow(() -> new RecursoNoEncontradoException("Examen no encontrado"));
@@ -342,6 +329,6 @@ public class DocenteExamenController {
         }
 
         // Devolvemos el estado actualizado
-        return listarNotasExamen(examenId);
+        return listarNotasExamen(examenId, profesor);
     }
 }
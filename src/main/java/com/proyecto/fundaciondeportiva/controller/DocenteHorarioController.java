@@ -1,15 +1,14 @@
 // src/main/java/com/proyecto/fundaciondeportiva/controller/DocenteHorarioController.java
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.response.SesionHorarioDTO;
 import com.proyecto.fundaciondeportiva.model.entity.Sesion;
-import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.repository.SesionRepository;
-import com.proyecto.fundaciondeportiva.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,22 +17,14 @@ import java.util.List;
 @RequestMapping("/api/docente")
 public class DocenteHorarioController {
 
-    @Autowired
-    private UsuarioService usuarioService;
-
     @Autowired
     private SesionRepository sesionRepository;
 
     @GetMapping("/horario")
     @PreAuthorize("hasRole('PROFESOR')")
-    public ResponseEntity<List<SesionHorarioDTO>> obtenerHorarioDocente() {
-
-        // email del usuario autenticado
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Usuario profesor = usuarioService.obtenerUsuarioPorEmail(email)
-                .orElseThrow(() -> new RuntimeException("Profesor autenticado no encontrado"));
+    public ResponseEntity<List<SesionHorarioDTO>> obtenerHorarioDocente(@UsuarioActual UsuarioAutenticado profesor) {
 
-        Long profesorId = profesor.getId(); // usamos el ID del usuario
+        Long profesorId = profesor.id(); // usamos el ID del usuario (viene en el token)
 
         List<Sesion> sesiones = sesionRepository
                 .findBySeccion_Profesor_IdOrderByFechaAsc(profesorId);
@@ -48,7 +39,8 @@ public class DocenteHorarioController {
                         .nombreSeccion(s.getSeccion().getNombre())
                         .aula(s.getSeccion().getAula())
                         // opcional: nombre del profe en el DTO también
-                        .profesor(profesor.getNombre())
+                        // (todas las sesiones son de sus secciones: es la misma entidad en todas)
+                        .profesor(s.getSeccion().getProfesor().getNombre())
                         .build()
                 )
                 .toList();
@@ -1,22 +1,21 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.response.ProgresoDocenteResumenDTO;
 import com.proyecto.fundaciondeportiva.dto.response.SeccionDocenteProgresoDTO;
 import com.proyecto.fundaciondeportiva.model.entity.Matricula;
 import com.proyecto.fundaciondeportiva.model.entity.Seccion;
-import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
-import com.proyecto.fundaciondeportiva.service.UsuarioService;
+import com.proyecto.fundaciondeportiva.repository.SeccionRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,22 +23,15 @@ import java.util.stream.Collectors;
 public class DocenteProgresoController {
 
     @Autowired
-    private UsuarioService usuarioService;
+    private SeccionRepository seccionRepository;
 
     @GetMapping("/progreso")
     @PreAuthorize("hasRole('PROFESOR')")
     @Transactional
-    public ResponseEntity<ProgresoDocenteResumenDTO> obtenerProgresoDocente() {
+    public ResponseEntity<ProgresoDocenteResumenDTO> obtenerProgresoDocente(@UsuarioActual UsuarioAutenticado profesor) {
 
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        Usuario profesor = usuarioService.obtenerUsuarioPorEmail(email)
-                .orElseThrow(() -> new RuntimeException("Profesor autenticado no encontrado"));
-
-        // Asegúrate de que Usuario tenga algo como:
-        // @OneToMany(mappedBy = "profesor")
-        // private Set<Seccion> seccionesAsignadas;
-        Set<Seccion> secciones = profesor.getSeccionesAsignadas();
+        // Secciones por id del token, sin pasar por la entidad Usuario
+        List<Seccion> secciones = seccionRepository.findByProfesorId(profesor.id());
 
         int totalSecciones = secciones.size();
 
@@ -2,8 +2,11 @@ package com.proyecto.fundaciondeportiva.controller;
 
 import com.proyecto.fundaciondeportiva.dto.response.ETLResponseDTO;
 import com.proyecto.fundaciondeportiva.service.ETLUsuariosService;
+import com.proyecto.fundaciondeportiva.service.EtlJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -14,14 +17,26 @@ public class ETLUsuariosController {
     @Autowired
     private ETLUsuariosService etlService;
 
+    @Autowired
+    private EtlJobService etlJobService;
+
+    // Si es true, /usuarios crea un job en segundo plano (202 + id) en vez de cargar dentro de la petición
+    @Value("${etl.jobs.modo-por-defecto:false}")
+    private boolean jobPorDefecto;
+
     @PostMapping("/usuarios")
-    public ResponseEntity<ETLResponseDTO> subirExcelUsuarios(
+    public ResponseEntity<?> subirExcelUsuarios(
             @RequestParam("file") MultipartFile file) {
 
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
+        if (jobPorDefecto) {
+            String solicitante = SecurityContextHolder.getContext().getAuthentication().getName();
+            return EtlJobController.respuestaJob(etlJobService.crear(file, solicitante));
+        }
+
         ETLResponseDTO response = etlService.procesarExcel(file);
         return ResponseEntity.ok(response);
     }
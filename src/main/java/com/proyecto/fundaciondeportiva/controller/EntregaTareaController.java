@@ -1,12 +1,13 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.response.EntregaTareaDTO;
 import com.proyecto.fundaciondeportiva.service.EntregaTareaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -33,15 +34,13 @@ public class EntregaTareaController {
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "titulo", required = false) String titulo,
             @RequestParam(value = "descripcion", required = false) String descripcion,
-            Authentication authentication
+            @UsuarioActual UsuarioAutenticado alumno
     ) throws Exception {
 
-        String email = authentication.getName();
-
         String urlArchivo = guardarArchivo(file, "uploads/entregas");
 
         EntregaTareaDTO dto = entregaTareaService.registrarEntrega(
-                recursoId, titulo, descripcion, urlArchivo, email
+                recursoId, titulo, descripcion, urlArchivo, alumno
         );
         return ResponseEntity.ok(dto);
     }
@@ -50,11 +49,10 @@ public class EntregaTareaController {
     @PreAuthorize("hasAnyRole('PROFESOR','ADMINISTRADOR')")
     public ResponseEntity<List<EntregaTareaDTO>> listarEntregas(
             @PathVariable Long recursoId,
-            Authentication authentication
+            @UsuarioActual UsuarioAutenticado usuario
     ) {
-        String email = authentication.getName();
         List<EntregaTareaDTO> lista =
-                entregaTareaService.listarEntregasPorRecurso(recursoId, email);
+                entregaTareaService.listarEntregasPorRecurso(recursoId, usuario);
         return ResponseEntity.ok(lista);
     }
 
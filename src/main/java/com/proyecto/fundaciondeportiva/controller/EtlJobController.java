@@ -0,0 +1,53 @@
+package com.proyecto.fundaciondeportiva.controller;
+
+import com.proyecto.fundaciondeportiva.dto.response.EtlJobResponseDTO;
+import com.proyecto.fundaciondeportiva.service.EtlJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+/**
+ * Cargas masivas de usuarios en segundo plano.
+ * POST devuelve 202 con el id del job; el avance se consulta en GET /api/etl/jobs/{id}.
+ */
+@RestController
+@RequestMapping("/api/etl/jobs")
+@PreAuthorize("hasRole('ADMINISTRADOR')")
+public class EtlJobController {
+
+    @Autowired
+    private EtlJobService etlJobService;
+
+    @PostMapping
+    public ResponseEntity<EtlJobResponseDTO> crearJob(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        String solicitante = SecurityContextHolder.getContext().getAuthentication().getName();
+        return respuestaJob(etlJobService.crear(file, solicitante));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<EtlJobResponseDTO> consultarJob(@PathVariable Long id) {
+        return ResponseEntity.ok(etlJobService.consultar(id));
+    }
+
+    @PostMapping("/{id}/cancelar")
+    public ResponseEntity<EtlJobResponseDTO> cancelarJob(@PathVariable Long id) {
+        return ResponseEntity.ok(etlJobService.cancelar(id));
+    }
+
+    static ResponseEntity<EtlJobResponseDTO> respuestaJob(EtlJobResponseDTO job) {
+        URI estado = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/etl/jobs/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(estado).body(job);
+    }
+}
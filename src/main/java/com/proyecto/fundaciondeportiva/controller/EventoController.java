@@ -1,52 +1,49 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.EventoRequest;
-import com.proyecto.fundaciondeportiva.model.entity.Evento;
-import com.proyecto.fundaciondeportiva.repository.EventoRepository;
-import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
-import org.springframework.http.HttpStatus;
+import com.proyecto.fundaciondeportiva.service.IngestaEventosService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
+import java.io.InputStream;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/eventos")
 public class EventoController {
 
-    private final EventoRepository eventoRepository;
-    private final UsuarioRepository usuarioRepository;
+    private final IngestaEventosService ingestaEventosService;
 
-    public EventoController(EventoRepository eventoRepository, UsuarioRepository usuarioRepository) {
-        this.eventoRepository = eventoRepository;
-        this.usuarioRepository = usuarioRepository;
+    public EventoController(IngestaEventosService ingestaEventosService) {
+        this.ingestaEventosService = ingestaEventosService;
     }
 
+    /**
+     * Registra un evento de telemetría. Responde 202: el evento se escribe en diferido, por lotes.
+     */
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMINISTRADOR','PROFESOR','ALUMNO')")
     public ResponseEntity<Void> registrarEvento(@RequestBody EventoRequest request,
-                                                Authentication authentication) {
+                                                @UsuarioActual UsuarioAutenticado usuario) {
 
-        if (authentication == null || authentication.getName() == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No autenticado");
-        }
-
-        String email = authentication.getName(); // tu Usuario.getUsername() devuelve email
-
-        var usuario = usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuario no encontrado"));
-
-        Evento e = new Evento();
-        e.setUsuarioId(usuario.getId());      // ID real del usuario logueado
-        e.setTipo(request.getTipo());
-        e.setDetalles(request.getDetalles());
-        e.setTs(LocalDateTime.now());
+        ingestaEventosService.registrar(usuario.id(), request);
+        return ResponseEntity.accepted().build();
+    }
 
-        eventoRepository.save(e);
+    /**
+     * Registra varios eventos en una petición: arreglo JSON (application/json) o
+     * NDJSON (application/x-ndjson, un evento por línea). Se guardan todos o ninguno.
+     */
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyRole('ADMINISTRADOR','PROFESOR','ALUMNO')")
+    public ResponseEntity<Map<String, Object>> registrarLote(InputStream cuerpo,
+                                                             @UsuarioActual UsuarioAutenticado usuario) {
 
-        return ResponseEntity.ok().build();
+        int registrados = ingestaEventosService.registrarLote(usuario.id(), cuerpo);
+        return ResponseEntity.ok(Map.of("eventosRegistrados", registrados));
     }
 }
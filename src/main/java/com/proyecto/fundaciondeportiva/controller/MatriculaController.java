@@ -1,22 +1,28 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.MatriculaRequestDTO;
 import com.proyecto.fundaciondeportiva.dto.response.MatriculaResponseDTO;
-import com.proyecto.fundaciondeportiva.dto.response.UsuarioResponse;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
+import com.proyecto.fundaciondeportiva.dto.response.TicketMatriculaResponseDTO;
 import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
+import com.proyecto.fundaciondeportiva.service.ColaMatriculaService;
 import com.proyecto.fundaciondeportiva.service.ServicioMatricula;
-import com.proyecto.fundaciondeportiva.service.UsuarioService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -32,7 +38,11 @@ public class MatriculaController {
     private ServicioMatricula servicioMatricula;
 
     @Autowired
-    private UsuarioService servicioUsuario;
+    private ColaMatriculaService colaMatriculaService;
+
+    // Si es true, /matricularse encola la solicitud (202 + ticket) en vez de procesarla en línea
+    @Value("${matricula.cola.modo-por-defecto:false}")
+    private boolean colaPorDefecto;
 
     // --- ENDPOINTS DE ALUMNO ---
 
@@ -42,17 +52,17 @@ public class MatriculaController {
      */
     @PostMapping("/matricularse")
     @PreAuthorize("hasRole('ALUMNO')")
-    public ResponseEntity<MatriculaResponseDTO> matricularseEnSeccion(@Valid @RequestBody MatriculaRequestDTO request) {
+    public ResponseEntity<?> matricularseEnSeccion(@Valid @RequestBody MatriculaRequestDTO request,
+                                                   @UsuarioActual UsuarioAutenticado alumno) {
         try {
-            // Obtener el ID del alumno autenticado
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String emailAlumno = auth.getName();
+            logger.info("Alumno {} solicita matricularse en sección ID {}", alumno.email(), request.getSeccionId());
 
-            logger.info("Alumno {} solicita matricularse en sección ID {}", emailAlumno, request.getSeccionId());
+            // El id viene del token: no hace falta buscar al alumno por email
+            Long alumnoId = alumno.id();
 
-            // Obtener el usuario completo por email
-            UsuarioResponse usuarioDTO = servicioUsuario.obtenerUsuarioResponsePorEmail(emailAlumno);
-            Long alumnoId = usuarioDTO.getId();
+            if (colaPorDefecto) {
+                return respuestaTicket(colaMatriculaService.encolar(alumnoId, request));
+            }
 
             // Procesar la matrícula
             MatriculaResponseDTO matriculaCreada = servicioMatricula.matricularseEnSeccion(alumnoId, request);
@@ -65,24 +75,57 @@ public class MatriculaController {
         }
     }
 
+    /**
+     * El alumno solicita matricularse mediante la cola (apertura de matrícula)
+     * POST /api/matriculas/cola
+     * Responde 202 con el ticket y la URL para consultar su estado.
+     */
+    @PostMapping("/cola")
+    @PreAuthorize("hasRole('ALUMNO')")
+    public ResponseEntity<TicketMatriculaResponseDTO> encolarMatricula(@Valid @RequestBody MatriculaRequestDTO request,
+                                                                       @UsuarioActual UsuarioAutenticado alumno) {
+        try {
+            logger.info("Alumno {} encola matrícula en sección ID {}", alumno.email(), request.getSeccionId());
+
+            return respuestaTicket(colaMatriculaService.encolar(alumno.id(), request));
+
+        } catch (Exception e) {
+            logger.error("Error en endpoint encolarMatricula", e);
+            throw e;
+        }
+    }
+
+    /**
+     * El alumno consulta el estado de su solicitud encolada
+     * GET /api/matriculas/cola/{ticketId}
+     */
+    @GetMapping("/cola/{ticketId}")
+    @PreAuthorize("hasRole('ALUMNO')")
+    public ResponseEntity<TicketMatriculaResponseDTO> consultarTicket(@PathVariable String ticketId,
+                                                                      @UsuarioActual UsuarioAutenticado alumno) {
+        return ResponseEntity.ok(colaMatriculaService.consultarTicket(ticketId, alumno.id()));
+    }
+
+    private ResponseEntity<TicketMatriculaResponseDTO> respuestaTicket(TicketMatriculaResponseDTO ticket) {
+        URI estado = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/matriculas/cola/{ticketId}")
+                .buildAndExpand(ticket.getTicketId())
+                .toUri();
+        return ResponseEntity.accepted().location(estado).body(ticket);
+    }
+
     /**
      * El alumno se retira de una sección
      * DELETE /api/matriculas/retirarse/{seccionId}
      */
     @DeleteMapping("/retirarse/{seccionId}")
     @PreAuthorize("hasRole('ALUMNO')")
-    public ResponseEntity<MatriculaResponseDTO> retirarseDeSeccion(@PathVariable Long seccionId) {
+    public ResponseEntity<MatriculaResponseDTO> retirarseDeSeccion(@PathVariable Long seccionId,
+                                                                   @UsuarioActual UsuarioAutenticado alumno) {
         try {
-            // Obtener el ID del alumno autenticado
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String emailAlumno = auth.getName();
+            logger.info("Alumno {} solicita retirarse de sección ID {}", alumno.email(), seccionId);
 
-            logger.info("Alumno {} solicita retirarse de sección ID {}", emailAlumno, seccionId);
-
-            UsuarioResponse usuarioDTO = servicioUsuario.obtenerUsuarioResponsePorEmail(emailAlumno);
-            Long alumnoId = usuarioDTO.getId();
-
-            MatriculaResponseDTO matriculaActualizada = servicioMatricula.retirarseDeSeccion(alumnoId, seccionId);
+            MatriculaResponseDTO matriculaActualizada = servicioMatricula.retirarseDeSeccion(alumno.id(), seccionId);
 
             return ResponseEntity.ok(matriculaActualizada);
 
@@ -98,17 +141,11 @@ public class MatriculaController {
      */
     @GetMapping("/mis-matriculas")
     @PreAuthorize("hasRole('ALUMNO')")
-    public ResponseEntity<List<MatriculaResponseDTO>> verMisMatriculas() {
+    public ResponseEntity<List<MatriculaResponseDTO>> verMisMatriculas(@UsuarioActual UsuarioAutenticado alumno) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String emailAlumno = auth.getName();
-
-            logger.info("Alumno {} consulta sus matrículas", emailAlumno);
-
-            UsuarioResponse usuarioDTO = servicioUsuario.obtenerUsuarioResponsePorEmail(emailAlumno);
-            Long alumnoId = usuarioDTO.getId();
+            logger.info("Alumno {} consulta sus matrículas", alumno.email());
 
-            List<MatriculaResponseDTO> matriculas = servicioMatricula.listarMisMatriculas(alumnoId);
+            List<MatriculaResponseDTO> matriculas = servicioMatricula.listarMisMatriculas(alumno.id());
 
             return ResponseEntity.ok(matriculas);
 
@@ -124,17 +161,11 @@ public class MatriculaController {
      */
     @GetMapping("/mis-matriculas/activas")
     @PreAuthorize("hasRole('ALUMNO')")
-    public ResponseEntity<List<MatriculaResponseDTO>> verMisMatriculasActivas() {
+    public ResponseEntity<List<MatriculaResponseDTO>> verMisMatriculasActivas(@UsuarioActual UsuarioAutenticado alumno) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String emailAlumno = auth.getName();
+            logger.info("Alumno {} consulta sus matrículas activas", alumno.email());
 
-            logger.info("Alumno {} consulta sus matrículas activas", emailAlumno);
-
-            UsuarioResponse usuarioDTO = servicioUsuario.obtenerUsuarioResponsePorEmail(emailAlumno);
-            Long alumnoId = usuarioDTO.getId();
-
-            List<MatriculaResponseDTO> matriculas = servicioMatricula.listarMisMatriculasActivas(alumnoId);
+            List<MatriculaResponseDTO> matriculas = servicioMatricula.listarMisMatriculasActivas(alumno.id());
 
             return ResponseEntity.ok(matriculas);
 
@@ -230,6 +261,25 @@ public class MatriculaController {
         }
     }
 
+    /**
+     * Listado paginado por cursor con filtros opcionales
+     * GET /api/matriculas/pagina?cursor=&limite=&ciclo=&estado=&nivel=&turno=&profesorId=&seccionId=
+     */
+    @GetMapping("/pagina")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<PaginaCursorDTO<MatriculaResponseDTO>> paginarMatriculas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String ciclo,
+            @RequestParam(required = false) EstadoMatricula estado,
+            @RequestParam(required = false) NivelAcademico nivel,
+            @RequestParam(required = false) Turno turno,
+            @RequestParam(required = false) Long profesorId,
+            @RequestParam(required = false) Long seccionId) {
+        return ResponseEntity.ok(servicioMatricula.paginarMatriculas(
+                cursor, limite, ciclo, estado, nivel, turno, profesorId, seccionId));
+    }
+
     /**
      * Obtener una matrícula específica por ID
      * GET /api/matriculas/{id}
@@ -1,6 +1,8 @@
 // src/main/java/com/proyecto/fundaciondeportiva/controller/RecursoController.java
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.RecursoRequest;
 import com.proyecto.fundaciondeportiva.dto.response.RecursoDTO;
 import com.proyecto.fundaciondeportiva.service.RecursoService;
@@ -8,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -40,10 +41,9 @@ public class RecursoController {
     @PreAuthorize("hasAnyRole('PROFESOR','ADMINISTRADOR')")
     public ResponseEntity<RecursoDTO> crearRecurso(
             @RequestBody RecursoRequest request,
-            Authentication authentication
+            @UsuarioActual UsuarioAutenticado usuario
     ) {
-        String email = authentication.getName();
-        RecursoDTO dto = recursoService.crearRecurso(request, email);
+        RecursoDTO dto = recursoService.crearRecurso(request, usuario);
         return ResponseEntity.ok(dto);
     }
 
@@ -61,11 +61,9 @@ public class RecursoController {
             @RequestParam(value = "descripcion", required = false) String descripcion,
             @RequestParam("momento") String momento,         // ANTES / DURANTE / DESPUES
             @RequestParam("tipoRecurso") String tipoRecurso, // PDF / DOCUMENTO / ARCHIVO / IMAGEN
-            Authentication authentication
+            @UsuarioActual UsuarioAutenticado usuario
     ) {
 
-        String email = authentication.getName();
-
         RecursoDTO dto = recursoService.crearRecursoArchivo(
                 sesionId,
                 titulo,
@@ -73,7 +71,7 @@ public class RecursoController {
                 momento,
                 tipoRecurso,
                 file,
-                email
+                usuario
         );
 
         return ResponseEntity.ok(dto);
@@ -86,10 +84,9 @@ public class RecursoController {
     public ResponseEntity<RecursoDTO> actualizarRecurso(
             @PathVariable Long id,
             @RequestBody RecursoRequest request,
-            Authentication authentication
+            @UsuarioActual UsuarioAutenticado usuario
     ) {
-        String email = authentication.getName();
-        RecursoDTO dto = recursoService.actualizarRecurso(id, request, email);
+        RecursoDTO dto = recursoService.actualizarRecurso(id, request, usuario);
         return ResponseEntity.ok(dto);
     }
 
@@ -98,10 +95,9 @@ public class RecursoController {
     @PreAuthorize("hasAnyRole('PROFESOR','ADMINISTRADOR')")
     public ResponseEntity<Void> eliminarRecurso(
             @PathVariable Long id,
-            Authentication authentication
+            @UsuarioActual UsuarioAutenticado usuario
     ) {
-        String email = authentication.getName();
-        recursoService.eliminarRecurso(id, email);
+        recursoService.eliminarRecurso(id, usuario);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,12 +1,13 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.SeccionRequestDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.dto.response.SeccionResponseDTO;
-import com.proyecto.fundaciondeportiva.dto.response.UsuarioResponse;
 import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.model.enums.Turno;
 import com.proyecto.fundaciondeportiva.service.ServicioSeccion;
-import com.proyecto.fundaciondeportiva.service.UsuarioService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,8 +15,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -29,36 +28,18 @@ public class SeccionController {
     @Autowired
     private ServicioSeccion servicioSeccion;
 
-    @Autowired
-    private UsuarioService servicioUsuario;
-
     /**
      * Obtener las secciones del profesor autenticado
      * GET /api/secciones/mis-secciones
      */
     @GetMapping("/mis-secciones")
     @PreAuthorize("hasRole('PROFESOR')")
-    public ResponseEntity<List<SeccionResponseDTO>> obtenerMisSecciones() {
+    public ResponseEntity<List<SeccionResponseDTO>> obtenerMisSecciones(@UsuarioActual UsuarioAutenticado profesor) {
         try {
-            // 1. Obtener el email del usuario autenticado desde el JWT
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String emailProfesor = auth.getName();
-
-            logger.info("Solicitud de secciones del profesor con email: {}", emailProfesor);
-
-            // 2. Obtener el perfil completo del profesor (usando el método correcto)
-            UsuarioResponse usuarioDTO = servicioUsuario.obtenerUsuarioResponsePorEmail(emailProfesor); // CORREGIDO
-
-            // 3. Validar que tenga perfil de profesor
-            if (usuarioDTO.getDniProfesor() == null) { // CORREGIDO
-                throw new RuntimeException("El usuario no tiene un perfil de profesor asociado");
-            }
-
-            String dniProfesor = usuarioDTO.getDniProfesor(); // CORREGIDO
-            logger.info("DNI del profesor identificado: {}", dniProfesor);
+            // El id del profesor viene en el token: no hace falta resolverlo por email ni por DNI
+            logger.info("Solicitud de secciones del profesor con email: {}", profesor.email());
 
-            // 4. Buscar secciones por DNI del profesor
-            List<SeccionResponseDTO> secciones = servicioSeccion.listarSeccionesPorDniProfesor(dniProfesor);
+            List<SeccionResponseDTO> secciones = servicioSeccion.listarSeccionesPorProfesor(profesor.id());
             logger.info("Se encontraron {} secciones para el profesor", secciones.size());
 
             return ResponseEntity.ok(secciones);
@@ -151,6 +132,25 @@ public class SeccionController {
         }
     }
 
+    /**
+     * Listado paginado por cursor con filtros opcionales
+     * GET /api/secciones/pagina?cursor=&limite=&activa=&cursoId=&profesorId=&turno=&nivel=&conCupo=
+     */
+    @GetMapping("/pagina")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PaginaCursorDTO<SeccionResponseDTO>> paginarSecciones(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) Boolean activa,
+            @RequestParam(required = false) Long cursoId,
+            @RequestParam(required = false) Long profesorId,
+            @RequestParam(required = false) Turno turno,
+            @RequestParam(required = false) NivelAcademico nivel,
+            @RequestParam(defaultValue = "false") boolean conCupo) {
+        return ResponseEntity.ok(servicioSeccion.paginarSecciones(
+                cursor, limite, activa, cursoId, profesorId, turno, nivel, conCupo));
+    }
+
     @GetMapping("/activas")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<SeccionResponseDTO>> listarSeccionesActivas() {
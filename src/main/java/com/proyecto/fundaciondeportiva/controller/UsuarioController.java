@@ -1,10 +1,15 @@
 package com.proyecto.fundaciondeportiva.controller;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioActual;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.input.UsuarioInputDTO;
 import com.proyecto.fundaciondeportiva.dto.output.UsuarioUpdateDTO;
 import com.proyecto.fundaciondeportiva.dto.output.UsuarioOutputDTO;
 import com.proyecto.fundaciondeportiva.dto.request.CambiarPermisoMatriculaRequest;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import com.proyecto.fundaciondeportiva.model.enums.Rol;
 import com.proyecto.fundaciondeportiva.service.UsuarioService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +17,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -40,13 +43,9 @@ public class UsuarioController {
 
     @GetMapping(value = "/me", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<UsuarioOutputDTO> obtenerPerfilPropio() {
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext()
-                .getAuthentication().getPrincipal();
-        String emailAutenticado = userDetails.getUsername();
-
-        Usuario usuario = usuarioService.obtenerUsuarioPorEmail(emailAutenticado)
-                .orElseThrow(() -> new RuntimeException("Usuario autenticado no encontrado en la base de datos."));
+    public ResponseEntity<UsuarioOutputDTO> obtenerPerfilPropio(@UsuarioActual UsuarioAutenticado autenticado) {
+        // El perfil completo sí necesita la entidad: se carga por id (PK), no por email
+        Usuario usuario = usuarioService.obtenerUsuarioPorId(autenticado.id());
 
         UsuarioOutputDTO outputDTO = UsuarioOutputDTO.deEntidad(usuario);
         return ResponseEntity.ok(outputDTO);
@@ -62,6 +61,17 @@ public class UsuarioController {
         return ResponseEntity.ok(outputDTOs);
     }
 
+    // Listado paginado por cursor: ?cursor=&limite=&rol=&nivel=
+    @GetMapping(value = "/pagina", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<PaginaCursorDTO<UsuarioOutputDTO>> paginarUsuarios(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) Rol rol,
+            @RequestParam(required = false) NivelAcademico nivel) {
+        return ResponseEntity.ok(usuarioService.paginarUsuarios(cursor, limite, rol, nivel));
+    }
+
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasRole('ADMINISTRADOR')")
     public ResponseEntity<UsuarioOutputDTO> obtenerUsuarioPorId(@PathVariable Long id) {
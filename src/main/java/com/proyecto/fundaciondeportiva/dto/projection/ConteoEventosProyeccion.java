@@ -0,0 +1,18 @@
+package com.proyecto.fundaciondeportiva.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Total de eventos de una agrupación de evento_rollup_hora.
+ * Según la consulta viene informada la hora, el tipo o la calidad.
+ */
+public interface ConteoEventosProyeccion {
+
+    LocalDateTime getHora();
+
+    String getTipo();
+
+    String getCalidad();
+
+    Long getTotal();
+}
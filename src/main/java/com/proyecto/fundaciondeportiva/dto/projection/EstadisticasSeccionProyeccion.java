@@ -0,0 +1,12 @@
+package com.proyecto.fundaciondeportiva.dto.projection;
+
+/**
+ * Parte variable de una sección (SeccionRepository.buscarEstadisticas): cambia con cada
+ * matrícula o con el paso de las semanas, así que no se guarda en la cache de cabeceras.
+ */
+public interface EstadisticasSeccionProyeccion {
+
+    Integer getEstudiantesMatriculados();
+
+    Integer getSemanaActual();
+}
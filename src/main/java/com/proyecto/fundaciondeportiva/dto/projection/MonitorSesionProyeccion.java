@@ -0,0 +1,35 @@
+package com.proyecto.fundaciondeportiva.dto.projection;
+
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
+
+import java.time.LocalTime;
+
+/**
+ * Fila del monitor de asistencias: sesión + sección + curso + conteos,
+ * resuelta en una sola consulta (SesionRepository.findMonitorPorFecha).
+ */
+public interface MonitorSesionProyeccion {
+
+    Long getSesionId();
+
+    Long getSeccionId();
+
+    String getNombreSeccion();
+
+    String getCurso();
+
+    String getGradoSeccion();
+
+    NivelAcademico getNivelSeccion();
+
+    Turno getTurno();
+
+    LocalTime getHoraInicio();
+
+    LocalTime getHoraFin();
+
+    Long getTotalAlumnos();
+
+    Long getConAsistencia();
+}
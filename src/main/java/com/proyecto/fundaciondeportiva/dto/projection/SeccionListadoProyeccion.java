@@ -0,0 +1,65 @@
+package com.proyecto.fundaciondeportiva.dto.projection;
+
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de los listados de secciones (SeccionRepository.listarProyeccion).
+ * Trae curso y profesor por join y calcula matriculados / semana actual en SQL,
+ * sin inicializar las colecciones matriculas ni semanas.
+ */
+public interface SeccionListadoProyeccion {
+
+    Long getId();
+
+    String getCodigo();
+
+    String getNombre();
+
+    NivelAcademico getNivelSeccion();
+
+    String getGradoSeccion();
+
+    Turno getTurno();
+
+    String getAula();
+
+    Integer getCapacidad();
+
+    LocalDate getFechaInicio();
+
+    LocalDate getFechaFin();
+
+    Integer getNumeroSemanas();
+
+    Boolean getActiva();
+
+    LocalDateTime getFechaCreacion();
+
+    Long getCursoId();
+
+    String getCodigoCurso();
+
+    String getTituloCurso();
+
+    NivelAcademico getNivelCurso();
+
+    Long getProfesorId();
+
+    String getNombreProfesor();
+
+    String getCorreoProfesor();
+
+    String getDniProfesor();
+
+    // Contador cupos_ocupados (matrículas ACTIVAS)
+    Integer getEstudiantesMatriculados();
+
+    // Número de la semana que contiene la fecha consultada (null si no está en periodo)
+    Integer getSemanaActual();
+
+    Long getTotalSemanas();
+}
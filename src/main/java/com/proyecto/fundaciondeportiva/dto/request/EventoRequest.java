@@ -1,9 +1,12 @@
 package com.proyecto.fundaciondeportiva.dto.request;
 
+import java.time.OffsetDateTime;
+
 public class EventoRequest {
 
     private String tipo;
     private String detalles; // lo mandamos como String (JSON en texto)
+    private OffsetDateTime ts; // momento del evento en el navegador (solo envío por lotes), ej. new Date().toISOString()
 
     public String getTipo() {
         return tipo;
@@ -20,4 +23,12 @@ public class EventoRequest {
     public void setDetalles(String detalles) {
         this.detalles = detalles;
     }
+
+    public OffsetDateTime getTs() {
+        return ts;
+    }
+
+    public void setTs(OffsetDateTime ts) {
+        this.ts = ts;
+    }
 }
@@ -0,0 +1,23 @@
+package com.proyecto.fundaciondeportiva.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punto de una serie de analítica de eventos (leído de evento_rollup_hora).
+ * En la serie por hora viene la hora; en el reparto por tipo, el tipo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConteoEventosDTO {
+
+    private LocalDateTime hora;
+    private String tipo;
+    private Long total;
+}
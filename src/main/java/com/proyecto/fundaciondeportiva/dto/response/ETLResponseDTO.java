@@ -3,7 +3,9 @@ package com.proyecto.fundaciondeportiva.dto.response;
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 public class ETLResponseDTO {
@@ -12,5 +14,10 @@ public class ETLResponseDTO {
     private int exitosos;
     private int fallidos;
 
+    // Rendimiento de la carga
+    private long duracionMs;
+    private double filasPorSegundo;
+    private Map<String, Long> etapasMs = new LinkedHashMap<>();
+
     private List<ErrorFilaDTO> errores = new ArrayList<>();
 }
@@ -0,0 +1,45 @@
+package com.proyecto.fundaciondeportiva.dto.response;
+
+import com.proyecto.fundaciondeportiva.model.enums.EstadoEtlJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estado de un job de carga masiva de usuarios.
+ * El cliente lo consulta en GET /api/etl/jobs/{id}; los contadores avanzan lote a lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EtlJobResponseDTO {
+
+    private Long id;
+    private EstadoEtlJob estado;
+    private String nombreArchivo;
+
+    private int procesados;
+    private int exitosos;
+    private int fallidos;
+    private int duplicadosEnExcel;
+    private int ultimaFilaConfirmada;
+
+    // Ritmo de la ejecución actual (o de la última, si ya terminó)
+    private double filasPorSegundo;
+
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+
+    // Motivo del fallo (si estado = FALLIDO)
+    private String mensajeError;
+
+    // Primeros errores por fila (ordenados) y total
+    private List<ErrorFilaDTO> errores;
+    private long totalErrores;
+}
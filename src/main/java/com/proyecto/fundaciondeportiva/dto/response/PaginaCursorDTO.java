@@ -0,0 +1,79 @@
+package com.proyecto.fundaciondeportiva.dto.response;
+
+import com.proyecto.fundaciondeportiva.exception.ValidacionException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Página de un listado con paginación por cursor (keyset).
+ *
+ * Orden estable por id ascendente. El cliente envía el valor de siguienteCursor en
+ * ?cursor= para pedir la página siguiente; null significa que no hay más filas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    private List<T> items;
+    private int limite;
+    private boolean hayMas;
+    private String siguienteCursor;
+
+    /**
+     * Tamaño de página efectivo (por defecto 50, máximo 200).
+     */
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null) return LIMITE_POR_DEFECTO;
+        if (limite < 1) throw new ValidacionException("El límite debe ser mayor a 0.");
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+
+    /**
+     * Id a partir del cual continuar (exclusivo). Sin cursor = desde el inicio.
+     */
+    public static long decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith("id:")) throw new IllegalArgumentException();
+            return Long.parseLong(valor.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new ValidacionException("Cursor de paginación inválido.");
+        }
+    }
+
+    public static String codificarCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Arma la página a partir de una consulta que pidió limite + 1 filas:
+     * la fila extra solo indica que hay una página siguiente.
+     */
+    public static <E, T> PaginaCursorDTO<T> desdeFilas(List<E> filas, int limite,
+                                                       ToLongFunction<E> id, Function<E, T> mapper) {
+        boolean hayMas = filas.size() > limite;
+        List<E> pagina = hayMas ? filas.subList(0, limite) : filas;
+
+        return PaginaCursorDTO.<T>builder()
+                .items(pagina.stream().map(mapper).toList())
+                .limite(limite)
+                .hayMas(hayMas)
+                .siguienteCursor(hayMas ? codificarCursor(id.applyAsLong(pagina.get(limite - 1))) : null)
+                .build();
+    }
+}
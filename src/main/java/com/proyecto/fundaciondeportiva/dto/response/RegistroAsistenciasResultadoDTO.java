@@ -0,0 +1,22 @@
+package com.proyecto.fundaciondeportiva.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado del registro masivo de asistencias de una sesión.
+ * sentenciasEjecutadas se mide (sentencias de Hibernate + batches JDBC del upsert) y no depende
+ * del tamaño de la clase.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroAsistenciasResultadoDTO {
+
+    private Long sesionId;
+    private int registrosProcesados;
+    private int sentenciasEjecutadas;
+}
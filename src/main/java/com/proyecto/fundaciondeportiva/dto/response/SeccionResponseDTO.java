@@ -1,5 +1,6 @@
 package com.proyecto.fundaciondeportiva.dto.response;
 
+import com.proyecto.fundaciondeportiva.dto.projection.SeccionListadoProyeccion;
 import com.proyecto.fundaciondeportiva.model.entity.Seccion;
 import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.model.enums.Turno;
@@ -12,7 +13,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SeccionResponseDTO {
@@ -101,4 +102,64 @@ public class SeccionResponseDTO {
                 .totalSemanas(seccion.getSemanas().size())
                 .build();
     }
+
+    /**
+     * Mapea una fila de SeccionRepository.listarProyeccion (listados).
+     * Mismo resultado que deEntidad, sin tocar matriculas ni semanas.
+     */
+    public static SeccionResponseDTO deProyeccion(SeccionListadoProyeccion p, LocalDate hoy) {
+        int estudiantesMatriculados = p.getEstudiantesMatriculados() != null ? p.getEstudiantesMatriculados() : 0;
+        int capacidad = p.getCapacidad() != null ? p.getCapacidad() : 0;
+
+        return SeccionResponseDTO.builder()
+                .id(p.getId())
+                .codigo(p.getCodigo())
+                .nombre(p.getNombre())
+                .nivelSeccion(p.getNivelSeccion())
+                .gradoSeccion(p.getGradoSeccion())
+                .turno(p.getTurno())
+                .aula(p.getAula())
+                .capacidad(p.getCapacidad())
+                .fechaInicio(p.getFechaInicio())
+                .fechaFin(p.getFechaFin())
+                .numeroSemanas(p.getNumeroSemanas())
+                .activa(p.getActiva())
+                .fechaCreacion(p.getFechaCreacion())
+                // Curso
+                .cursoId(p.getCursoId())
+                .codigoCurso(p.getCodigoCurso())
+                .tituloCurso(p.getTituloCurso())
+                .nivelCurso(p.getNivelCurso())
+                // Profesor
+                .profesorId(p.getProfesorId())
+                .nombreProfesor(p.getNombreProfesor())
+                .correoProfesor(p.getCorreoProfesor())
+                .dniProfesor(p.getDniProfesor())
+                // Estadísticas
+                .estudiantesMatriculados(estudiantesMatriculados)
+                .cuposDisponibles(capacidad - estudiantesMatriculados)
+                .tieneCupo(estudiantesMatriculados < capacidad)
+                .enPeriodoActivo(p.getFechaInicio() != null && p.getFechaFin() != null
+                        && !hoy.isBefore(p.getFechaInicio()) && !hoy.isAfter(p.getFechaFin()))
+                // Semanas
+                .semanaActual(p.getSemanaActual() != null ? p.getSemanaActual() : 0)
+                .totalSemanas(p.getTotalSemanas() != null ? p.getTotalSemanas().intValue() : 0)
+                .build();
+    }
+
+    /**
+     * Copia de una cabecera (cacheada) con las estadísticas del momento: matriculados,
+     * cupos, periodo activo y semana actual. No modifica la instancia de la cache.
+     */
+    public SeccionResponseDTO conEstadisticas(int estudiantesMatriculados, Integer semanaActual, LocalDate hoy) {
+        int cap = capacidad != null ? capacidad : 0;
+        return toBuilder()
+                .estudiantesMatriculados(estudiantesMatriculados)
+                .cuposDisponibles(cap - estudiantesMatriculados)
+                .tieneCupo(estudiantesMatriculados < cap)
+                .enPeriodoActivo(fechaInicio != null && fechaFin != null
+                        && !hoy.isBefore(fechaInicio) && !hoy.isAfter(fechaFin))
+                .semanaActual(semanaActual != null ? semanaActual : 0)
+                .build();
+    }
 }
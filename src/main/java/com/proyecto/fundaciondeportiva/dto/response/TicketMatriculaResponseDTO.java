@@ -0,0 +1,32 @@
+package com.proyecto.fundaciondeportiva.dto.response;
+
+import com.proyecto.fundaciondeportiva.model.enums.EstadoTicketMatricula;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de una solicitud de matrícula encolada.
+ * El cliente lo consulta en GET /api/matriculas/cola/{ticketId}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketMatriculaResponseDTO {
+
+    private String ticketId;
+    private EstadoTicketMatricula estado;
+    private Long seccionId;
+    private LocalDateTime fechaSolicitud;
+    private LocalDateTime fechaProcesado;
+
+    // Motivo del rechazo (si estado = RECHAZADA)
+    private String mensaje;
+
+    // Matrícula registrada (si estado = CONFIRMADA)
+    private MatriculaResponseDTO matricula;
+}
@@ -0,0 +1,8 @@
+package com.proyecto.fundaciondeportiva.event;
+
+/**
+ * Se publica al registrar asistencias de una sesión.
+ * Los listeners lo reciben después del commit (@TransactionalEventListener).
+ */
+public record AsistenciaRegistradaEvent(Long sesionId, Long seccionId) {
+}
@@ -0,0 +1,16 @@
+package com.proyecto.fundaciondeportiva.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * La sección no tiene cupos disponibles.
+ * Es una ValidacionException (400), pero se distingue para que la cola de
+ * matrículas pueda rechazar sin consultar la BD el resto de solicitudes de la sección.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CupoAgotadoException extends ValidacionException {
+    public CupoAgotadoException(String message) {
+        super(message);
+    }
+}
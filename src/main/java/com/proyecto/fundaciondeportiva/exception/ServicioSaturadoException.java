@@ -0,0 +1,23 @@
+package com.proyecto.fundaciondeportiva.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción para errores 503 (SERVICE_UNAVAILABLE).
+ * Se lanza cuando una cola interna está llena y la solicitud se rechaza (back-pressure).
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServicioSaturadoException extends RuntimeException {
+
+    private final long reintentarEnSegundos;
+
+    public ServicioSaturadoException(String message, long reintentarEnSegundos) {
+        super(message);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
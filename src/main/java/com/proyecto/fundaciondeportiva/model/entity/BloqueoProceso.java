@@ -0,0 +1,30 @@
+package com.proyecto.fundaciondeportiva.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease de un proceso en segundo plano: solo la adquisición propietaria (token de
+ * BloqueoProcesoService) lo ejecuta hasta expiraEn.
+ * Se adquiere y renueva con UPDATE condicional (ver BloqueoProcesoRepository).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "bloqueo_proceso")
+public class BloqueoProceso {
+
+    @Id
+    @Column(length = 50)
+    private String nombre;
+
+    @Column(length = 150)
+    private String propietario;
+
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+}
@@ -0,0 +1,29 @@
+package com.proyecto.fundaciondeportiva.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de agua de un proceso incremental (p. ej. la limpieza de eventos):
+ * último id de origen ya procesado. Se actualiza en la misma transacción que cada lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "checkpoint_proceso")
+public class CheckpointProceso {
+
+    @Id
+    @Column(length = 50)
+    private String nombre;
+
+    @Column(name = "ultimo_id", nullable = false)
+    private Long ultimoId;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,79 @@
+package com.proyecto.fundaciondeportiva.model.entity;
+
+import com.proyecto.fundaciondeportiva.model.enums.EstadoEtlJob;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Carga masiva de usuarios ejecutada en segundo plano.
+ * Los contadores y ultimaFilaConfirmada se actualizan en la misma transacción que cada lote
+ * de usuarios, así que tras un reinicio el job se reanuda desde la fila siguiente.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "etl_jobs")
+public class EtlJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoEtlJob estado;
+
+    @Column(name = "nombre_archivo", length = 255)
+    private String nombreArchivo;
+
+    // Copia del Excel subido; se borra al terminar el job
+    @Column(name = "ruta_archivo", nullable = false, length = 500)
+    private String rutaArchivo;
+
+    @Column(name = "solicitado_por", length = 100)
+    private String solicitadoPor;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer procesados = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer exitosos = 0;
+
+    @Builder.Default
+    @Column(name = "duplicados_excel", nullable = false)
+    private Integer duplicadosEnExcel = 0;
+
+    // Última fila del Excel cuyo lote quedó guardado (punto de reanudación)
+    @Builder.Default
+    @Column(name = "ultima_fila_confirmada", nullable = false)
+    private Integer ultimaFilaConfirmada = 0;
+
+    // Procesados al arrancar la ejecución actual (para filas/seg tras una reanudación)
+    @Builder.Default
+    @Column(name = "procesados_al_iniciar", nullable = false)
+    private Integer procesadosAlIniciar = 0;
+
+    @Builder.Default
+    @Column(name = "cancelacion_solicitada", nullable = false)
+    private Boolean cancelacionSolicitada = false;
+
+    @Column(name = "mensaje_error", length = 1000)
+    private String mensajeError;
+
+    @CreationTimestamp
+    @Column(name = "fecha_creacion", updatable = false, nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_inicio")
+    private LocalDateTime fechaInicio;
+
+    @Column(name = "fecha_fin")
+    private LocalDateTime fechaFin;
+}
@@ -0,0 +1,32 @@
+package com.proyecto.fundaciondeportiva.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Error de una fila del Excel dentro de un job ETL (se guarda con el lote de la fila).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "etl_job_errores", indexes = @Index(name = "idx_etl_job_errores_job", columnList = "job_id, fila"))
+public class EtlJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "job_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private EtlJob job;
+
+    @Column(nullable = false)
+    private Integer fila;
+
+    @Column(nullable = false, length = 1000)
+    private String mensaje;
+}
@@ -0,0 +1,43 @@
+package com.proyecto.fundaciondeportiva.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conteo pre-agregado de eventos limpios por hora, tipo, usuario y calidad.
+ * Lo mantiene la limpieza de eventos en la misma transacción que cada lote; las
+ * consultas de analítica leen solo esta tabla.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "evento_rollup_hora",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_hora_clave",
+                columnNames = {"hora", "tipo", "usuario_id", "calidad"}),
+        indexes = @Index(name = "idx_rollup_tipo_hora", columnList = "tipo, hora"))
+public class EventoRollupHora {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Inicio de la hora (minutos y segundos en cero)
+    @Column(nullable = false)
+    private LocalDateTime hora;
+
+    @Column(nullable = false)
+    private String tipo;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false, length = 20)
+    private String calidad;
+
+    @Column(nullable = false)
+    private Long total;
+}
@@ -0,0 +1,38 @@
+package com.proyecto.fundaciondeportiva.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Invalidación de cache publicada por un nodo para los demás (BusInvalidacionCache).
+ * El id autoincremental es la versión: cada nodo recuerda la última que aplicó y lee las siguientes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "invalidacion_cache",
+        indexes = @Index(name = "idx_invalidacion_cache_fecha", columnList = "fecha"))
+public class InvalidacionCache {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 60)
+    private String cache;
+
+    // null: toda la cache
+    @Column(length = 255)
+    private String clave;
+
+    // Nodo que la publicó (BloqueoProcesoService.getPropietario); ese nodo no la vuelve a aplicar
+    @Column(nullable = false, length = 150)
+    private String origen;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+}
@@ -72,6 +72,12 @@ public class Seccion {
     @Builder.Default
     private Boolean activa = true;
 
+    // Matrículas ACTIVAS de la sección. Solo se modifica con los UPDATE atómicos de
+    // SeccionRepository (reservarCupo / liberarCupo), nunca al guardar la entidad.
+    @Column(name = "cupos_ocupados", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer cuposOcupados = 0;
+
     @CreationTimestamp
     @Column(name = "fecha_creacion", updatable = false, nullable = false)
     private LocalDateTime fechaCreacion;
@@ -47,6 +47,11 @@ public class Usuario implements UserDetails {
     @Column(name = "habilitado_matricula", nullable = false)
     private Boolean habilitadoMatricula = true;
 
+    // Se incrementa al cambiar credenciales o email: invalida los tokens emitidos antes
+    @Builder.Default
+    @Column(name = "version_seguridad", nullable = false)
+    private Integer versionSeguridad = 0;
+
     @CreationTimestamp
     @Column(name = "fecha_creacion", updatable = false, nullable = false)
     private LocalDateTime fechaCreacion;
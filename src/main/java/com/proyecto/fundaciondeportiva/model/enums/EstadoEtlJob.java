@@ -0,0 +1,12 @@
+package com.proyecto.fundaciondeportiva.model.enums;
+
+/**
+ * Estados de un job de carga masiva (ETL) ejecutado en segundo plano.
+ */
+public enum EstadoEtlJob {
+    PENDIENTE,   // Archivo recibido, esperando un hilo del runner
+    EN_PROCESO,  // Cargando (o reanudado tras un reinicio)
+    COMPLETADO,  // Archivo procesado completo
+    CANCELADO,   // Detenido a pedido; los lotes ya confirmados se conservan
+    FALLIDO      // Error no recuperable (archivo ilegible, BD caída, etc.)
+}
@@ -0,0 +1,11 @@
+package com.proyecto.fundaciondeportiva.model.enums;
+
+/**
+ * Estados de una solicitud de matrícula encolada (modo cola).
+ */
+public enum EstadoTicketMatricula {
+    EN_COLA,     // Aceptada, esperando a un trabajador
+    PROCESANDO,  // Un trabajador la está procesando
+    CONFIRMADA,  // Matrícula registrada
+    RECHAZADA    // No se pudo matricular (validación, sin cupo, error)
+}
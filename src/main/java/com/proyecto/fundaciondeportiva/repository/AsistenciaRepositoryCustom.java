@@ -0,0 +1,21 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.enums.EstadoAsistencia;
+
+import java.util.List;
+
+/**
+ * Operaciones de escritura masiva sobre asistencias (JDBC batch).
+ * Implementado en AsistenciaRepositoryImpl; Spring Data lo compone con AsistenciaRepository.
+ */
+public interface AsistenciaRepositoryCustom {
+
+    /**
+     * Inserta o actualiza (por la clave única sesion_id + matricula_id) todas las filas
+     * en un solo batch JDBC. Devuelve el número de batches enviados a la BD.
+     */
+    int upsertLote(Long sesionId, List<FilaAsistencia> filas);
+
+    record FilaAsistencia(Long matriculaId, EstadoAsistencia estado, String observaciones) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public class AsistenciaRepositoryImpl implements AsistenciaRepositoryCustom {
+
+    // Mismo tamaño que hibernate.jdbc.batch_size
+    private static final int TAMANIO_BATCH = 50;
+
+    private static final String SQL_UPSERT =
+            "INSERT INTO asistencias (sesion_id, matricula_id, estado, observaciones) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE estado = VALUES(estado), observaciones = VALUES(observaciones)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int upsertLote(Long sesionId, List<FilaAsistencia> filas) {
+        if (filas.isEmpty()) {
+            return 0;
+        }
+        int[][] resultado = jdbcTemplate.batchUpdate(SQL_UPSERT, filas, TAMANIO_BATCH, (ps, fila) -> {
+            ps.setLong(1, sesionId);
+            ps.setLong(2, fila.matriculaId());
+            ps.setString(3, fila.estado().name());
+            ps.setString(4, fila.observaciones());
+        });
+        return resultado.length;
+    }
+}
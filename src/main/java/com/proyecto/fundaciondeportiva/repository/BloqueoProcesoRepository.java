@@ -0,0 +1,52 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.BloqueoProceso;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Las horas se toman del reloj de la BD (CURRENT_TIMESTAMP) para que los nodos
+ * no dependan de tener sus relojes sincronizados.
+ */
+@Repository
+public interface BloqueoProcesoRepository extends JpaRepository<BloqueoProceso, String> {
+
+    // Crea la fila del lease (ya expirada) si no existe
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO bloqueo_proceso (nombre, propietario, expira_en) " +
+            "VALUES (:nombre, NULL, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int crearSiNoExiste(@Param("nombre") String nombre);
+
+    // Toma el lease solo si está libre/expirado; propietario es el token de esta adquisición. 1 = adquirido
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE bloqueo_proceso " +
+            "SET propietario = :propietario, expira_en = TIMESTAMPADD(SECOND, :segundos, CURRENT_TIMESTAMP) " +
+            "WHERE nombre = :nombre AND expira_en < CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int adquirir(@Param("nombre") String nombre,
+                 @Param("propietario") String propietario,
+                 @Param("segundos") long segundos);
+
+    // Extiende el lease solo si sigue siendo de esa adquisición. 1 = renovado
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE bloqueo_proceso " +
+            "SET expira_en = TIMESTAMPADD(SECOND, :segundos, CURRENT_TIMESTAMP) " +
+            "WHERE nombre = :nombre AND propietario = :propietario",
+            nativeQuery = true)
+    int renovar(@Param("nombre") String nombre,
+                @Param("propietario") String propietario,
+                @Param("segundos") long segundos);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE bloqueo_proceso SET expira_en = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP) " +
+            "WHERE nombre = :nombre AND propietario = :propietario", nativeQuery = true)
+    int liberar(@Param("nombre") String nombre, @Param("propietario") String propietario);
+}
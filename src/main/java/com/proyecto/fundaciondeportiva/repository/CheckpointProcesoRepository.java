@@ -0,0 +1,9 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.CheckpointProceso;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CheckpointProcesoRepository extends JpaRepository<CheckpointProceso, String> {
+}
@@ -2,7 +2,10 @@ package com.proyecto.fundaciondeportiva.repository;
 
 import com.proyecto.fundaciondeportiva.model.entity.Curso;
 import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -30,4 +33,14 @@ public interface CursoRepository extends JpaRepository<Curso, Long> {
      * Verifica de forma eficiente si un código de curso ya existe.
      */
     boolean existsByCodigo(String codigo);
+
+    /**
+     * Paginación por cursor (id > despuesDe), con el creador en la misma consulta.
+     */
+    @Query("SELECT c FROM Curso c LEFT JOIN FETCH c.creadoPor " +
+            "WHERE c.id > :despuesDe AND (:nivel IS NULL OR c.nivelDestino = :nivel) " +
+            "ORDER BY c.id")
+    List<Curso> buscarPagina(@Param("despuesDe") long despuesDe,
+                             @Param("nivel") NivelAcademico nivel,
+                             Limit limite);
 }
@@ -0,0 +1,16 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.EtlJobError;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EtlJobErrorRepository extends JpaRepository<EtlJobError, Long> {
+
+    List<EtlJobError> findByJobIdOrderByFilaAsc(Long jobId, Limit limite);
+
+    long countByJobId(Long jobId);
+}
@@ -0,0 +1,78 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.EtlJob;
+import com.proyecto.fundaciondeportiva.model.enums.EstadoEtlJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EtlJobRepository extends JpaRepository<EtlJob, Long> {
+
+    // Jobs a reanudar al arrancar la aplicación
+    List<EtlJob> findByEstadoInOrderByIdAsc(Collection<EstadoEtlJob> estados);
+
+    // Avance de un lote: va en la misma transacción que los usuarios del lote
+    @Modifying
+    @Query("""
+           UPDATE EtlJob j
+           SET j.procesados = j.procesados + :procesadas,
+               j.exitosos = j.exitosos + :exitosas,
+               j.duplicadosEnExcel = j.duplicadosEnExcel + :duplicados,
+               j.ultimaFilaConfirmada = :ultimaFila
+           WHERE j.id = :id
+           """)
+    int registrarLote(@Param("id") Long id,
+                      @Param("ultimaFila") int ultimaFila,
+                      @Param("procesadas") int procesadas,
+                      @Param("exitosas") int exitosas,
+                      @Param("duplicados") int duplicados);
+
+    // Arranque de una ejecución: solo estas columnas, y solo si nadie pidió cancelar entretanto.
+    // 0 = hay una cancelación pendiente (o el job no existe)
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE EtlJob j
+           SET j.estado = :estado,
+               j.fechaInicio = :fechaInicio,
+               j.fechaFin = null,
+               j.procesadosAlIniciar = j.procesados
+           WHERE j.id = :id AND j.cancelacionSolicitada = false
+           """)
+    int marcarIniciado(@Param("id") Long id,
+                       @Param("estado") EstadoEtlJob estado,
+                       @Param("fechaInicio") LocalDateTime fechaInicio);
+
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE EtlJob j
+           SET j.estado = :estado,
+               j.fechaFin = :fechaFin,
+               j.mensajeError = :mensajeError
+           WHERE j.id = :id
+           """)
+    int marcarTerminado(@Param("id") Long id,
+                        @Param("estado") EstadoEtlJob estado,
+                        @Param("fechaFin") LocalDateTime fechaFin,
+                        @Param("mensajeError") String mensajeError);
+
+    // El runner lo consulta entre lotes: la cancelación puede llegar por cualquier nodo
+    @Query("SELECT j.cancelacionSolicitada FROM EtlJob j WHERE j.id = :id")
+    Optional<Boolean> findCancelacionSolicitadaById(@Param("id") Long id);
+
+    // Solo esta columna: el runner sigue actualizando el avance del job en paralelo.
+    // Vacía el contexto para que ninguna entidad cargada antes escriba la fila completa al confirmar.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EtlJob j SET j.cancelacionSolicitada = true WHERE j.id = :id")
+    int solicitarCancelacion(@Param("id") Long id);
+}
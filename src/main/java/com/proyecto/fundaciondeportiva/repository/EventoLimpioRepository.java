@@ -2,16 +2,26 @@
 package com.proyecto.fundaciondeportiva.repository;
 
 import com.proyecto.fundaciondeportiva.model.entity.EventoLimpio;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface EventoLimpioRepository extends JpaRepository<EventoLimpio, Long> {
+public interface EventoLimpioRepository extends JpaRepository<EventoLimpio, Long>, EventoLimpioRepositoryCustom {
 
     @Query("SELECT COALESCE(MAX(el.eventoId), 0) FROM EventoLimpio el")
     Long findUltimoEventoProcesado();
 
     @Query("SELECT el.calidad, COUNT(el) FROM EventoLimpio el GROUP BY el.calidad")
     List<Object[]> countByCalidad();  // NUEVO
+
+    // Siguiente lote a archivar. Lo archivado se borra, así que siempre se lee desde el inicio;
+    // como los ids crecen con el tiempo, los más antiguos están al principio del índice primario
+    @Query("SELECT el FROM EventoLimpio el WHERE el.ts < :corte ORDER BY el.id ASC")
+    List<EventoLimpio> findArchivables(@Param("corte") LocalDateTime corte, Limit limite);
+
+    boolean existsByEventoId(Long eventoId);
 }
@@ -0,0 +1,18 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.EventoLimpio;
+
+import java.util.List;
+
+/**
+ * Escritura masiva en evento_limpio (JDBC batch).
+ * Implementado en EventoLimpioRepositoryImpl; Spring Data lo compone con EventoLimpioRepository.
+ */
+public interface EventoLimpioRepositoryCustom {
+
+    /**
+     * Inserta los eventos limpios en un batch JDBC. Los que ya existen (clave única evento_id)
+     * se ignoran, así que reprocesar un lote es inofensivo. Devuelve el número de filas enviadas.
+     */
+    int insertarLote(List<EventoLimpio> limpios);
+}
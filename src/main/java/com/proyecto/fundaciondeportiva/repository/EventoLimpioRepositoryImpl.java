@@ -0,0 +1,36 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.EventoLimpio;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class EventoLimpioRepositoryImpl implements EventoLimpioRepositoryCustom {
+
+    private static final int TAMANIO_BATCH = 500;
+
+    private static final String SQL_INSERT =
+            "INSERT IGNORE INTO evento_limpio (evento_id, usuario_id, tipo, detalles, ts, calidad) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertarLote(List<EventoLimpio> limpios) {
+        if (limpios.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT, limpios, TAMANIO_BATCH, (ps, el) -> {
+            ps.setLong(1, el.getEventoId());
+            ps.setLong(2, el.getUsuarioId());
+            ps.setString(3, el.getTipo());
+            ps.setString(4, el.getDetalles());
+            ps.setTimestamp(5, Timestamp.valueOf(el.getTs()));
+            ps.setString(6, el.getCalidad());
+        });
+        return limpios.size();
+    }
+}
@@ -1,14 +1,26 @@
 package com.proyecto.fundaciondeportiva.repository;
 
 import com.proyecto.fundaciondeportiva.model.entity.Evento;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface EventoRepository extends JpaRepository<Evento, Long> {
+public interface EventoRepository extends JpaRepository<Evento, Long>, EventoRepositoryCustom {
 
+    // Keyset: siguiente lote de eventos después de lastId
     @Query("SELECT e FROM Evento e WHERE e.id > :lastId ORDER BY e.id ASC")
-    List<Evento> findNuevos(@Param("lastId") Long lastId);
+    List<Evento> findNuevos(@Param("lastId") Long lastId, Limit limite);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM Evento e")
+    Long findMaxId();
+
+    // Eventos crudos ya procesados por la limpieza (id <= marca) y fuera de la retención
+    @Query("SELECT e.id FROM Evento e WHERE e.id <= :hastaId AND e.ts < :corte ORDER BY e.id ASC")
+    List<Long> findIdsArchivables(@Param("hastaId") Long hastaId,
+                                  @Param("corte") LocalDateTime corte,
+                                  Limit limite);
 }
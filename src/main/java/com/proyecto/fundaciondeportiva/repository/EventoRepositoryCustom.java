@@ -0,0 +1,18 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.Evento;
+
+import java.util.List;
+
+/**
+ * Escritura masiva de eventos de telemetría (JDBC batch).
+ * Implementado en EventoRepositoryImpl; Spring Data lo compone con EventoRepository.
+ */
+public interface EventoRepositoryCustom {
+
+    /**
+     * Inserta los eventos con un batch JDBC (el driver lo reescribe como INSERT multi-fila).
+     * Devuelve el número de filas enviadas.
+     */
+    int insertarLote(List<Evento> eventos);
+}
@@ -0,0 +1,33 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.Evento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class EventoRepositoryImpl implements EventoRepositoryCustom {
+
+    private static final int TAMANIO_BATCH = 500;
+
+    private static final String SQL_INSERT =
+            "INSERT INTO evento (usuario_id, tipo, detalles, ts) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertarLote(List<Evento> eventos) {
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT, eventos, TAMANIO_BATCH, (ps, e) -> {
+            ps.setLong(1, e.getUsuarioId());
+            ps.setString(2, e.getTipo());
+            ps.setString(3, e.getDetalles());
+            ps.setTimestamp(4, Timestamp.valueOf(e.getTs()));
+        });
+        return eventos.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.dto.projection.ConteoEventosProyeccion;
+import com.proyecto.fundaciondeportiva.model.entity.EventoRollupHora;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventoRollupHoraRepository extends JpaRepository<EventoRollupHora, Long>, EventoRollupHoraRepositoryCustom {
+
+    // Serie por hora en [desde, hasta), con filtros opcionales
+    @Query("""
+           SELECT r.hora AS hora, SUM(r.total) AS total
+           FROM EventoRollupHora r
+           WHERE r.hora >= :desde AND r.hora < :hasta
+             AND (:tipo IS NULL OR r.tipo = :tipo)
+             AND (:usuarioId IS NULL OR r.usuarioId = :usuarioId)
+           GROUP BY r.hora
+           ORDER BY r.hora
+           """)
+    List<ConteoEventosProyeccion> totalPorHora(@Param("desde") LocalDateTime desde,
+                                               @Param("hasta") LocalDateTime hasta,
+                                               @Param("tipo") String tipo,
+                                               @Param("usuarioId") Long usuarioId);
+
+    @Query("""
+           SELECT r.tipo AS tipo, SUM(r.total) AS total
+           FROM EventoRollupHora r
+           WHERE r.hora >= :desde AND r.hora < :hasta
+             AND (:usuarioId IS NULL OR r.usuarioId = :usuarioId)
+           GROUP BY r.tipo
+           ORDER BY SUM(r.total) DESC
+           """)
+    List<ConteoEventosProyeccion> totalPorTipo(@Param("desde") LocalDateTime desde,
+                                               @Param("hasta") LocalDateTime hasta,
+                                               @Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT r.calidad AS calidad, SUM(r.total) AS total FROM EventoRollupHora r GROUP BY r.calidad")
+    List<ConteoEventosProyeccion> totalPorCalidad();
+
+    /**
+     * Carga inicial desde evento_limpio (eventos ya limpiados antes de existir el rollup).
+     * La hora se trunca con TIMESTAMPDIFF/TIMESTAMPADD sobre una fecha base.
+     */
+    @Modifying
+    @Query(value = """
+           INSERT INTO evento_rollup_hora (hora, tipo, usuario_id, calidad, total)
+           SELECT TIMESTAMPADD(HOUR, TIMESTAMPDIFF(HOUR, '2000-01-01 00:00:00', el.ts), '2000-01-01 00:00:00'),
+                  el.tipo, el.usuario_id, el.calidad, COUNT(*)
+           FROM evento_limpio el
+           WHERE el.evento_id <= :hastaEventoId
+           GROUP BY TIMESTAMPADD(HOUR, TIMESTAMPDIFF(HOUR, '2000-01-01 00:00:00', el.ts), '2000-01-01 00:00:00'),
+                    el.tipo, el.usuario_id, el.calidad
+           """, nativeQuery = true)
+    int cargarDesdeEventosLimpios(@Param("hastaEventoId") long hastaEventoId);
+}
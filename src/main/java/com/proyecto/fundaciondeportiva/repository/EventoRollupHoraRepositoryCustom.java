@@ -0,0 +1,19 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Acumulación en evento_rollup_hora (JDBC batch con upsert).
+ * Implementado en EventoRollupHoraRepositoryImpl; Spring Data lo compone con EventoRollupHoraRepository.
+ */
+public interface EventoRollupHoraRepositoryCustom {
+
+    /**
+     * Suma los conteos a sus filas (hora, tipo, usuario, calidad), creándolas si no existen.
+     */
+    void acumular(Map<ClaveRollup, Long> conteos);
+
+    record ClaveRollup(LocalDateTime hora, String tipo, Long usuarioId, String calidad) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Map;
+
+public class EventoRollupHoraRepositoryImpl implements EventoRollupHoraRepositoryCustom {
+
+    private static final int TAMANIO_BATCH = 500;
+
+    private static final String SQL_UPSERT =
+            "INSERT INTO evento_rollup_hora (hora, tipo, usuario_id, calidad, total) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE total = total + VALUES(total)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void acumular(Map<ClaveRollup, Long> conteos) {
+        if (conteos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SQL_UPSERT, new ArrayList<>(conteos.entrySet()), TAMANIO_BATCH, (ps, e) -> {
+            ClaveRollup clave = e.getKey();
+            ps.setTimestamp(1, Timestamp.valueOf(clave.hora()));
+            ps.setString(2, clave.tipo());
+            ps.setLong(3, clave.usuarioId());
+            ps.setString(4, clave.calidad());
+            ps.setLong(5, e.getValue());
+        });
+    }
+}
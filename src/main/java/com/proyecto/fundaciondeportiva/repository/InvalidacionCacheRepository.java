@@ -0,0 +1,25 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.InvalidacionCache;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InvalidacionCacheRepository extends JpaRepository<InvalidacionCache, Long> {
+
+    // Keyset: invalidaciones publicadas después de la versión desde
+    @Query("SELECT i FROM InvalidacionCache i WHERE i.id > :desde ORDER BY i.id ASC")
+    List<InvalidacionCache> findSiguientes(@Param("desde") Long desde, Limit limite);
+
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM InvalidacionCache i")
+    Long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM InvalidacionCache i WHERE i.fecha < :corte")
+    int borrarAnteriores(@Param("corte") LocalDateTime corte);
+}
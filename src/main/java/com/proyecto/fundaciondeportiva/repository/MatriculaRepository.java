@@ -2,7 +2,12 @@ package com.proyecto.fundaciondeportiva.repository;
 
 import com.proyecto.fundaciondeportiva.model.entity.Matricula;
 import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,4 +32,29 @@ public interface MatriculaRepository extends JpaRepository<Matricula, Long> {
     Optional<Matricula> findByAlumnoIdAndSeccionIdAndCicloAndEstado(
             Long alumnoId, Long seccionId, String ciclo, EstadoMatricula estado
     );
+
+    // Todas las matrículas de la sección en un ciclo (registro masivo de asistencias)
+    List<Matricula> findBySeccionIdAndCicloAndEstado(Long seccionId, String ciclo, EstadoMatricula estado);
+
+    // Paginación por cursor (id > despuesDe) con filtros opcionales; trae todo lo que usa el DTO
+    @Query("SELECT m FROM Matricula m " +
+            "JOIN FETCH m.alumno a LEFT JOIN FETCH a.perfilAlumno " +
+            "JOIN FETCH m.seccion s JOIN FETCH s.curso " +
+            "LEFT JOIN FETCH s.profesor p LEFT JOIN FETCH p.perfilProfesor " +
+            "WHERE m.id > :despuesDe " +
+            "AND (:ciclo IS NULL OR m.ciclo = :ciclo) " +
+            "AND (:estado IS NULL OR m.estado = :estado) " +
+            "AND (:nivel IS NULL OR s.nivelSeccion = :nivel) " +
+            "AND (:turno IS NULL OR s.turno = :turno) " +
+            "AND (:profesorId IS NULL OR p.id = :profesorId) " +
+            "AND (:seccionId IS NULL OR s.id = :seccionId) " +
+            "ORDER BY m.id")
+    List<Matricula> buscarPagina(@Param("despuesDe") long despuesDe,
+                                 @Param("ciclo") String ciclo,
+                                 @Param("estado") EstadoMatricula estado,
+                                 @Param("nivel") NivelAcademico nivel,
+                                 @Param("turno") Turno turno,
+                                 @Param("profesorId") Long profesorId,
+                                 @Param("seccionId") Long seccionId,
+                                 Limit limite);
 }
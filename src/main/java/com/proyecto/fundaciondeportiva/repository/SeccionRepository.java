@@ -1,9 +1,13 @@
 package com.proyecto.fundaciondeportiva.repository;
 
+import com.proyecto.fundaciondeportiva.dto.projection.EstadisticasSeccionProyeccion;
+import com.proyecto.fundaciondeportiva.dto.projection.SeccionListadoProyeccion;
 import com.proyecto.fundaciondeportiva.model.entity.Seccion;
 import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.model.enums.Turno;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -34,9 +38,103 @@ public interface SeccionRepository extends JpaRepository<Seccion, Long> {
     @Query("SELECT s FROM Seccion s WHERE s.activa = true AND s.fechaInicio <= :fecha AND s.fechaFin >= :fecha")
     List<Seccion> findSeccionesActivasEnFecha(@Param("fecha") LocalDate fecha);
 
-    @Query("SELECT s FROM Seccion s WHERE s.activa = true AND SIZE(s.matriculas) < s.capacidad")
+    @Query("SELECT s FROM Seccion s WHERE s.activa = true AND s.cuposOcupados < s.capacidad")
     List<Seccion> findSeccionesConCupoDisponible();
 
     @Query("SELECT s FROM Seccion s WHERE s.nivelSeccion = :nivel AND s.activa = true")
     List<Seccion> findByNivelAndActiva(@Param("nivel") NivelAcademico nivel);
-}
\ No newline at end of file
+
+    // --- Listados (proyección, una sola consulta) ---
+
+    /**
+     * Listado de secciones con curso, profesor y estadísticas en una sola consulta.
+     * Cada filtro es opcional (null = sin filtrar); soloConCupo aplica cupos_ocupados < capacidad.
+     * despuesDe + limite permiten paginar por cursor (0 y Limit.unlimited() para el listado completo).
+     */
+    @Query("SELECT s.id AS id, s.codigo AS codigo, s.nombre AS nombre, s.nivelSeccion AS nivelSeccion, " +
+            "s.gradoSeccion AS gradoSeccion, s.turno AS turno, s.aula AS aula, s.capacidad AS capacidad, " +
+            "s.fechaInicio AS fechaInicio, s.fechaFin AS fechaFin, s.numeroSemanas AS numeroSemanas, " +
+            "s.activa AS activa, s.fechaCreacion AS fechaCreacion, " +
+            "c.id AS cursoId, c.codigo AS codigoCurso, c.titulo AS tituloCurso, c.nivelDestino AS nivelCurso, " +
+            "p.id AS profesorId, p.nombre AS nombreProfesor, p.email AS correoProfesor, " +
+            "COALESCE(pp.dni, 'N/A') AS dniProfesor, " +
+            "s.cuposOcupados AS estudiantesMatriculados, " +
+            "(SELECT MIN(w.numero) FROM SemanaSemana w WHERE w.seccion = s " +
+            "   AND w.fechaInicio <= :hoy AND w.fechaFin >= :hoy) AS semanaActual, " +
+            "(SELECT COUNT(w2) FROM SemanaSemana w2 WHERE w2.seccion = s) AS totalSemanas " +
+            "FROM Seccion s JOIN s.curso c LEFT JOIN s.profesor p LEFT JOIN p.perfilProfesor pp " +
+            "WHERE s.id > :despuesDe " +
+            "AND (:activa IS NULL OR s.activa = :activa) " +
+            "AND (:cursoId IS NULL OR c.id = :cursoId) " +
+            "AND (:profesorId IS NULL OR p.id = :profesorId) " +
+            "AND (:turno IS NULL OR s.turno = :turno) " +
+            "AND (:nivel IS NULL OR s.nivelSeccion = :nivel) " +
+            "AND (:soloConCupo = false OR s.cuposOcupados < s.capacidad) " +
+            "ORDER BY s.id")
+    List<SeccionListadoProyeccion> listarProyeccion(@Param("hoy") LocalDate hoy,
+                                                    @Param("activa") Boolean activa,
+                                                    @Param("cursoId") Long cursoId,
+                                                    @Param("profesorId") Long profesorId,
+                                                    @Param("turno") Turno turno,
+                                                    @Param("nivel") NivelAcademico nivel,
+                                                    @Param("soloConCupo") boolean soloConCupo,
+                                                    @Param("despuesDe") long despuesDe,
+                                                    Limit limite);
+
+    /**
+     * Cabecera de una sección (datos propios, curso, profesor y total de semanas) para la cache
+     * SECCIONES. No trae matriculados ni semana actual: esos alias quedan en null y se completan
+     * con buscarEstadisticas.
+     */
+    @Query("SELECT s.id AS id, s.codigo AS codigo, s.nombre AS nombre, s.nivelSeccion AS nivelSeccion, " +
+            "s.gradoSeccion AS gradoSeccion, s.turno AS turno, s.aula AS aula, s.capacidad AS capacidad, " +
+            "s.fechaInicio AS fechaInicio, s.fechaFin AS fechaFin, s.numeroSemanas AS numeroSemanas, " +
+            "s.activa AS activa, s.fechaCreacion AS fechaCreacion, " +
+            "c.id AS cursoId, c.codigo AS codigoCurso, c.titulo AS tituloCurso, c.nivelDestino AS nivelCurso, " +
+            "p.id AS profesorId, p.nombre AS nombreProfesor, p.email AS correoProfesor, " +
+            "COALESCE(pp.dni, 'N/A') AS dniProfesor, " +
+            "(SELECT COUNT(w) FROM SemanaSemana w WHERE w.seccion = s) AS totalSemanas " +
+            "FROM Seccion s JOIN s.curso c LEFT JOIN s.profesor p LEFT JOIN p.perfilProfesor pp " +
+            "WHERE s.id = :id")
+    Optional<SeccionListadoProyeccion> findCabeceraById(@Param("id") Long id);
+
+    /**
+     * Matriculados y semana actual de una sección (lo que no va en la cache de cabeceras).
+     */
+    @Query("SELECT s.cuposOcupados AS estudiantesMatriculados, " +
+            "(SELECT MIN(w.numero) FROM SemanaSemana w WHERE w.seccion = s " +
+            "   AND w.fechaInicio <= :hoy AND w.fechaFin >= :hoy) AS semanaActual " +
+            "FROM Seccion s WHERE s.id = :id")
+    Optional<EstadisticasSeccionProyeccion> buscarEstadisticas(@Param("id") Long id, @Param("hoy") LocalDate hoy);
+
+    // --- Control de cupos (contador cupos_ocupados) ---
+
+    /**
+     * Reserva un cupo con un único UPDATE condicional: solo incrementa si la sección
+     * está activa y no alcanzó su capacidad. El bloqueo de fila de MySQL serializa
+     * las reservas concurrentes de la misma sección, así que nunca se sobrevende.
+     * Devuelve 1 si se reservó el cupo y 0 si no había cupo.
+     */
+    @Modifying
+    @Query(value = "UPDATE secciones SET cupos_ocupados = cupos_ocupados + 1 " +
+            "WHERE id = :id AND activa = true AND cupos_ocupados < capacidad", nativeQuery = true)
+    int reservarCupo(@Param("id") Long id);
+
+    /**
+     * Libera un cupo (retiro, cambio de estado o eliminación de una matrícula ACTIVA).
+     */
+    @Modifying
+    @Query(value = "UPDATE secciones SET cupos_ocupados = cupos_ocupados - 1 " +
+            "WHERE id = :id AND cupos_ocupados > 0", nativeQuery = true)
+    int liberarCupo(@Param("id") Long id);
+
+    /**
+     * Recalcula el contador de todas las secciones a partir de las matrículas ACTIVAS.
+     * Se usa al arrancar y tras operaciones masivas (reinicio de ciclo).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE secciones s SET s.cupos_ocupados = (" +
+            "SELECT COUNT(*) FROM matriculas m WHERE m.seccion_id = s.id AND m.estado = 'ACTIVA')",
+            nativeQuery = true)
+    int reconciliarCuposOcupados();
+}
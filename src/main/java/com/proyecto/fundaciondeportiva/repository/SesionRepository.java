@@ -1,12 +1,17 @@
 // src/main/java/com/proyecto/fundaciondeportiva/repository/SesionRepository.java
 package com.proyecto.fundaciondeportiva.repository;
 
+import com.proyecto.fundaciondeportiva.dto.projection.MonitorSesionProyeccion;
 import com.proyecto.fundaciondeportiva.model.entity.Sesion;
+import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SesionRepository extends JpaRepository<Sesion, Long> {
@@ -21,4 +26,19 @@ public interface SesionRepository extends JpaRepository<Sesion, Long> {
 
     // TODAS las sesiones de un alumno (por id del usuario alumno vía matrícula)
     List<Sesion> findBySeccion_Matriculas_Alumno_IdOrderByFechaAsc(Long alumnoId);
+
+    // Sesión con su sección y profesor en una sola consulta (validación de permisos)
+    @Query("SELECT s FROM Sesion s JOIN FETCH s.seccion sec LEFT JOIN FETCH sec.profesor WHERE s.id = :id")
+    Optional<Sesion> findByIdConSeccion(@Param("id") Long id);
+
+    // Monitor de asistencias: sesiones del día con sección, curso y conteos en una sola consulta
+    @Query("SELECT s.id AS sesionId, sec.id AS seccionId, sec.nombre AS nombreSeccion, c.titulo AS curso, " +
+            "sec.gradoSeccion AS gradoSeccion, sec.nivelSeccion AS nivelSeccion, sec.turno AS turno, " +
+            "s.horaInicio AS horaInicio, s.horaFin AS horaFin, " +
+            "(SELECT COUNT(m) FROM Matricula m WHERE m.seccion = sec AND m.estado = :estadoActiva) AS totalAlumnos, " +
+            "(SELECT COUNT(a) FROM Asistencia a WHERE a.sesion = s AND a.estado IS NOT NULL) AS conAsistencia " +
+            "FROM Sesion s JOIN s.seccion sec JOIN sec.curso c " +
+            "WHERE s.fecha = :fecha")
+    List<MonitorSesionProyeccion> findMonitorPorFecha(@Param("fecha") LocalDate fecha,
+                                                      @Param("estadoActiva") EstadoMatricula estadoActiva);
 }
@@ -1,12 +1,15 @@
 package com.proyecto.fundaciondeportiva.repository;
 
 import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.model.enums.Rol;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,18 +18,36 @@ import java.util.Optional;
  * Reemplaza al 'UsuarioRepository' anterior.
  */
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioRepositoryCustom {
 
     Optional<Usuario> findByEmail(String email);
 
+    // Alumno + perfil en una sola consulta (flujo de matrícula)
+    @Query("SELECT u FROM Usuario u LEFT JOIN FETCH u.perfilAlumno WHERE u.id = :id")
+    Optional<Usuario> findByIdConPerfilAlumno(@Param("id") Long id);
+
     boolean existsByEmail(String email);
 
+    // Versión de seguridad vigente (autenticación por claims del token, sin cargar el usuario)
+    @Query("SELECT u.versionSeguridad FROM Usuario u WHERE u.id = :id")
+    Optional<Integer> findVersionSeguridad(@Param("id") Long id);
+
     // Buscar DNI en perfil alumno
     boolean existsByPerfilAlumno_Dni(String dni);
 
     // Buscar DNI en perfil profesor
     boolean existsByPerfilProfesor_Dni(String dni);
 
+    // Carga masiva: cuáles de estos valores ya existen (se consultan por bloques)
+    @Query("SELECT u.email FROM Usuario u WHERE u.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT pa.dni FROM PerfilAlumno pa WHERE pa.dni IN :dnis")
+    List<String> findDnisAlumnoExistentes(@Param("dnis") Collection<String> dnis);
+
+    @Query("SELECT pp.dni FROM PerfilProfesor pp WHERE pp.dni IN :dnis")
+    List<String> findDnisProfesorExistentes(@Param("dnis") Collection<String> dnis);
+
     @Query("""
            SELECT COUNT(u) > 0
            FROM Usuario u
@@ -42,4 +63,15 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     @Query("SELECT u FROM Usuario u WHERE u.rol = com.proyecto.fundaciondeportiva.model.enums.Rol.ALUMNO")
     List<Usuario> findAllAlumnos();
+
+    // Paginación por cursor (id > despuesDe) con filtros opcionales
+    @Query("SELECT u FROM Usuario u LEFT JOIN FETCH u.perfilAlumno pa LEFT JOIN FETCH u.perfilProfesor " +
+            "WHERE u.id > :despuesDe " +
+            "AND (:rol IS NULL OR u.rol = :rol) " +
+            "AND (:nivel IS NULL OR pa.nivel = :nivel) " +
+            "ORDER BY u.id")
+    List<Usuario> buscarPagina(@Param("despuesDe") long despuesDe,
+                               @Param("rol") Rol rol,
+                               @Param("nivel") NivelAcademico nivel,
+                               Limit limite);
 }
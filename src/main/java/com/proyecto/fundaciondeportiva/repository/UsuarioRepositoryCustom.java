@@ -0,0 +1,19 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+
+import java.util.List;
+
+/**
+ * Altas masivas de usuarios (JDBC batch), usadas por la carga desde Excel.
+ * Implementado en UsuarioRepositoryImpl; Spring Data lo compone con UsuarioRepository.
+ */
+public interface UsuarioRepositoryCustom {
+
+    /**
+     * Inserta los usuarios nuevos y sus perfiles (alumno / profesor) con un batch JDBC por tabla,
+     * asignando a cada entidad el id generado. Debe llamarse dentro de una transacción.
+     * Devuelve el número de usuarios insertados.
+     */
+    int insertarLote(List<Usuario> usuarios);
+}
@@ -0,0 +1,139 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.model.entity.PerfilAlumno;
+import com.proyecto.fundaciondeportiva.model.entity.PerfilProfesor;
+import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class UsuarioRepositoryImpl implements UsuarioRepositoryCustom {
+
+    private static final String SQL_PERFIL_ALUMNO =
+            "INSERT INTO perfiles_alumno (codigo_estudiante, dni, nivel, grado, telefono_emergencia) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SQL_PERFIL_PROFESOR =
+            "INSERT INTO perfiles_profesor (dni, telefono, experiencia, grado_academico) VALUES (?, ?, ?, ?)";
+
+    private static final String SQL_USUARIO =
+            "INSERT INTO usuarios (nombre, email, password, rol, habilitado_matricula, version_seguridad, " +
+            "fecha_creacion, perfil_alumno_id, perfil_profesor_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertarLote(List<Usuario> usuarios) {
+        if (usuarios.isEmpty()) {
+            return 0;
+        }
+
+        // 1) Perfiles primero: la FK vive en usuarios
+        List<PerfilAlumno> alumnos = usuarios.stream()
+                .map(Usuario::getPerfilAlumno).filter(Objects::nonNull).toList();
+        List<Long> idsAlumno = insertar(SQL_PERFIL_ALUMNO, alumnos, (ps, pa) -> {
+            ps.setString(1, pa.getCodigoEstudiante());
+            ps.setString(2, pa.getDni());
+            ps.setString(3, pa.getNivel().name());
+            ps.setString(4, pa.getGrado());
+            ps.setString(5, pa.getTelefonoEmergencia());
+        });
+        for (int i = 0; i < alumnos.size(); i++) {
+            alumnos.get(i).setId(idsAlumno.get(i));
+        }
+
+        List<PerfilProfesor> profesores = usuarios.stream()
+                .map(Usuario::getPerfilProfesor).filter(Objects::nonNull).toList();
+        List<Long> idsProfesor = insertar(SQL_PERFIL_PROFESOR, profesores, (ps, pp) -> {
+            ps.setString(1, pp.getDni());
+            ps.setString(2, pp.getTelefono());
+            ps.setString(3, pp.getExperiencia());
+            ps.setString(4, pp.getGradoAcademico());
+        });
+        for (int i = 0; i < profesores.size(); i++) {
+            profesores.get(i).setId(idsProfesor.get(i));
+        }
+
+        // 2) Usuarios con la referencia a su perfil
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> idsUsuario = insertar(SQL_USUARIO, usuarios, (ps, u) -> {
+            ps.setString(1, u.getNombre());
+            ps.setString(2, u.getEmail());
+            ps.setString(3, u.getPassword());
+            ps.setString(4, u.getRol().name());
+            ps.setBoolean(5, u.getHabilitadoMatricula() == null || u.getHabilitadoMatricula());
+            ps.setInt(6, u.getVersionSeguridad() != null ? u.getVersionSeguridad() : 0);
+            ps.setTimestamp(7, ahora);
+            setLong(ps, 8, u.getPerfilAlumno() != null ? u.getPerfilAlumno().getId() : null);
+            setLong(ps, 9, u.getPerfilProfesor() != null ? u.getPerfilProfesor().getId() : null);
+        });
+        for (int i = 0; i < usuarios.size(); i++) {
+            usuarios.get(i).setId(idsUsuario.get(i));
+            usuarios.get(i).setFechaCreacion(ahora.toLocalDateTime());
+        }
+
+        return usuarios.size();
+    }
+
+    // ==========================================================
+    // HELPERS
+    // ==========================================================
+
+    @FunctionalInterface
+    private interface Parametros<T> {
+        void asignar(PreparedStatement ps, T fila) throws SQLException;
+    }
+
+    /**
+     * Un batch JDBC con todas las filas; devuelve los ids generados en el mismo orden.
+     */
+    private <T> List<Long> insertar(String sql, List<T> filas, Parametros<T> parametros) {
+        if (filas.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder claves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        parametros.asignar(ps, filas.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return filas.size();
+                    }
+                },
+                claves);
+
+        List<Map<String, Object>> generadas = claves.getKeyList();
+        if (generadas.size() != filas.size()) {
+            throw new IllegalStateException("La BD devolvió " + generadas.size()
+                    + " ids para " + filas.size() + " filas insertadas");
+        }
+        return generadas.stream()
+                .map(m -> ((Number) m.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private static void setLong(PreparedStatement ps, int indice, Long valor) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, Types.BIGINT);
+        } else {
+            ps.setLong(indice, valor);
+        }
+    }
+}
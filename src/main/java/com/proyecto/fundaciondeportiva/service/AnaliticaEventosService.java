@@ -0,0 +1,101 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.dto.response.ConteoEventosDTO;
+import com.proyecto.fundaciondeportiva.exception.ValidacionException;
+import com.proyecto.fundaciondeportiva.repository.EventoRollupHoraRepository;
+import com.proyecto.fundaciondeportiva.service.archivo.LectorArchivoEventos;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consultas de analítica de eventos por rango de tiempo.
+ *
+ * Solo lee evento_rollup_hora (conteos por hora, tipo, usuario y calidad), así que el costo
+ * depende del número de horas del rango y no del volumen de eventos. La excepción es
+ * totalPorHoraArchivado, que recorre el histórico en disco sin transacción (no usa la BD y
+ * no debe retener una conexión mientras lee los archivos).
+ */
+@Service
+public class AnaliticaEventosService {
+
+    private final EventoRollupHoraRepository rollupRepo;
+    private final LectorArchivoEventos lectorArchivo;
+
+    @Value("${analitica.eventos.max-dias:92}")
+    private int maxDias;
+
+    public AnaliticaEventosService(EventoRollupHoraRepository rollupRepo,
+                                   LectorArchivoEventos lectorArchivo) {
+        this.rollupRepo = rollupRepo;
+        this.lectorArchivo = lectorArchivo;
+    }
+
+    /**
+     * Total de eventos por hora en [desde, hasta). Las horas sin eventos no aparecen.
+     */
+    @Transactional(readOnly = true)
+    public List<ConteoEventosDTO> totalPorHora(LocalDateTime desde, LocalDateTime hasta, String tipo, Long usuarioId) {
+        validarRango(desde, hasta);
+        String tipoNorm = (tipo == null || tipo.isBlank()) ? null : tipo.trim().toUpperCase();
+        return rollupRepo.totalPorHora(alInicioDeHora(desde), hasta, tipoNorm, usuarioId).stream()
+                .map(f -> ConteoEventosDTO.builder().hora(f.getHora()).total(f.getTotal()).build())
+                .toList();
+    }
+
+    /**
+     * Total de eventos por tipo en [desde, hasta), de mayor a menor.
+     */
+    @Transactional(readOnly = true)
+    public List<ConteoEventosDTO> totalPorTipo(LocalDateTime desde, LocalDateTime hasta, Long usuarioId) {
+        validarRango(desde, hasta);
+        return rollupRepo.totalPorTipo(alInicioDeHora(desde), hasta, usuarioId).stream()
+                .map(f -> ConteoEventosDTO.builder().tipo(f.getTipo()).total(f.getTotal()).build())
+                .toList();
+    }
+
+    /**
+     * Total por hora de los eventos archivados en los días [desde, hasta]. Recorre los
+     * archivos (O(eventos)): sirve para contrastar el rollup de días archivados.
+     */
+    public List<ConteoEventosDTO> totalPorHoraArchivado(LocalDate desde, LocalDate hasta, String tipo) {
+        validarRango(desde == null ? null : desde.atStartOfDay(),
+                hasta == null ? null : hasta.plusDays(1).atStartOfDay());
+        String tipoNorm = (tipo == null || tipo.isBlank()) ? null : tipo.trim().toUpperCase();
+
+        Map<LocalDateTime, Long> porHora = new TreeMap<>();
+        lectorArchivo.recorrer(desde, hasta, e -> {
+            if (tipoNorm == null || tipoNorm.equals(e.tipo())) {
+                porHora.merge(e.ts().truncatedTo(ChronoUnit.HOURS), 1L, Long::sum);
+            }
+        });
+        return porHora.entrySet().stream()
+                .map(h -> ConteoEventosDTO.builder().hora(h.getKey()).total(h.getValue()).build())
+                .toList();
+    }
+
+    private void validarRango(LocalDateTime desde, LocalDateTime hasta) {
+        if (desde == null || hasta == null) {
+            throw new ValidacionException("Debe indicar desde y hasta");
+        }
+        if (!desde.isBefore(hasta)) {
+            throw new ValidacionException("'desde' debe ser anterior a 'hasta'");
+        }
+        if (Duration.between(desde, hasta).toDays() > maxDias) {
+            throw new ValidacionException("El rango no puede superar " + maxDias + " días");
+        }
+    }
+
+    // La granularidad del rollup es la hora: la hora de 'desde' se incluye completa
+    private LocalDateTime alInicioDeHora(LocalDateTime ts) {
+        return ts.truncatedTo(ChronoUnit.HOURS);
+    }
+}
@@ -0,0 +1,292 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.model.entity.CheckpointProceso;
+import com.proyecto.fundaciondeportiva.model.entity.EventoLimpio;
+import com.proyecto.fundaciondeportiva.repository.CheckpointProcesoRepository;
+import com.proyecto.fundaciondeportiva.repository.EventoLimpioRepository;
+import com.proyecto.fundaciondeportiva.repository.EventoRepository;
+import com.proyecto.fundaciondeportiva.service.archivo.FormatoArchivoEventos;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Archivado de eventos fuera de la ventana de retención.
+ *
+ * Los eventos limpios anteriores a la retención se escriben en el histórico (CSV + gzip por
+ * día, ver FormatoArchivoEventos) y se borran de evento_limpio por lotes; los eventos crudos
+ * ya procesados por la limpieza se borran de evento. evento_rollup_hora no se toca, así que la
+ * analítica sigue cubriendo los días archivados.
+ *
+ * Cada lote se escribe primero como .tmp, luego se confirma el borrado y recién entonces se
+ * publica el archivo. Si el proceso se corta entre medio, la siguiente ejecución decide por
+ * cada .tmp: si sus eventos siguen en evento_limpio el borrado no se confirmó y se descarta;
+ * si no, se publica. Así ningún evento queda duplicado ni perdido.
+ *
+ * El lease (BloqueoProcesoService) se renueva antes de cada lote; si no se puede renovar,
+ * otra instancia lo tomó y esta se detiene. Dentro de la instancia, la ejecución programada y
+ * la manual comparten un lock: una segunda ejecución recuperaría los .tmp en vuelo de la
+ * primera y borraría archivos cuyos eventos están a punto de salir de evento_limpio.
+ */
+@Service
+public class ArchivoEventosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivoEventosService.class);
+
+    static final String BLOQUEO = "archivo-eventos";
+
+    private final EventoLimpioRepository limpioRepo;
+    private final EventoRepository eventoRepo;
+    private final CheckpointProcesoRepository checkpointRepo;
+    private final BloqueoProcesoService bloqueoService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path raiz;
+
+    @Value("${archivo.eventos.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${archivo.eventos.retencion-dias:90}")
+    private int retencionDias;
+
+    @Value("${archivo.eventos.tamanio-lote:5000}")
+    private int tamanioLote;
+
+    @Value("${archivo.eventos.max-lotes-por-ejecucion:20}")
+    private int maxLotesPorEjecucion;
+
+    @Value("${archivo.eventos.lease-segundos:900}")
+    private long leaseSegundos;
+
+    private final ReentrantLock enEjecucion = new ReentrantLock();
+
+    private final Counter eventosArchivados;
+    private final Counter crudosBorrados;
+
+    public ArchivoEventosService(EventoLimpioRepository limpioRepo,
+                                 EventoRepository eventoRepo,
+                                 CheckpointProcesoRepository checkpointRepo,
+                                 BloqueoProcesoService bloqueoService,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${archivo.eventos.directorio:./archivo-eventos}") String directorio) {
+        this.limpioRepo = limpioRepo;
+        this.eventoRepo = eventoRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.bloqueoService = bloqueoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.raiz = Paths.get(directorio);
+
+        this.eventosArchivados = Counter.builder("eventos.archivo.procesados")
+                .tag("tabla", "evento_limpio").register(meterRegistry);
+        this.crudosBorrados = Counter.builder("eventos.archivo.procesados")
+                .tag("tabla", "evento").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${archivo.eventos.retraso-inicial-ms:120000}",
+               fixedDelayString = "${archivo.eventos.intervalo-ms:3600000}")
+    public void ejecutarProgramada() {
+        if (!habilitado) return;
+        try {
+            archivar().ifPresent(r -> {
+                if (r.archivados() > 0 || r.crudosBorrados() > 0) {
+                    logger.info("Archivo de eventos: {} archivados en {} archivos, {} crudos borrados",
+                            r.archivados(), r.archivos(), r.crudosBorrados());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Falló el archivado programado de eventos", e);
+        }
+    }
+
+    public record ResultadoArchivo(int archivados, int archivos, int crudosBorrados) {
+    }
+
+    /**
+     * Archiva como máximo archivo.eventos.max-lotes-por-ejecucion lotes de cada tabla si esta
+     * instancia obtiene el lease. Vacío si ya se está ejecutando, en esta instancia o en otra.
+     */
+    public Optional<ResultadoArchivo> archivar() {
+        return archivar(maxLotesPorEjecucion);
+    }
+
+    private Optional<ResultadoArchivo> archivar(int maxLotes) {
+        // Una sola ejecución por instancia (programada y endpoint manual comparten el lock)
+        if (!enEjecucion.tryLock()) {
+            return Optional.empty();
+        }
+        try {
+            Optional<String> token = bloqueoService.adquirir(BLOQUEO, Duration.ofSeconds(leaseSegundos));
+            if (token.isEmpty()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(archivarConLease(maxLotes, token.get()));
+            } finally {
+                bloqueoService.liberar(BLOQUEO, token.get());
+            }
+        } finally {
+            enEjecucion.unlock();
+        }
+    }
+
+    private ResultadoArchivo archivarConLease(int maxLotes, String token) {
+        // Con el lock y el lease tomados, ningún .tmp es de una ejecución en curso
+        recuperarTemporales();
+
+        // Lo limpiado antes de la carga inicial del rollup solo está contado vía evento_limpio
+        if (!checkpointRepo.existsById(DataCleaningService.CHECKPOINT_ROLLUP)) {
+            logger.info("Archivo de eventos omitido: el rollup aún no tiene su carga inicial");
+            return new ResultadoArchivo(0, 0, 0);
+        }
+
+        // Días completos: todo lo anterior al inicio del día límite
+        LocalDateTime corte = LocalDate.now().minusDays(retencionDias).atStartOfDay();
+
+        int archivados = 0;
+        int archivos = 0;
+        for (int lotes = 0; lotes < maxLotes && renovarLease(token); lotes++) {
+            List<EventoLimpio> lote = limpioRepo.findArchivables(corte, Limit.of(tamanioLote));
+            if (lote.isEmpty()) {
+                break;
+            }
+            archivos += archivarLote(lote);
+            archivados += lote.size();
+            if (lote.size() < tamanioLote) {
+                break;
+            }
+        }
+
+        // Crudos: solo los que la limpieza ya procesó (los demás aún no tienen su evento limpio)
+        long marcaLimpieza = checkpointRepo.findById(DataCleaningService.CHECKPOINT)
+                .map(CheckpointProceso::getUltimoId)
+                .orElse(0L);
+        int borrados = 0;
+        for (int lotes = 0; lotes < maxLotes && renovarLease(token); lotes++) {
+            List<Long> ids = eventoRepo.findIdsArchivables(marcaLimpieza, corte, Limit.of(tamanioLote));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(s -> eventoRepo.deleteAllByIdInBatch(ids));
+            crudosBorrados.increment(ids.size());
+            borrados += ids.size();
+            if (ids.size() < tamanioLote) {
+                break;
+            }
+        }
+
+        return new ResultadoArchivo(archivados, archivos, borrados);
+    }
+
+    private boolean renovarLease(String token) {
+        if (bloqueoService.renovar(BLOQUEO, token, Duration.ofSeconds(leaseSegundos))) {
+            return true;
+        }
+        logger.warn("Se perdió el lease del archivo de eventos; se detiene antes del siguiente lote");
+        return false;
+    }
+
+    /**
+     * Escribe el lote (un archivo por día), borra sus filas y publica los archivos.
+     * Devuelve cuántos archivos se publicaron.
+     */
+    private int archivarLote(List<EventoLimpio> lote) {
+        Map<LocalDate, List<EventoLimpio>> porDia = new TreeMap<>();
+        for (EventoLimpio e : lote) {
+            porDia.computeIfAbsent(e.getTs().toLocalDate(), d -> new ArrayList<>()).add(e);
+        }
+
+        List<Path> temporales = new ArrayList<>(porDia.size());
+        try {
+            for (Map.Entry<LocalDate, List<EventoLimpio>> dia : porDia.entrySet()) {
+                List<EventoLimpio> eventos = dia.getValue();
+                Path carpeta = Files.createDirectories(FormatoArchivoEventos.carpetaDia(raiz, dia.getKey()));
+                Path temporal = carpeta.resolve(FormatoArchivoEventos.nombreArchivo(
+                        eventos.get(0).getEventoId(), eventos.get(eventos.size() - 1).getEventoId())
+                        + ".tmp");
+                FormatoArchivoEventos.escribir(temporal, eventos);
+                temporales.add(temporal);
+            }
+        } catch (IOException e) {
+            // Nada se borró todavía: se descartan los temporales y el lote queda para otra ejecución
+            temporales.forEach(ArchivoEventosService::borrarSilencioso);
+            throw new UncheckedIOException("No se pudo escribir el archivo de eventos", e);
+        }
+
+        List<Long> ids = lote.stream().map(EventoLimpio::getId).toList();
+        transactionTemplate.executeWithoutResult(s -> limpioRepo.deleteAllByIdInBatch(ids));
+        eventosArchivados.increment(lote.size());
+
+        temporales.forEach(ArchivoEventosService::publicar);
+        return temporales.size();
+    }
+
+    /**
+     * Resuelve los .tmp que dejó una ejecución interrumpida (ver doc de la clase).
+     * Solo se llama con el lock enEjecucion tomado.
+     */
+    private void recuperarTemporales() {
+        if (!enEjecucion.isHeldByCurrentThread()) {
+            throw new IllegalStateException("recuperarTemporales requiere el lock de ejecución");
+        }
+        if (!Files.isDirectory(raiz)) {
+            return;
+        }
+        try (Stream<Path> archivos = Files.walk(raiz, 2)) {
+            for (Path tmp : archivos
+                    .filter(p -> p.getFileName().toString().endsWith(FormatoArchivoEventos.EXTENSION_TEMPORAL))
+                    .toList()) {
+                if (limpioRepo.existsByEventoId(FormatoArchivoEventos.primerEventoId(tmp))) {
+                    borrarSilencioso(tmp);
+                } else {
+                    publicar(tmp);
+                    logger.warn("Archivo de eventos recuperado tras una ejecución interrumpida: {}", tmp);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo revisar el directorio de archivo " + raiz, e);
+        }
+    }
+
+    private static void publicar(Path temporal) {
+        String nombre = temporal.getFileName().toString();
+        Path destino = temporal.resolveSibling(nombre.substring(0, nombre.length() - ".tmp".length()));
+        try {
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Las filas ya se borraron: el .tmp se publicará en la próxima ejecución
+            logger.error("No se pudo publicar {}", temporal, e);
+        }
+    }
+
+    private static void borrarSilencioso(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar {}", archivo, e);
+        }
+    }
+}
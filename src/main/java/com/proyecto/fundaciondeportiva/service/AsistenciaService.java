@@ -1,9 +1,11 @@
 // src/main/java/com/proyecto/fundaciondeportiva/service/AsistenciaService.java
 package com.proyecto.fundaciondeportiva.service;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.RegistrarAsistenciasSesionRequest;
 import com.proyecto.fundaciondeportiva.dto.response.AsistenciaAlumnoSemanaDTO;
 import com.proyecto.fundaciondeportiva.dto.response.AsistenciaDetalleAlumnoDTO;
+import com.proyecto.fundaciondeportiva.dto.response.RegistroAsistenciasResultadoDTO;
 
 import java.util.List;
 
@@ -16,12 +18,13 @@ public interface AsistenciaService {
 
     /**
      * DOCENTE: registrar/actualizar asistencias de una sesión.
-     * El email del profesor viene del token (Authentication.getName()).
+     * El usuario (id y rol) viene del token: no se vuelve a buscar en la BD.
+     * Número de sentencias constante: no depende de la cantidad de alumnos.
      */
-    void registrarAsistenciasSesion(RegistrarAsistenciasSesionRequest request, String emailProfesor);
+    RegistroAsistenciasResultadoDTO registrarAsistenciasSesion(RegistrarAsistenciasSesionRequest request, UsuarioAutenticado usuario);
 
     /**
      * ALUMNO: ver su historial de asistencias en una sección.
      */
-    List<AsistenciaAlumnoSemanaDTO> obtenerMisAsistenciasEnSeccion(Long seccionId, String emailAlumno);
+    List<AsistenciaAlumnoSemanaDTO> obtenerMisAsistenciasEnSeccion(Long seccionId, Long alumnoId);
 }
@@ -0,0 +1,73 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.repository.BloqueoProcesoRepository;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock distribuido por lease en la BD: con varias instancias de la aplicación, solo una
+ * ejecuta cada proceso en segundo plano. Si el nodo muere, el lease expira y otro lo toma.
+ * El lease pertenece a una adquisición (token), no al nodo: dos ejecuciones del mismo
+ * proceso en la misma instancia tampoco pueden tenerlo a la vez.
+ */
+@Service
+public class BloqueoProcesoService {
+
+    private final BloqueoProcesoRepository bloqueoRepo;
+
+    // Identifica a esta instancia (host + id aleatorio: dos JVM en el mismo host son distintas)
+    private final String propietario;
+
+    // Numera las adquisiciones de esta instancia: cada una tiene su propio token
+    private final AtomicLong adquisiciones = new AtomicLong();
+
+    public BloqueoProcesoService(BloqueoProcesoRepository bloqueoRepo) {
+        this.bloqueoRepo = bloqueoRepo;
+        this.propietario = nombreHost() + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * Toma el lease si está libre o vencido. Devuelve el token de esta adquisición, que es el
+     * único que puede renovarlo o liberarlo: otra ejecución en este mismo nodo no lo comparte.
+     * Vacío si el lease está tomado.
+     */
+    public Optional<String> adquirir(String nombre, Duration duracion) {
+        String token = propietario + "#" + adquisiciones.incrementAndGet();
+        if (bloqueoRepo.adquirir(nombre, token, duracion.toSeconds()) == 1) {
+            return Optional.of(token);
+        }
+        // Primera vez que se usa este proceso: crear la fila y reintentar
+        bloqueoRepo.crearSiNoExiste(nombre);
+        return bloqueoRepo.adquirir(nombre, token, duracion.toSeconds()) == 1
+                ? Optional.of(token)
+                : Optional.empty();
+    }
+
+    /**
+     * Extiende el lease por la duración indicada si sigue siendo de esa adquisición.
+     */
+    public boolean renovar(String nombre, String token, Duration duracion) {
+        return bloqueoRepo.renovar(nombre, token, duracion.toSeconds()) == 1;
+    }
+
+    public void liberar(String nombre, String token) {
+        bloqueoRepo.liberar(nombre, token);
+    }
+
+    public String getPropietario() {
+        return propietario;
+    }
+
+    private static String nombreHost() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "desconocido";
+        }
+    }
+}
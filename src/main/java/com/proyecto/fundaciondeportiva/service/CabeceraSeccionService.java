@@ -0,0 +1,38 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.config.CacheConfig;
+import com.proyecto.fundaciondeportiva.dto.response.SeccionResponseDTO;
+import com.proyecto.fundaciondeportiva.exception.RecursoNoEncontradoException;
+import com.proyecto.fundaciondeportiva.repository.SeccionRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Cabecera de una sección (datos propios, curso y profesor) en la cache SECCIONES.
+ *
+ * Va en un bean aparte para que ServicioSeccionImpl pase por el proxy de la cache.
+ * Lo variable (matriculados, cupos, semana actual) no se cachea: quien la usa lo completa
+ * con SeccionRepository.buscarEstadisticas y SeccionResponseDTO.conEstadisticas.
+ * ServicioSeccionImpl y ServicioCursoImpl la vacían al modificar secciones o cursos, y
+ * UsuarioService al modificar usuarios (nombre, email y DNI del profesor van en la cabecera).
+ */
+@Service
+public class CabeceraSeccionService {
+
+    private final SeccionRepository seccionRepository;
+
+    public CabeceraSeccionService(SeccionRepository seccionRepository) {
+        this.seccionRepository = seccionRepository;
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SECCIONES, key = "#id")
+    public SeccionResponseDTO obtener(Long id) {
+        return seccionRepository.findCabeceraById(id)
+                .map(p -> SeccionResponseDTO.deProyeccion(p, LocalDate.now()))
+                .orElseThrow(() -> new RecursoNoEncontradoException("Sección no encontrada con id: " + id));
+    }
+}
@@ -0,0 +1,95 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache acotada (Caffeine) de tokens ya verificados, usada por JwtService.
+ *
+ * La clave es el SHA-256 del token (no se guardan tokens en memoria) y cada entrada vence
+ * con el token o antes (ttl máximo), así una entrada nunca sobrevive al token que representa.
+ * Las lecturas no toman locks: cada petición autenticada pasa por aquí.
+ */
+final class CacheTokensJwt {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxEntradas;
+    private final long ttlMaximoMs;
+    private final Cache<String, Entrada> entradas;
+
+    private record Entrada(JwtService.TokenVerificado token, long venceEnMs) {
+    }
+
+    CacheTokensJwt(int maxEntradas, long ttlMaximoMs) {
+        this.maxEntradas = maxEntradas;
+        this.ttlMaximoMs = ttlMaximoMs;
+        this.entradas = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxEntradas, 0))
+                .expireAfter(new VencimientoEntrada())
+                .build();
+    }
+
+    boolean habilitada() {
+        return maxEntradas > 0;
+    }
+
+    static String clave(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    JwtService.TokenVerificado obtener(String clave, long ahoraMs) {
+        Entrada e = entradas.getIfPresent(clave);
+        // Caffeine vence por su reloj; se vuelve a comparar con el de quien llama
+        if (e == null || e.venceEnMs() <= ahoraMs) {
+            return null;
+        }
+        return e.token();
+    }
+
+    void guardar(String clave, JwtService.TokenVerificado token, long ahoraMs) {
+        long vence = Math.min(token.expiracion().toEpochMilli(), ahoraMs + ttlMaximoMs);
+        if (vence <= ahoraMs) {
+            return;
+        }
+        entradas.put(clave, new Entrada(token, vence));
+    }
+
+    int tamanio() {
+        return (int) entradas.estimatedSize();
+    }
+
+    // Cada entrada vive hasta su propio venceEnMs
+    private static final class VencimientoEntrada implements Expiry<String, Entrada> {
+
+        @Override
+        public long expireAfterCreate(String clave, Entrada entrada, long ahoraNanos) {
+            long restanteMs = entrada.venceEnMs() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(restanteMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String clave, Entrada entrada, long ahoraNanos, long duracionActual) {
+            return expireAfterCreate(clave, entrada, ahoraNanos);
+        }
+
+        @Override
+        public long expireAfterRead(String clave, Entrada entrada, long ahoraNanos, long duracionActual) {
+            return duracionActual;
+        }
+    }
+}
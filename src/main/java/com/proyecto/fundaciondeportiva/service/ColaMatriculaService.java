@@ -0,0 +1,279 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.dto.request.MatriculaRequestDTO;
+import com.proyecto.fundaciondeportiva.dto.response.MatriculaResponseDTO;
+import com.proyecto.fundaciondeportiva.dto.response.TicketMatriculaResponseDTO;
+import com.proyecto.fundaciondeportiva.exception.CupoAgotadoException;
+import com.proyecto.fundaciondeportiva.exception.RecursoNoEncontradoException;
+import com.proyecto.fundaciondeportiva.exception.ServicioSaturadoException;
+import com.proyecto.fundaciondeportiva.model.enums.EstadoTicketMatricula;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cola de matrículas para los picos de apertura de matrícula.
+ *
+ * Las solicitudes entran en colas acotadas (una por trabajador) y se procesan en
+ * micro-lotes agrupados por sección. Todas las solicitudes de una misma sección caen
+ * en el mismo trabajador, así que no compiten entre sí por el contador de cupos; cuando
+ * la sección se llena, el resto del lote se rechaza sin volver a consultar la BD.
+ *
+ * Si la cola está llena la solicitud se rechaza con 503 + Retry-After (back-pressure)
+ * en lugar de acumular hilos esperando conexión.
+ */
+@Service
+public class ColaMatriculaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColaMatriculaService.class);
+
+    private final ServicioMatricula servicioMatricula;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matricula.cola.trabajadores:4}")
+    private int numeroTrabajadores;
+
+    @Value("${matricula.cola.capacidad:2000}")
+    private int capacidadPorTrabajador;
+
+    @Value("${matricula.cola.tamanio-lote:50}")
+    private int tamanioLote;
+
+    @Value("${matricula.cola.ttl-ticket-ms:600000}")
+    private long ttlTicketMs;
+
+    @Value("${matricula.cola.reintentar-en-segundos:5}")
+    private long reintentarEnSegundos;
+
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final List<BlockingQueue<Solicitud>> colas = new ArrayList<>();
+    private final List<Thread> trabajadores = new ArrayList<>();
+    private volatile boolean activo;
+
+    private Timer tiempoEspera;
+    private Counter rechazadasColaLlena;
+    private Counter confirmadas;
+    private Counter rechazadas;
+
+    public ColaMatriculaService(ServicioMatricula servicioMatricula, MeterRegistry meterRegistry) {
+        this.servicioMatricula = servicioMatricula;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        tiempoEspera = Timer.builder("matriculas.cola.espera")
+                .description("Tiempo desde que la solicitud entra en la cola hasta que un trabajador la toma")
+                .register(meterRegistry);
+        rechazadasColaLlena = Counter.builder("matriculas.cola.rechazadas")
+                .description("Solicitudes rechazadas por cola llena")
+                .register(meterRegistry);
+        confirmadas = Counter.builder("matriculas.cola.procesadas")
+                .tag("resultado", "confirmada")
+                .register(meterRegistry);
+        rechazadas = Counter.builder("matriculas.cola.procesadas")
+                .tag("resultado", "rechazada")
+                .register(meterRegistry);
+        Gauge.builder("matriculas.cola.profundidad", colas, cs -> cs.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Solicitudes pendientes en la cola de matrículas")
+                .register(meterRegistry);
+
+        activo = true;
+        for (int i = 0; i < numeroTrabajadores; i++) {
+            BlockingQueue<Solicitud> cola = new ArrayBlockingQueue<>(capacidadPorTrabajador);
+            colas.add(cola);
+            Thread hilo = new Thread(() -> procesar(cola), "matricula-cola-" + i);
+            hilo.setDaemon(true);
+            hilo.start();
+            trabajadores.add(hilo);
+        }
+        logger.info("Cola de matrículas iniciada: {} trabajadores, capacidad {} c/u, lote {}",
+                numeroTrabajadores, capacidadPorTrabajador, tamanioLote);
+    }
+
+    @PreDestroy
+    void detener() {
+        activo = false;
+        trabajadores.forEach(Thread::interrupt);
+    }
+
+    // ==========================================================
+    // API
+    // ==========================================================
+
+    /**
+     * Encola la solicitud y devuelve el ticket (estado EN_COLA).
+     * Lanza ServicioSaturadoException si la cola de la sección está llena.
+     */
+    public TicketMatriculaResponseDTO encolar(Long alumnoId, MatriculaRequestDTO request) {
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), alumnoId, request.getSeccionId());
+        Solicitud solicitud = new Solicitud(ticket, request, System.nanoTime());
+
+        tickets.put(ticket.id, ticket);
+        if (!colaDe(request.getSeccionId()).offer(solicitud)) {
+            tickets.remove(ticket.id);
+            rechazadasColaLlena.increment();
+            throw new ServicioSaturadoException(
+                    "Hay demasiadas solicitudes de matrícula en proceso. Intente nuevamente en unos segundos.",
+                    reintentarEnSegundos);
+        }
+        return ticket.aDTO();
+    }
+
+    /**
+     * Consulta un ticket. Solo su dueño puede verlo.
+     */
+    public TicketMatriculaResponseDTO consultarTicket(String ticketId, Long alumnoId) {
+        Ticket ticket = tickets.get(ticketId);
+        // Un ticket vencido que la purga aún no quitó se trata igual que uno ya purgado
+        if (ticket == null || !ticket.alumnoId.equals(alumnoId) || ticket.vencido(limiteVencimiento())) {
+            throw new RecursoNoEncontradoException("Ticket de matrícula no encontrado o expirado: " + ticketId);
+        }
+        return ticket.aDTO();
+    }
+
+    // ==========================================================
+    // TRABAJADORES
+    // ==========================================================
+
+    private BlockingQueue<Solicitud> colaDe(Long seccionId) {
+        return colas.get(Math.floorMod(seccionId.hashCode(), colas.size()));
+    }
+
+    private void procesar(BlockingQueue<Solicitud> cola) {
+        List<Solicitud> lote = new ArrayList<>(tamanioLote);
+        while (activo) {
+            try {
+                Solicitud primera = cola.poll(1, TimeUnit.SECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, tamanioLote - 1);
+                procesarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error inesperado en el trabajador de la cola de matrículas", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void procesarLote(List<Solicitud> lote) {
+        // Agrupar por sección respetando el orden de llegada
+        Map<Long, List<Solicitud>> porSeccion = new LinkedHashMap<>();
+        for (Solicitud s : lote) {
+            porSeccion.computeIfAbsent(s.ticket.seccionId, k -> new ArrayList<>()).add(s);
+        }
+
+        for (List<Solicitud> solicitudes : porSeccion.values()) {
+            String cupoAgotado = null;
+            for (Solicitud s : solicitudes) {
+                tiempoEspera.record(System.nanoTime() - s.encoladaNanos, TimeUnit.NANOSECONDS);
+
+                if (cupoAgotado != null) {
+                    rechazar(s.ticket, cupoAgotado);
+                    continue;
+                }
+
+                s.ticket.estado = EstadoTicketMatricula.PROCESANDO;
+                try {
+                    MatriculaResponseDTO matricula = servicioMatricula.matricularseEnSeccion(s.ticket.alumnoId, s.request);
+                    s.ticket.matricula = matricula;
+                    s.ticket.fechaProcesado = LocalDateTime.now();
+                    s.ticket.estado = EstadoTicketMatricula.CONFIRMADA;
+                    confirmadas.increment();
+                } catch (CupoAgotadoException e) {
+                    cupoAgotado = e.getMessage();
+                    rechazar(s.ticket, cupoAgotado);
+                } catch (Exception e) {
+                    rechazar(s.ticket, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void rechazar(Ticket ticket, String mensaje) {
+        ticket.mensaje = mensaje;
+        ticket.fechaProcesado = LocalDateTime.now();
+        ticket.estado = EstadoTicketMatricula.RECHAZADA;
+        rechazadas.increment();
+    }
+
+    /**
+     * Quita los tickets procesados hace más de matricula.cola.ttl-ticket-ms. Va en una tarea
+     * aparte para que encolar no recorra todos los tickets en cada solicitud durante el pico.
+     */
+    @Scheduled(fixedDelayString = "${matricula.cola.intervalo-purga-ms:60000}")
+    public void purgarTicketsVencidos() {
+        LocalDateTime limite = limiteVencimiento();
+        tickets.values().removeIf(t -> t.vencido(limite));
+    }
+
+    private LocalDateTime limiteVencimiento() {
+        return LocalDateTime.now().minusNanos(ttlTicketMs * 1_000_000L);
+    }
+
+    // ==========================================================
+    // ESTADO INTERNO
+    // ==========================================================
+
+    private record Solicitud(Ticket ticket, MatriculaRequestDTO request, long encoladaNanos) {
+    }
+
+    private static final class Ticket {
+        private final String id;
+        private final Long alumnoId;
+        private final Long seccionId;
+        private final LocalDateTime fechaSolicitud = LocalDateTime.now();
+        private volatile EstadoTicketMatricula estado = EstadoTicketMatricula.EN_COLA;
+        private volatile LocalDateTime fechaProcesado;
+        private volatile String mensaje;
+        private volatile MatriculaResponseDTO matricula;
+
+        private Ticket(String id, Long alumnoId, Long seccionId) {
+            this.id = id;
+            this.alumnoId = alumnoId;
+            this.seccionId = seccionId;
+        }
+
+        private boolean vencido(LocalDateTime limite) {
+            LocalDateTime procesado = fechaProcesado;
+            return procesado != null && procesado.isBefore(limite);
+        }
+
+        private TicketMatriculaResponseDTO aDTO() {
+            return TicketMatriculaResponseDTO.builder()
+                    .ticketId(id)
+                    .estado(estado)
+                    .seccionId(seccionId)
+                    .fechaSolicitud(fechaSolicitud)
+                    .fechaProcesado(fechaProcesado)
+                    .mensaje(mensaje)
+                    .matricula(matricula)
+                    .build();
+        }
+    }
+}
@@ -8,6 +8,12 @@ public interface ConfiguracionMatriculaService {
 
     ConfiguracionMatriculaResponse obtenerConfiguracionMatricula();
 
+    /**
+     * Ciclo vigente para matrículas y asistencias ("2025-II" si aún no hay configuración).
+     * Cacheado: se consulta en casi cada matrícula y registro de asistencia.
+     */
+    String obtenerCicloActual();
+
     ConfiguracionMatriculaResponse actualizarFechasMatricula(LocalDate fechaInicio, LocalDate fechaFin);
 
     ConfiguracionMatriculaResponse actualizarPermisoGlobalMatricula(boolean habilitada);
@@ -1,44 +1,238 @@
 package com.proyecto.fundaciondeportiva.service;
 
+import com.proyecto.fundaciondeportiva.model.entity.CheckpointProceso;
 import com.proyecto.fundaciondeportiva.model.entity.Evento;
 import com.proyecto.fundaciondeportiva.model.entity.EventoLimpio;
+import com.proyecto.fundaciondeportiva.repository.CheckpointProcesoRepository;
 import com.proyecto.fundaciondeportiva.repository.EventoLimpioRepository;
 import com.proyecto.fundaciondeportiva.repository.EventoRepository;
-import org.springframework.transaction.annotation.Transactional;
+import com.proyecto.fundaciondeportiva.repository.EventoRollupHoraRepository;
+import com.proyecto.fundaciondeportiva.repository.EventoRollupHoraRepositoryCustom.ClaveRollup;
+import com.proyecto.fundaciondeportiva.service.normalizacion.NormalizadorTiposEvento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
+/**
+ * Limpieza incremental de eventos crudos (evento -> evento_limpio).
+ *
+ * Avanza por lotes de tamaño fijo con keyset (id > marca ORDER BY id LIMIT n). Cada lote
+ * se inserta con un batch JDBC y se confirma junto con la marca de agua (checkpoint_proceso),
+ * así que la memoria no depende del atraso y una ejecución interrumpida sigue desde el último lote.
+ * En la misma transacción se acumulan los conteos por hora en evento_rollup_hora.
+ *
+ * Los ids de evento se asignan al insertar, pero los lotes de ingesta confirman en cualquier
+ * orden: un id que falta puede aparecer más tarde. La marca no pasa un hueco hasta que lleva
+ * limpieza.eventos.espera-huecos-ms sin llenarse; después se da por revertido.
+ */
 @Service
 public class DataCleaningService {
 
+    // Clave de la marca de agua en checkpoint_proceso
+    static final String CHECKPOINT = "limpieza-eventos";
+    // Marca de la carga inicial del rollup (ultimoId = hasta qué evento se cargó desde evento_limpio)
+    static final String CHECKPOINT_ROLLUP = "rollup-eventos-carga-inicial";
+
     private final EventoRepository eventoRepo;
     private final EventoLimpioRepository limpioRepo;
+    private final CheckpointProcesoRepository checkpointRepo;
+    private final EventoRollupHoraRepository rollupRepo;
+    private final NormalizadorTiposEvento normalizadorTipos;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${limpieza.eventos.tamanio-lote:1000}")
+    private int tamanioLote;
+
+    @Value("${limpieza.eventos.espera-huecos-ms:60000}")
+    private long esperaHuecosMs;
+
+    // Primer id de cada hueco visto por encima de la marca -> cuándo se detectó (ms)
+    private final Map<Long, Long> huecos = new ConcurrentHashMap<>();
+
+    // Eventos crudos aún sin procesar (MAX(evento.id) - marca), actualizado en cada ejecución
+    private final AtomicLong lag = new AtomicLong();
+    // Evita consultar la marca de la carga inicial en cada lote una vez hecha
+    private volatile boolean rollupInicializado;
+    private final Counter eventosLimpios;
+    private final Counter eventosDescartados;
 
     public DataCleaningService(EventoRepository eventoRepo,
-                               EventoLimpioRepository limpioRepo) {
+                               EventoLimpioRepository limpioRepo,
+                               CheckpointProcesoRepository checkpointRepo,
+                               EventoRollupHoraRepository rollupRepo,
+                               NormalizadorTiposEvento normalizadorTipos,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
         this.eventoRepo = eventoRepo;
         this.limpioRepo = limpioRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.rollupRepo = rollupRepo;
+        this.normalizadorTipos = normalizadorTipos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("eventos.limpieza.lag", lag, AtomicLong::get)
+                .description("Eventos crudos pendientes de limpiar")
+                .register(meterRegistry);
+        this.eventosLimpios = Counter.builder("eventos.limpieza.procesados")
+                .tag("resultado", "limpio").register(meterRegistry);
+        this.eventosDescartados = Counter.builder("eventos.limpieza.procesados")
+                .tag("resultado", "descartado").register(meterRegistry);
     }
 
-    @Transactional
+    /**
+     * Procesa todos los eventos nuevos, lote a lote (una transacción por lote).
+     * Devuelve cuántos eventos limpios se generaron.
+     */
     public int limpiarEventosNuevos() {
-        Long lastId = Optional.ofNullable(limpioRepo.findUltimoEventoProcesado()).orElse(0L);
-        List<Evento> nuevos = eventoRepo.findNuevos(lastId);
+        return limpiar(Integer.MAX_VALUE).limpios();
+    }
+
+    /**
+     * Procesa como máximo maxLotes lotes (acota la duración de una ejecución programada);
+     * lo que quede se procesa en la siguiente.
+     */
+    public ResultadoLimpieza limpiar(int maxLotes) {
+        return limpiar(maxLotes, () -> true);
+    }
+
+    /**
+     * Como limpiar(maxLotes), pero consulta antesDeCadaLote antes de empezar cada lote y se
+     * detiene si devuelve false (p. ej. quien ejecuta ya no tiene el lease).
+     */
+    public ResultadoLimpieza limpiar(int maxLotes, BooleanSupplier antesDeCadaLote) {
+        int leidos = 0;
+        int limpios = 0;
+        int lotes = 0;
+        ResultadoLote lote = null;
+        while (lotes < maxLotes && antesDeCadaLote.getAsBoolean()) {
+            lote = transactionTemplate.execute(status -> limpiarLote());
+            leidos += lote.leidos();
+            limpios += lote.limpios();
+            lotes++;
+            if (lote.leidos() < tamanioLote) {
+                break;
+            }
+        }
+
+        if (lote == null) {
+            return new ResultadoLimpieza(0, 0, lag.get());
+        }
+        long pendientes = Math.max(0, eventoRepo.findMaxId() - lote.ultimoId());
+        lag.set(pendientes);
+        return new ResultadoLimpieza(leidos, limpios, pendientes);
+    }
 
-        int procesados = 0;
+    public record ResultadoLimpieza(int leidos, int limpios, long pendientes) {
+    }
+
+    private ResultadoLote limpiarLote() {
+        CheckpointProceso checkpoint = checkpointRepo.findById(CHECKPOINT)
+                .orElseGet(() -> CheckpointProceso.builder()
+                        .nombre(CHECKPOINT)
+                        // Primera vez: se parte de lo que ya hay en evento_limpio
+                        .ultimoId(Optional.ofNullable(limpioRepo.findUltimoEventoProcesado()).orElse(0L))
+                        .build());
+        inicializarRollup(checkpoint.getUltimoId());
 
+        List<Evento> nuevos = hastaPrimerHueco(checkpoint.getUltimoId(),
+                eventoRepo.findNuevos(checkpoint.getUltimoId(), Limit.of(tamanioLote)));
+        if (nuevos.isEmpty()) {
+            return new ResultadoLote(0, 0, checkpoint.getUltimoId());
+        }
+
+        List<EventoLimpio> limpios = new ArrayList<>(nuevos.size());
         for (Evento e : nuevos) {
             EventoLimpio limpio = limpiarUno(e);
             if (limpio != null) {
-                limpioRepo.save(limpio);
-                procesados++;
+                limpios.add(limpio);
+            }
+        }
+        limpioRepo.insertarLote(limpios);
+        rollupRepo.acumular(contarPorHora(limpios));
+
+        // Los descartados también avanzan la marca: no se releen en la próxima ejecución
+        long ultimoId = nuevos.get(nuevos.size() - 1).getId();
+        checkpoint.setUltimoId(ultimoId);
+        checkpoint.setFechaActualizacion(LocalDateTime.now());
+        checkpointRepo.save(checkpoint);
+
+        eventosLimpios.increment(limpios.size());
+        eventosDescartados.increment(nuevos.size() - limpios.size());
+        return new ResultadoLote(nuevos.size(), limpios.size(), ultimoId);
+    }
+
+    private record ResultadoLote(int leidos, int limpios, long ultimoId) {
+    }
+
+    /**
+     * Parte del lote leído que no salta ids aún esperados. Un lote recortado tiene menos de
+     * tamanioLote eventos, así que la ejecución termina ahí y el resto se relee en la siguiente.
+     * Sin esto la marca dejaría atrás un evento confirmado tarde y el archivado lo borraría sin limpiar.
+     */
+    private List<Evento> hastaPrimerHueco(long marca, List<Evento> leidos) {
+        long ahora = System.currentTimeMillis();
+        huecos.keySet().removeIf(id -> id <= marca);
+
+        long esperado = marca + 1;
+        int fin = leidos.size();
+        for (int i = 0; i < leidos.size(); i++) {
+            long id = leidos.get(i).getId();
+            if (id != esperado) {
+                // Se registran todos los huecos del lote para que su espera corra a la vez
+                long detectado = huecos.computeIfAbsent(esperado, k -> ahora);
+                if (fin == leidos.size() && ahora - detectado < esperaHuecosMs) {
+                    fin = i;
+                }
             }
+            esperado = id + 1;
+        }
+        return fin == leidos.size() ? leidos : leidos.subList(0, fin);
+    }
+
+    /**
+     * La primera vez que corre la limpieza con rollup, vuelca lo ya limpiado hasta la marca
+     * actual; a partir de ahí cada lote suma lo suyo. Va en la transacción del lote, así que
+     * la carga y su marca se confirman (o no) juntas.
+     */
+    private void inicializarRollup(long hastaEventoId) {
+        if (rollupInicializado) {
+            return;
+        }
+        if (!checkpointRepo.existsById(CHECKPOINT_ROLLUP)) {
+            rollupRepo.cargarDesdeEventosLimpios(hastaEventoId);
+            checkpointRepo.save(CheckpointProceso.builder()
+                    .nombre(CHECKPOINT_ROLLUP)
+                    .ultimoId(hastaEventoId)
+                    .fechaActualizacion(LocalDateTime.now())
+                    .build());
+        }
+        rollupInicializado = true;
+    }
+
+    private Map<ClaveRollup, Long> contarPorHora(List<EventoLimpio> limpios) {
+        Map<ClaveRollup, Long> conteos = new HashMap<>();
+        for (EventoLimpio l : limpios) {
+            ClaveRollup clave = new ClaveRollup(l.getTs().truncatedTo(ChronoUnit.HOURS),
+                    l.getTipo(), l.getUsuarioId(), l.getCalidad());
+            conteos.merge(clave, 1L, Long::sum);
         }
-        return procesados;
+        return conteos;
     }
 
     private EventoLimpio limpiarUno(Evento e) {
@@ -47,7 +241,7 @@ public class DataCleaningService {
             return null;
         }
 
-        String tipoNorm = normalizarTipo(e.getTipo());
+        String tipoNorm = normalizadorTipos.normalizar(e.getTipo());
         String detallesNorm = normalizarDetalles(e.getDetalles());
         String calidad = tipoNorm.equals(e.getTipo()) ? "OK" : "CORREGIDO";
 
@@ -62,17 +256,6 @@ public class DataCleaningService {
         return limpio;
     }
 
-    private String normalizarTipo(String tipo) {
-        if (tipo == null) return "OTRO";
-        String t = tipo.trim().toUpperCase();
-
-        if (t.contains("CURSO")) return "VER_CURSO";
-        if (t.contains("QUIZ") || t.contains("EXAM")) return "INICIAR_QUIZ";
-        if (t.contains("LOGIN")) return "LOGIN";
-
-        return "OTRO";
-    }
-
     private String normalizarDetalles(String detalles) {
         if (detalles == null || detalles.isBlank()) {
             return "{}";
@@ -80,22 +263,29 @@ public class DataCleaningService {
         return detalles;
     }
 
+    /**
+     * Resumen para el panel de calidad. Ya no incluye totalCrudos (COUNT(*) de evento): recorría
+     * toda la tabla y, con el archivado, dejó de representar los eventos recibidos. En su lugar va
+     * ultimoEventoId (MAX(id), por índice), que no es un conteo: los ids que saltan los inserts
+     * revertidos o los vaciados fallidos del buffer de ingesta no corresponden a ningún evento.
+     */
     public Map<String, Object> obtenerResumenCalidad() {
         Map<String, Object> resp = new HashMap<>();
 
-        long totalCrudos = eventoRepo.count();
-        long totalLimpios = limpioRepo.count();
+        long ultimoEventoId = eventoRepo.findMaxId();
 
+        // Del rollup: tantas filas como horas x tipos x usuarios, no como eventos
+        long totalLimpios = 0;
         Map<String, Long> detalleCalidad = new HashMap<>();
-        limpioRepo.countByCalidad().forEach(row -> {
-            String calidad = (String) row[0];
-            Long count = (Long) row[1];
-            detalleCalidad.put(calidad, count);
-        });
+        for (var fila : rollupRepo.totalPorCalidad()) {
+            detalleCalidad.put(fila.getCalidad(), fila.getTotal());
+            totalLimpios += fila.getTotal();
+        }
 
-        resp.put("totalCrudos", totalCrudos);
+        resp.put("ultimoEventoId", ultimoEventoId);
         resp.put("totalLimpios", totalLimpios);
         resp.put("detalleCalidad", detalleCalidad);
+        resp.put("pendientesPorLimpiar", lag.get());
 
         return resp;
     }
@@ -8,282 +8,536 @@ import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.model.enums.Rol;
 import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
-import org.apache.poi.ss.usermodel.*;
+import com.proyecto.fundaciondeportiva.service.etl.CargaCanceladaException;
+import com.proyecto.fundaciondeportiva.service.etl.FilaUsuarioExcel;
+import com.proyecto.fundaciondeportiva.service.etl.LectorExcelUsuarios;
+import com.proyecto.fundaciondeportiva.service.etl.ProgresoCarga;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @Service
 public class ETLUsuariosService {
 
+    // Máximo de valores por consulta IN (...)
+    private static final int TAMANIO_BLOQUE_IN = 1000;
+
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanioLote;
+
+    // BCrypt es CPU puro: un hilo por núcleo, compartido entre cargas
+    private final ExecutorService poolHash;
 
     public ETLUsuariosService(UsuarioRepository usuarioRepository,
-                              PasswordEncoder passwordEncoder) {
+                              PasswordEncoder passwordEncoder,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${etl.usuarios.tamanio-lote:500}") int tamanioLote,
+                              @Value("${etl.usuarios.hilos-hash:0}") int hilosHash) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanioLote = tamanioLote;
+
+        int hilos = hilosHash > 0 ? hilosHash : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.poolHash = Executors.newFixedThreadPool(hilos, r -> {
+            Thread hilo = new Thread(r, "etl-hash-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    public void detener() {
+        poolHash.shutdownNow();
     }
 
     public ETLResponseDTO procesarExcel(MultipartFile file) {
+        // El archivo se vuelca a disco y se lee en streaming: la memoria usada
+        // no depende del tamaño del Excel.
+        Path temporal = null;
+        try {
+            temporal = Files.createTempFile("etl-usuarios-", ".tmp");
+            file.transferTo(temporal);
+            return procesarArchivo(temporal, 0, ProgresoCarga.NINGUNO);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error leyendo Excel: " + ex.getMessage(), ex);
+        } finally {
+            borrarTemporal(temporal);
+        }
+    }
+
+    /**
+     * Carga un Excel ya guardado en disco.
+     *
+     * @param reanudarDesdeFila filas con número menor o igual ya fueron confirmadas en una ejecución
+     *                          anterior: solo se releen para reconstruir los duplicados del archivo
+     * @param progreso          se invoca dentro de la transacción de cada lote guardado y se consulta
+     *                          entre lotes para cancelar la carga
+     * @throws CargaCanceladaException si progreso pidió cancelar; los lotes ya confirmados se conservan
+     */
+    public ETLResponseDTO procesarArchivo(Path archivo, int reanudarDesdeFila, ProgresoCarga progreso) {
 
         ETLResponseDTO resultado = new ETLResponseDTO();
+        ContextoCarga ctx = new ContextoCarga(resultado, reanudarDesdeFila, progreso);
+        long inicio = System.nanoTime();
 
-        // Para detectar duplicados dentro del mismo Excel
-        Set<String> emailsExcel = new HashSet<>();
-        Set<String> dnisExcel = new HashSet<>();
+        try {
+            LectorExcelUsuarios.leer(archivo, (numeroFila, fila) -> procesarFila(ctx, numeroFila, fila));
+            despacharLote(ctx);
+            guardarLote(ctx, ctx.enHash);
+            ctx.enHash = null;
+
+        } catch (CargaCanceladaException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            CargaCanceladaException cancelada = buscarCancelacion(ex);
+            if (cancelada != null) {
+                throw cancelada;
+            }
+            throw new RuntimeException("Error leyendo Excel: " + ex.getMessage(), ex);
+        } finally {
+            if (ctx.enHash != null) {
+                ctx.enHash.cancelarHashes();
+            }
+        }
+
+        // Los errores de BD se detectan por lote: se reordenan por número de fila
+        resultado.getErrores().sort(Comparator.comparingInt(ErrorFilaDTO::getFila));
+
+        if (ctx.duplicadosEnExcel > 0) {
+            agregarError(
+                    resultado.getErrores(),
+                    0,
+                    "⚠ Se detectaron " + ctx.duplicadosEnExcel +
+                            " registro(s) duplicado(s) dentro del archivo Excel (DNI o email)."
+            );
+        }
+
+        resultado.setFallidos(resultado.getProcesados() - resultado.getExitosos());
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        resultado.setDuracionMs(duracionMs);
+        resultado.setFilasPorSegundo(duracionMs > 0
+                ? resultado.getProcesados() * 1000.0 / duracionMs
+                : resultado.getProcesados());
+
+        long nsTotal = System.nanoTime() - inicio;
+        Map<String, Long> etapas = new LinkedHashMap<>();
+        etapas.put("lectura", (nsTotal - ctx.nsValidacionBd - ctx.nsEsperaHash - ctx.nsGuardado) / 1_000_000);
+        etapas.put("validacionBd", ctx.nsValidacionBd / 1_000_000);
+        etapas.put("esperaHash", ctx.nsEsperaHash / 1_000_000);
+        etapas.put("guardado", ctx.nsGuardado / 1_000_000);
+        resultado.setEtapasMs(etapas);
+        return resultado;
+    }
+
+    // =======================
+    //   PROCESO POR FILA
+    // =======================
 
-        int duplicadosEnExcel = 0;
+    private void procesarFila(ContextoCarga ctx, int numeroFila, FilaUsuarioExcel fila) {
+        // Fila ya confirmada en una ejecución anterior: se valida en un lote descartable
+        // solo para volver a registrar su email/DNI en los duplicados del archivo
+        boolean yaConfirmada = numeroFila <= ctx.reanudarDesdeFila;
+        LoteCarga lote = yaConfirmada ? new LoteCarga() : ctx.abierto;
 
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
+        validarFila(ctx, lote, numeroFila, fila);
+
+        if (yaConfirmada) return;
+        lote.ultimaFila = numeroFila;
+        if (lote.procesadas >= tamanioLote) {
+            despacharLote(ctx);
+        }
+    }
 
-            Sheet sheet = workbook.getSheetAt(0);
+    private void validarFila(ContextoCarga ctx, LoteCarga lote, int numeroFila, FilaUsuarioExcel fila) {
+        lote.procesadas++;
+        List<ErrorFilaDTO> errores = lote.errores;
+
+        try {
+            // 2) Columnas (según el orden definido)
+            String nombre = fila.nombre();
+            String email = fila.email();
+            String rolStr = fila.rol();
+            String dni = fila.dni();
+            String telEmergencia = fila.telEmergencia();
+            String nivelStr = fila.nivel();
+            String grado = fila.grado();
+            String telProfesor = fila.telProfesor();
+            String experiencia = fila.experiencia();
+            String passwordPlano = fila.passwordPlano();
+
+            // 3) Validaciones básicas
+            if (isBlank(nombre) || isBlank(email) || isBlank(rolStr)) {
+                agregarError(errores, numeroFila,
+                        "Nombre, email y rol son obligatorios.");
+                return;
+            }
+
+            Rol rolEnum;
+            try {
+                rolEnum = Rol.valueOf(rolStr);
+            } catch (IllegalArgumentException ex) {
+                agregarError(errores, numeroFila,
+                        "Rol inválido: " + rolStr +
+                                ". Usa ADMINISTRADOR, ALUMNO o PROFESOR.");
+                return;
+            }
+
+            // Password obligatorio en el Excel
+            if (isBlank(passwordPlano)) {
+                agregarError(errores, numeroFila,
+                        "La contraseña es obligatoria en la columna 10.");
+                return;
+            }
+            if (passwordPlano.length() < 6) {
+                agregarError(errores, numeroFila,
+                        "La contraseña debe tener al menos 6 caracteres.");
+                return;
+            }
 
-            int filaActual = 0;
+            // 4) Validar duplicados dentro del Excel
+            if (!ctx.emailsExcel.add(email)) {
+                agregarError(errores, numeroFila,
+                        "Email repetido dentro del Excel: " + email);
+                lote.duplicados++;
+                return;
+            }
 
-            for (Row row : sheet) {
-                filaActual++;
+            if (rolEnum != Rol.ADMINISTRADOR && !isBlank(dni)) {
+                if (!ctx.dnisExcel.add(dni)) {
+                    agregarError(errores, numeroFila,
+                            "DNI repetido dentro del Excel: " + dni);
+                    lote.duplicados++;
+                    return;
+                }
+            }
 
-                // Saltar encabezado
-                if (filaActual == 1) continue;
+            // 5) DNI obligatorio para alumnos y profesores
+            //    (email/DNI existentes en BD se validan por lote en despacharLote)
+            if (rolEnum != Rol.ADMINISTRADOR && isBlank(dni)) {
+                agregarError(errores, numeroFila,
+                        "DNI es obligatorio para ALUMNO y PROFESOR.");
+                return;
+            }
 
-                // 1) Fila completamente vacía -> la saltamos sin contarla
-                if (esFilaVacia(row)) {
-                    continue;
+            // 6) Crear usuario base
+            Usuario u = new Usuario();
+            u.setNombre(nombre.trim());
+            u.setEmail(email.trim());
+            u.setRol(rolEnum);
+            u.setHabilitadoMatricula(true);
+
+            // 7) Según rol, crear perfil
+            if (rolEnum == Rol.ALUMNO) {
+
+                // Validaciones específicas
+                if (isBlank(nivelStr) || isBlank(grado) || isBlank(telEmergencia)) {
+                    agregarError(errores, numeroFila,
+                            "Para ALUMNO: nivel, grado y teléfono de emergencia son obligatorios.");
+                    return;
                 }
 
+                NivelAcademico nivelEnum;
                 try {
-                    resultado.setProcesados(resultado.getProcesados() + 1);
-
-                    // 2) Leemos columnas (según el orden definido)
-                    String nombre = getStringCell(row, 0);
-                    String email = safeLower(getStringCell(row, 1));
-                    String rolStr = safeUpper(getStringCell(row, 2));
-                    String dni = getStringCell(row, 3);
-                    String telEmergencia = getStringCell(row, 4);
-                    String nivelStr = safeUpper(getStringCell(row, 5));
-                    String grado = getStringCell(row, 6);
-                    String telProfesor = getStringCell(row, 7);
-                    String experiencia = getStringCell(row, 8);
-                    String passwordPlano = getStringCell(row, 9);
-
-                    // 3) Validaciones básicas
-                    if (isBlank(nombre) || isBlank(email) || isBlank(rolStr)) {
-                        agregarError(resultado, filaActual,
-                                "Nombre, email y rol son obligatorios.");
-                        continue;
-                    }
-
-                    Rol rolEnum;
-                    try {
-                        rolEnum = Rol.valueOf(rolStr);
-                    } catch (IllegalArgumentException ex) {
-                        agregarError(resultado, filaActual,
-                                "Rol inválido: " + rolStr +
-                                        ". Usa ADMINISTRADOR, ALUMNO o PROFESOR.");
-                        continue;
-                    }
-
-                    // Password obligatorio en el Excel
-                    if (isBlank(passwordPlano)) {
-                        agregarError(resultado, filaActual,
-                                "La contraseña es obligatoria en la columna 10.");
-                        continue;
-                    }
-                    if (passwordPlano.length() < 6) {
-                        agregarError(resultado, filaActual,
-                                "La contraseña debe tener al menos 6 caracteres.");
-                        continue;
-                    }
-
-                    // 4) Validar duplicados dentro del Excel
-                    if (!emailsExcel.add(email)) {
-                        agregarError(resultado, filaActual,
-                                "Email repetido dentro del Excel: " + email);
-                        duplicadosEnExcel++;
-                        continue;
-                    }
-
-                    if (rolEnum != Rol.ADMINISTRADOR && !isBlank(dni)) {
-                        if (!dnisExcel.add(dni)) {
-                            agregarError(resultado, filaActual,
-                                    "DNI repetido dentro del Excel: " + dni);
-                            duplicadosEnExcel++;
-                            continue;
-                        }
-                    }
-
-                    // 5) Validar contra BD: email existente
-                    if (usuarioRepository.existsByEmail(email)) {
-                        agregarError(resultado, filaActual,
-                                "Email ya existente en el sistema: " + email);
-                        continue;
-                    }
-
-                    // 6) Validar DNI contra BD (para alumnos y profesores)
-                    if (rolEnum != Rol.ADMINISTRADOR) {
-                        if (isBlank(dni)) {
-                            agregarError(resultado, filaActual,
-                                    "DNI es obligatorio para ALUMNO y PROFESOR.");
-                            continue;
-                        }
-
-                        if (usuarioRepository.existsByPerfilAlumno_Dni(dni)
-                                || usuarioRepository.existsByPerfilProfesor_Dni(dni)) {
-                            agregarError(resultado, filaActual,
-                                    "DNI ya existente en el sistema: " + dni);
-                            continue;
-                        }
-                    }
-
-                    // 7) Crear usuario base
-                    Usuario u = new Usuario();
-                    u.setNombre(nombre.trim());
-                    u.setEmail(email.trim());
-                    u.setRol(rolEnum);
-                    u.setPassword(passwordEncoder.encode(passwordPlano)); // siempre encriptada
-                    u.setHabilitadoMatricula(true);
-
-                    // 8) Según rol, crear perfil
-                    if (rolEnum == Rol.ALUMNO) {
-
-                        // Validaciones específicas
-                        if (isBlank(nivelStr) || isBlank(grado) || isBlank(telEmergencia)) {
-                            agregarError(resultado, filaActual,
-                                    "Para ALUMNO: nivel, grado y teléfono de emergencia son obligatorios.");
-                            continue;
-                        }
-
-                        NivelAcademico nivelEnum;
-                        try {
-                            nivelEnum = NivelAcademico.valueOf(nivelStr);
-                        } catch (IllegalArgumentException ex) {
-                            agregarError(resultado, filaActual,
-                                    "Nivel inválido. Usa INICIAL, PRIMARIA o SECUNDARIA.");
-                            continue;
-                        }
-
-                        PerfilAlumno pa = new PerfilAlumno();
-                        pa.setDni(dni.trim());
-                        pa.setNivel(nivelEnum);
-                        pa.setGrado(grado.trim());
-                        pa.setTelefonoEmergencia(telEmergencia.trim());
-
-                        pa.setUsuario(u);
-                        u.setPerfilAlumno(pa);
-
-                    } else if (rolEnum == Rol.PROFESOR) {
-
-                        if (isBlank(dni)) {
-                            agregarError(resultado, filaActual,
-                                    "DNI es obligatorio para PROFESOR.");
-                            continue;
-                        }
-
-                        PerfilProfesor pp = new PerfilProfesor();
-                        pp.setDni(dni.trim());
-
-                        if (!isBlank(telProfesor)) {
-                            pp.setTelefono(telProfesor.trim());
-                        }
-                        if (!isBlank(experiencia)) {
-                            pp.setExperiencia(experiencia.trim());
-                        }
-
-                        pp.setUsuario(u);
-                        u.setPerfilProfesor(pp);
-                    }
-                    // ADMINISTRADOR -> no requiere perfil extra
-
-                    // 9) Guardar en BD
-                    usuarioRepository.save(u);
-                    resultado.setExitosos(resultado.getExitosos() + 1);
-
-                } catch (Exception ex) {
-                    agregarError(resultado, filaActual,
-                            "Error inesperado en la fila: " + ex.getMessage());
+                    nivelEnum = NivelAcademico.valueOf(nivelStr);
+                } catch (IllegalArgumentException ex) {
+                    agregarError(errores, numeroFila,
+                            "Nivel inválido. Usa INICIAL, PRIMARIA o SECUNDARIA.");
+                    return;
+                }
+
+                PerfilAlumno pa = new PerfilAlumno();
+                pa.setDni(dni.trim());
+                pa.setNivel(nivelEnum);
+                pa.setGrado(grado.trim());
+                pa.setTelefonoEmergencia(telEmergencia.trim());
+
+                pa.setUsuario(u);
+                u.setPerfilAlumno(pa);
+
+            } else if (rolEnum == Rol.PROFESOR) {
+
+                if (isBlank(dni)) {
+                    agregarError(errores, numeroFila,
+                            "DNI es obligatorio para PROFESOR.");
+                    return;
+                }
+
+                PerfilProfesor pp = new PerfilProfesor();
+                pp.setDni(dni.trim());
+
+                if (!isBlank(telProfesor)) {
+                    pp.setTelefono(telProfesor.trim());
+                }
+                if (!isBlank(experiencia)) {
+                    pp.setExperiencia(experiencia.trim());
                 }
+
+                pp.setUsuario(u);
+                u.setPerfilProfesor(pp);
             }
+            // ADMINISTRADOR -> no requiere perfil extra
 
-        } catch (Exception ex) {
-            throw new RuntimeException("Error leyendo Excel: " + ex.getMessage(), ex);
-        }
+            // 8) Al lote abierto; se guarda cuando se llena
+            lote.filas.add(new FilaPendiente(numeroFila, u, passwordPlano));
 
-        if (duplicadosEnExcel > 0) {
-            agregarError(
-                    resultado,
-                    0,
-                    "⚠ Se detectaron " + duplicadosEnExcel +
-                            " registro(s) duplicado(s) dentro del archivo Excel (DNI o email)."
-            );
+        } catch (Exception ex) {
+            agregarError(errores, numeroFila,
+                    "Error inesperado en la fila: " + ex.getMessage());
         }
-
-        resultado.setFallidos(resultado.getProcesados() - resultado.getExitosos());
-        return resultado;
     }
 
     // =======================
-    //   HELPERS "LIMPIEZA"
+    //   GUARDADO POR LOTES
     // =======================
 
-    private boolean esFilaVacia(Row row) {
-        if (row == null) return true;
-        // Revisamos columnas 0..9 (10 columnas)
-        for (int i = 0; i <= 9; i++) {
-            String v = getStringCell(row, i);
-            if (!isBlank(v)) return false;
+    /**
+     * Cierra el lote abierto (pipeline: lectura -> validación -> hash -> guardado):
+     *  1) valida contra la BD emails y DNIs existentes, con consultas IN por bloques;
+     *  2) envía el hash BCrypt de las filas válidas al pool de hash;
+     *  3) mientras ese hash corre, guarda el lote anterior (cuyos hashes ya estarán listos).
+     * Así hay como máximo dos lotes en vuelo y el hilo lector nunca espera al BCrypt de su propio lote.
+     */
+    private void despacharLote(ContextoCarga ctx) {
+        LoteCarga lote = ctx.abierto;
+        if (lote.procesadas == 0) return;
+        ctx.abierto = new LoteCarga();
+
+        long t0 = System.nanoTime();
+        Set<String> emails = new HashSet<>();
+        Set<String> dnis = new HashSet<>();
+        for (FilaPendiente f : lote.filas) {
+            emails.add(f.usuario().getEmail());
+            String dni = dniDe(f.usuario());
+            if (dni != null) dnis.add(dni);
         }
-        return true;
-    }
 
-    private String getStringCell(Row row, int index) {
-        if (row == null) return null;
-        Cell cell = row.getCell(index);
-        if (cell == null) return null;
+        Set<String> emailsExistentes = consultarPorBloques(emails, usuarioRepository::findEmailsExistentes);
+        Set<String> dnisExistentes = consultarPorBloques(dnis, usuarioRepository::findDnisAlumnoExistentes);
+        dnisExistentes.addAll(consultarPorBloques(dnis, usuarioRepository::findDnisProfesorExistentes));
+
+        List<FilaPendiente> validas = new ArrayList<>(lote.filas.size());
+        for (FilaPendiente f : lote.filas) {
+            Usuario u = f.usuario();
+            String dni = dniDe(u);
+            if (emailsExistentes.contains(u.getEmail().toLowerCase())) {
+                agregarError(lote.errores, f.numeroFila(),
+                        "Email ya existente en el sistema: " + u.getEmail());
+            } else if (dni != null && dnisExistentes.contains(dni.toLowerCase())) {
+                agregarError(lote.errores, f.numeroFila(),
+                        "DNI ya existente en el sistema: " + dni);
+            } else {
+                validas.add(f);
+                lote.hashes.add(poolHash.submit(() -> passwordEncoder.encode(f.passwordPlano()))); // siempre encriptada
+            }
+        }
+        lote.filas = validas;
+        ctx.nsValidacionBd += System.nanoTime() - t0;
+
+        // El lote nuevo queda en el contexto antes de guardar el anterior: si ese guardado falla
+        // o se cancela la carga, procesarArchivo cancela sus hashes en vez de dejarlos en el pool
+        LoteCarga anterior = ctx.enHash;
+        ctx.enHash = lote;
+        guardarLote(ctx, anterior);
+    }
 
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue().trim();
-            case NUMERIC -> {
-                BigDecimal bd = BigDecimal.valueOf(cell.getNumericCellValue());
-                yield bd.toPlainString();
+    /**
+     * Espera los hashes del lote (en el mismo orden de las filas) y lo guarda con un batch JDBC
+     * en una sola transacción, junto con el avance (ProgresoCarga). Si el batch falla (p. ej. un
+     * email insertado por otro proceso entre la consulta y el insert) se reintenta fila a fila
+     * para reportar el error exacto de cada una; en ese caso el avance va en una transacción aparte.
+     */
+    private void guardarLote(ContextoCarga ctx, LoteCarga lote) {
+        if (lote == null) return;
+
+        long t0 = System.nanoTime();
+        List<FilaPendiente> listas = new ArrayList<>(lote.filas.size());
+        for (int i = 0; i < lote.filas.size(); i++) {
+            FilaPendiente f = lote.filas.get(i);
+            try {
+                f.usuario().setPassword(lote.hashes.get(i).get());
+                listas.add(f);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                lote.cancelarHashes();
+                throw new IllegalStateException("Carga interrumpida", ex);
+            } catch (ExecutionException ex) {
+                agregarError(lote.errores, f.numeroFila(),
+                        "Error inesperado en la fila: " + ex.getCause().getMessage());
             }
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            case FORMULA -> {
+        }
+        long t1 = System.nanoTime();
+        ctx.nsEsperaHash += t1 - t0;
+
+        List<Usuario> usuarios = listas.stream().map(FilaPendiente::usuario).toList();
+        int exitosas;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                usuarioRepository.insertarLote(usuarios);
+                ctx.progreso.loteConfirmado(lote.resumen(usuarios.size()));
+            });
+            exitosas = usuarios.size();
+        } catch (DataAccessException ex) {
+            exitosas = 0;
+            for (FilaPendiente f : listas) {
                 try {
-                    yield cell.getStringCellValue().trim();
-                } catch (Exception e) {
-                    BigDecimal bd = BigDecimal.valueOf(cell.getNumericCellValue());
-                    yield bd.toPlainString();
+                    transactionTemplate.executeWithoutResult(
+                            status -> usuarioRepository.insertarLote(List.of(f.usuario())));
+                    exitosas++;
+                } catch (DataAccessException exFila) {
+                    agregarError(lote.errores, f.numeroFila(),
+                            "No se pudo guardar la fila: " + exFila.getMostSpecificCause().getMessage());
                 }
             }
-            default -> null;
-        };
+            int confirmadas = exitosas;
+            transactionTemplate.executeWithoutResult(
+                    status -> ctx.progreso.loteConfirmado(lote.resumen(confirmadas)));
+        }
+        ctx.nsGuardado += System.nanoTime() - t1;
+
+        ETLResponseDTO resultado = ctx.resultado;
+        resultado.setProcesados(resultado.getProcesados() + lote.procesadas);
+        resultado.setExitosos(resultado.getExitosos() + exitosas);
+        resultado.getErrores().addAll(lote.errores);
+        ctx.duplicadosEnExcel += lote.duplicados;
+
+        if (ctx.progreso.cancelado()) {
+            throw new CargaCanceladaException(lote.ultimaFila);
+        }
     }
 
-    private String safeLower(String s) {
-        return s == null ? null : s.toLowerCase().trim();
+    private Set<String> consultarPorBloques(Set<String> valores,
+                                            Function<Collection<String>, List<String>> consulta) {
+        Set<String> existentes = new HashSet<>();
+        List<String> lista = new ArrayList<>(valores);
+        for (int i = 0; i < lista.size(); i += TAMANIO_BLOQUE_IN) {
+            List<String> bloque = lista.subList(i, Math.min(i + TAMANIO_BLOQUE_IN, lista.size()));
+            for (String v : consulta.apply(bloque)) {
+                existentes.add(v.toLowerCase());
+            }
+        }
+        return existentes;
     }
 
-    private String safeUpper(String s) {
-        return s == null ? null : s.toUpperCase().trim();
+    private static String dniDe(Usuario u) {
+        if (u.getPerfilAlumno() != null) return u.getPerfilAlumno().getDni();
+        if (u.getPerfilProfesor() != null) return u.getPerfilProfesor().getDni();
+        return null;
     }
 
-    private boolean isBlank(String s) {
-        return s == null || s.trim().isEmpty();
+    private record FilaPendiente(int numeroFila, Usuario usuario, String passwordPlano) {
+    }
+
+    /**
+     * Filas consecutivas del archivo que se confirman juntas: las válidas (con su hash en curso,
+     * mismo orden) y los errores de todas ellas.
+     */
+    private static final class LoteCarga {
+        private List<FilaPendiente> filas = new ArrayList<>();
+        private final List<Future<String>> hashes = new ArrayList<>();
+        private final List<ErrorFilaDTO> errores = new ArrayList<>();
+        private int procesadas;
+        private int duplicados;
+        private int ultimaFila;
+
+        private ProgresoCarga.LoteConfirmado resumen(int exitosas) {
+            return new ProgresoCarga.LoteConfirmado(ultimaFila, procesadas, exitosas, duplicados, errores);
+        }
+
+        private void cancelarHashes() {
+            hashes.forEach(h -> h.cancel(true));
+        }
+    }
+
+    /**
+     * Estado que se arrastra entre filas durante una carga.
+     */
+    private static final class ContextoCarga {
+        private final ETLResponseDTO resultado;
+        private final int reanudarDesdeFila;
+        private final ProgresoCarga progreso;
+
+        // Para detectar duplicados dentro del mismo Excel
+        private final Set<String> emailsExcel = new HashSet<>();
+        private final Set<String> dnisExcel = new HashSet<>();
+        private int duplicadosEnExcel = 0;
+
+        // Lote que se está leyendo
+        private LoteCarga abierto = new LoteCarga();
+
+        // Lote cuyo hash corre en el pool mientras se lee el siguiente
+        private LoteCarga enHash;
+
+        // Tiempo acumulado por etapa (la lectura es el resto)
+        private long nsValidacionBd;
+        private long nsEsperaHash;
+        private long nsGuardado;
+
+        private ContextoCarga(ETLResponseDTO resultado, int reanudarDesdeFila, ProgresoCarga progreso) {
+            this.resultado = resultado;
+            this.reanudarDesdeFila = reanudarDesdeFila;
+            this.progreso = progreso;
+        }
     }
 
-    private void agregarError(ETLResponseDTO res, int fila, String msg) {
-        if (res.getErrores() == null) {
-            res.setErrores(new java.util.ArrayList<>());
+    // =======================
+    //   HELPERS "LIMPIEZA"
+    // =======================
+
+    private void borrarTemporal(Path temporal) {
+        if (temporal == null) return;
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException ignored) {
+            temporal.toFile().deleteOnExit();
         }
+    }
+
+    private boolean isBlank(String s) {
+        return FilaUsuarioExcel.isBlank(s);
+    }
+
+    private void agregarError(List<ErrorFilaDTO> errores, int fila, String msg) {
         ErrorFilaDTO error = new ErrorFilaDTO();
         error.setFila(fila);
         error.setMensaje(msg);
-        res.getErrores().add(error);
+        errores.add(error);
+    }
+
+    // El parser SAX puede envolver la excepción lanzada desde el consumidor de filas
+    private static CargaCanceladaException buscarCancelacion(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof CargaCanceladaException cancelada) {
+                return cancelada;
+            }
+        }
+        return null;
     }
 }
@@ -1,5 +1,6 @@
 package com.proyecto.fundaciondeportiva.service;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.response.EntregaTareaDTO;
 import java.util.List;
 
@@ -8,7 +9,7 @@ public interface EntregaTareaService {
                                      String titulo,
                                      String descripcion,
                                      String archivoUrl,
-                                     String emailAlumno);
+                                     UsuarioAutenticado alumno);
     List<EntregaTareaDTO> listarEntregasPorRecurso(Long recursoId,
-                                                   String emailProfesor);
+                                                   UsuarioAutenticado usuario);
 }
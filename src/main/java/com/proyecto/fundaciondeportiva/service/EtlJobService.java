@@ -0,0 +1,398 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.dto.response.ErrorFilaDTO;
+import com.proyecto.fundaciondeportiva.dto.response.EtlJobResponseDTO;
+import com.proyecto.fundaciondeportiva.exception.RecursoNoEncontradoException;
+import com.proyecto.fundaciondeportiva.exception.ValidacionException;
+import com.proyecto.fundaciondeportiva.model.entity.EtlJob;
+import com.proyecto.fundaciondeportiva.model.entity.EtlJobError;
+import com.proyecto.fundaciondeportiva.model.enums.EstadoEtlJob;
+import com.proyecto.fundaciondeportiva.repository.EtlJobErrorRepository;
+import com.proyecto.fundaciondeportiva.repository.EtlJobRepository;
+import com.proyecto.fundaciondeportiva.service.etl.CargaCanceladaException;
+import com.proyecto.fundaciondeportiva.service.etl.ProgresoCarga;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runner de cargas masivas de usuarios en segundo plano.
+ *
+ * El Excel se guarda en disco y el job se ejecuta en un pool propio; la petición HTTP
+ * responde de inmediato con el id. Cada lote de usuarios se confirma junto con el avance
+ * del job (contadores, errores y última fila), así que si la aplicación se reinicia a
+ * mitad de carga el job se reanuda desde el último lote confirmado.
+ *
+ * Con varias instancias, cada job tiene su lease en bloqueo_proceso (etl-job-{id}): lo toma el
+ * nodo que lo encola y lo renueva cada etl.jobs.intervalo-latido-ms mientras esté en cola o en
+ * ejecución. Los demás nodos solo reanudan un job cuyo lease venció (su nodo murió). La
+ * cancelación se lee de la BD entre lotes, así que puede pedirse desde cualquier nodo.
+ */
+@Service
+public class EtlJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EtlJobService.class);
+
+    private static final Set<EstadoEtlJob> TERMINADOS =
+            EnumSet.of(EstadoEtlJob.COMPLETADO, EstadoEtlJob.CANCELADO, EstadoEtlJob.FALLIDO);
+
+    private final EtlJobRepository etlJobRepository;
+    private final EtlJobErrorRepository etlJobErrorRepository;
+    private final ETLUsuariosService etlUsuariosService;
+    private final BloqueoProcesoService bloqueoService;
+
+    // Debe sobrevivir a reinicios para poder reanudar (en Azure: bajo /home)
+    @Value("${etl.jobs.directorio:${file.upload-dir}/etl-jobs}")
+    private String directorio;
+
+    @Value("${etl.jobs.concurrencia:1}")
+    private int concurrencia;
+
+    @Value("${etl.jobs.max-errores-respuesta:200}")
+    private int maxErroresRespuesta;
+
+    // Debe cubrir holgadamente etl.jobs.intervalo-latido-ms
+    @Value("${etl.jobs.lease-segundos:300}")
+    private long leaseSegundos;
+
+    // Jobs en cola o en ejecución en este nodo, con el token de su lease
+    private final Map<Long, EjecucionLocal> locales = new ConcurrentHashMap<>();
+    private ExecutorService ejecutor;
+    private volatile boolean apagando;
+
+    public EtlJobService(EtlJobRepository etlJobRepository,
+                         EtlJobErrorRepository etlJobErrorRepository,
+                         ETLUsuariosService etlUsuariosService,
+                         BloqueoProcesoService bloqueoService) {
+        this.etlJobRepository = etlJobRepository;
+        this.etlJobErrorRepository = etlJobErrorRepository;
+        this.etlUsuariosService = etlUsuariosService;
+        this.bloqueoService = bloqueoService;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        ejecutor = Executors.newFixedThreadPool(Math.max(1, concurrencia), r -> {
+            Thread hilo = new Thread(r, "etl-job-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    public void detener() {
+        // Los jobs interrumpidos quedan EN_PROCESO; al vencer su lease los reanuda otro nodo
+        // (o este mismo en el próximo arranque)
+        apagando = true;
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Reanuda los jobs que quedaron a medias (o sin empezar) y cuyo lease venció: los que
+     * siguen en cola o en ejecución en otro nodo se dejan en paz.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarPendientes() {
+        List<EtlJob> pendientes = etlJobRepository.findByEstadoInOrderByIdAsc(
+                EnumSet.of(EstadoEtlJob.PENDIENTE, EstadoEtlJob.EN_PROCESO));
+
+        for (EtlJob job : pendientes) {
+            if (!locales.containsKey(job.getId()) && programar(job.getId())) {
+                logger.info("Reanudando job ETL {} desde la fila {}", job.getId(), job.getUltimaFilaConfirmada() + 1);
+            }
+        }
+    }
+
+    /**
+     * Renueva el lease de los jobs de este nodo y toma los de nodos caídos.
+     */
+    @Scheduled(initialDelayString = "${etl.jobs.intervalo-latido-ms:60000}",
+               fixedDelayString = "${etl.jobs.intervalo-latido-ms:60000}")
+    public void latido() {
+        if (apagando) return;
+        try {
+            locales.forEach((id, ejecucion) -> {
+                if (!bloqueoService.renovar(bloqueo(id), ejecucion.token, Duration.ofSeconds(leaseSegundos))) {
+                    logger.warn("Se perdió el lease del job ETL {}; se detiene tras el lote actual", id);
+                    ejecucion.leasePerdido = true;
+                }
+            });
+            reanudarPendientes();
+        } catch (Exception e) {
+            logger.error("Falló el latido de los jobs ETL", e);
+        }
+    }
+
+    // ==========================================================
+    // API
+    // ==========================================================
+
+    public EtlJobResponseDTO crear(MultipartFile file, String solicitadoPor) {
+        Path destino;
+        try {
+            Path carpeta = Paths.get(directorio);
+            Files.createDirectories(carpeta);
+            destino = carpeta.resolve(UUID.randomUUID() + ".xlsx");
+            file.transferTo(destino);
+        } catch (IOException ex) {
+            throw new RuntimeException("No se pudo guardar el archivo del job: " + ex.getMessage(), ex);
+        }
+
+        EtlJob job = etlJobRepository.save(EtlJob.builder()
+                .estado(EstadoEtlJob.PENDIENTE)
+                .nombreArchivo(file.getOriginalFilename())
+                .rutaArchivo(destino.toString())
+                .solicitadoPor(solicitadoPor)
+                .build());
+
+        logger.info("Job ETL {} creado por {} ({} bytes)", job.getId(), solicitadoPor, file.getSize());
+        programar(job.getId());
+        return aDTO(job);
+    }
+
+    @Transactional(readOnly = true)
+    public EtlJobResponseDTO consultar(Long id) {
+        return aDTO(buscar(id));
+    }
+
+    /**
+     * Pide detener el job. Un job en proceso se detiene al terminar el lote actual;
+     * uno pendiente se marca cancelado al tomarlo el runner.
+     */
+    @Transactional
+    public EtlJobResponseDTO cancelar(Long id) {
+        EtlJob job = buscar(id);
+        if (TERMINADOS.contains(job.getEstado())) {
+            throw new ValidacionException("El job " + id + " ya terminó (" + job.getEstado() + ")");
+        }
+
+        etlJobRepository.solicitarCancelacion(id);
+        // Si corre en este nodo se entera sin esperar la consulta del siguiente lote
+        EjecucionLocal ejecucion = locales.get(id);
+        if (ejecucion != null) {
+            ejecucion.cancelado = true;
+        }
+
+        // Se relee: la entidad cargada arriba quedó separada y no debe escribirse
+        return aDTO(buscar(id));
+    }
+
+    // ==========================================================
+    // EJECUCIÓN
+    // ==========================================================
+
+    /**
+     * Toma el lease del job y lo encola en este nodo. false si otro nodo lo tiene.
+     */
+    private boolean programar(Long id) {
+        Optional<String> token = bloqueoService.adquirir(bloqueo(id), Duration.ofSeconds(leaseSegundos));
+        if (token.isEmpty()) {
+            return false;
+        }
+        EjecucionLocal ejecucion = new EjecucionLocal(token.get());
+        locales.put(id, ejecucion);
+        ejecutor.submit(() -> ejecutar(id, ejecucion));
+        return true;
+    }
+
+    private void ejecutar(Long id, EjecucionLocal ejecucion) {
+        try {
+            if (ejecucion.leasePerdido) {
+                // Otro nodo lo tomó mientras esperaba en la cola
+                return;
+            }
+            EtlJob job = etlJobRepository.findById(id).orElse(null);
+            if (job == null || TERMINADOS.contains(job.getEstado())) {
+                return;
+            }
+            if (!Files.exists(Paths.get(job.getRutaArchivo()))) {
+                terminar(id, EstadoEtlJob.FALLIDO, "El archivo del job ya no está disponible");
+                return;
+            }
+            // UPDATE de esas columnas: guardar la entidad completa pisaría una cancelación reciente
+            if (etlJobRepository.marcarIniciado(id, EstadoEtlJob.EN_PROCESO, LocalDateTime.now()) == 0) {
+                terminar(id, EstadoEtlJob.CANCELADO, null);
+                return;
+            }
+
+            etlUsuariosService.procesarArchivo(Paths.get(job.getRutaArchivo()),
+                    job.getUltimaFilaConfirmada(), new ProgresoJob(id, ejecucion));
+
+            terminar(id, EstadoEtlJob.COMPLETADO, null);
+
+        } catch (CargaCanceladaException ex) {
+            if (ejecucion.leasePerdido) {
+                logger.warn("Job ETL {} detenido tras la fila {}: lo retoma otro nodo", id, ex.getUltimaFilaConfirmada());
+                return;
+            }
+            logger.info("Job ETL {} cancelado tras la fila {}", id, ex.getUltimaFilaConfirmada());
+            terminar(id, EstadoEtlJob.CANCELADO, null);
+
+        } catch (Exception ex) {
+            if (apagando) {
+                logger.warn("Job ETL {} interrumpido por apagado; se reanudará al vencer su lease", id);
+                return;
+            }
+            logger.error("Job ETL {} falló", id, ex);
+            terminar(id, EstadoEtlJob.FALLIDO, ex.getMessage());
+
+        } finally {
+            locales.remove(id);
+            if (!apagando && !ejecucion.leasePerdido) {
+                bloqueoService.liberar(bloqueo(id), ejecucion.token);
+            }
+        }
+    }
+
+    private void terminar(Long id, EstadoEtlJob estado, String mensajeError) {
+        // UPDATE de esas columnas: los contadores los mantiene registrarLote
+        etlJobRepository.marcarTerminado(id, estado, LocalDateTime.now(), recortar(mensajeError, 1000));
+        etlJobRepository.findById(id).ifPresent(job -> borrarArchivo(job.getRutaArchivo()));
+    }
+
+    private static String bloqueo(Long id) {
+        return "etl-job-" + id;
+    }
+
+    /**
+     * Job encolado o en ejecución en este nodo.
+     */
+    private static final class EjecucionLocal {
+        private final String token;
+        private volatile boolean cancelado;
+        private volatile boolean leasePerdido;
+
+        private EjecucionLocal(String token) {
+            this.token = token;
+        }
+    }
+
+    /**
+     * Registra cada lote en el job dentro de la transacción de los usuarios del lote.
+     */
+    private final class ProgresoJob implements ProgresoCarga {
+        private final Long jobId;
+        private final EjecucionLocal ejecucion;
+
+        private ProgresoJob(Long jobId, EjecucionLocal ejecucion) {
+            this.jobId = jobId;
+            this.ejecucion = ejecucion;
+        }
+
+        @Override
+        public void loteConfirmado(LoteConfirmado lote) {
+            etlJobRepository.registrarLote(jobId, lote.ultimaFila(), lote.procesadas(),
+                    lote.exitosas(), lote.duplicados());
+
+            if (!lote.errores().isEmpty()) {
+                EtlJob referencia = etlJobRepository.getReferenceById(jobId);
+                etlJobErrorRepository.saveAll(lote.errores().stream()
+                        .map(e -> EtlJobError.builder()
+                                .job(referencia)
+                                .fila(e.getFila())
+                                .mensaje(recortar(e.getMensaje(), 1000))
+                                .build())
+                        .toList());
+            }
+        }
+
+        @Override
+        public boolean cancelado() {
+            if (ejecucion.cancelado || ejecucion.leasePerdido) {
+                return true;
+            }
+            // La cancelación pudo pedirse en otro nodo
+            if (etlJobRepository.findCancelacionSolicitadaById(jobId).orElse(false)) {
+                ejecucion.cancelado = true;
+            }
+            return ejecucion.cancelado;
+        }
+    }
+
+    // ==========================================================
+    // HELPERS
+    // ==========================================================
+
+    private EtlJob buscar(Long id) {
+        return etlJobRepository.findById(id)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Job ETL no encontrado con id: " + id));
+    }
+
+    private EtlJobResponseDTO aDTO(EtlJob job) {
+        List<ErrorFilaDTO> errores = etlJobErrorRepository
+                .findByJobIdOrderByFilaAsc(job.getId(), Limit.of(maxErroresRespuesta)).stream()
+                .map(e -> {
+                    ErrorFilaDTO dto = new ErrorFilaDTO();
+                    dto.setFila(e.getFila());
+                    dto.setMensaje(e.getMensaje());
+                    return dto;
+                })
+                .toList();
+
+        double filasPorSegundo = 0;
+        if (job.getFechaInicio() != null) {
+            LocalDateTime fin = job.getFechaFin() != null ? job.getFechaFin() : LocalDateTime.now();
+            long ms = Duration.between(job.getFechaInicio(), fin).toMillis();
+            if (ms > 0) {
+                filasPorSegundo = (job.getProcesados() - job.getProcesadosAlIniciar()) * 1000.0 / ms;
+            }
+        }
+
+        return EtlJobResponseDTO.builder()
+                .id(job.getId())
+                .estado(job.getEstado())
+                .nombreArchivo(job.getNombreArchivo())
+                .procesados(job.getProcesados())
+                .exitosos(job.getExitosos())
+                .fallidos(job.getProcesados() - job.getExitosos())
+                .duplicadosEnExcel(job.getDuplicadosEnExcel())
+                .ultimaFilaConfirmada(job.getUltimaFilaConfirmada())
+                .filasPorSegundo(filasPorSegundo)
+                .fechaCreacion(job.getFechaCreacion())
+                .fechaInicio(job.getFechaInicio())
+                .fechaFin(job.getFechaFin())
+                .mensajeError(job.getMensajeError())
+                .errores(errores)
+                .totalErrores(etlJobErrorRepository.countByJobId(job.getId()))
+                .build();
+    }
+
+    private void borrarArchivo(String ruta) {
+        try {
+            Files.deleteIfExists(Paths.get(ruta));
+        } catch (IOException ex) {
+            logger.warn("No se pudo borrar el archivo del job {}: {}", ruta, ex.getMessage());
+        }
+    }
+
+    private static String recortar(String s, int max) {
+        return s == null || s.length() <= max ? s : s.substring(0, max);
+    }
+}
@@ -0,0 +1,310 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.fundaciondeportiva.dto.request.EventoRequest;
+import com.proyecto.fundaciondeportiva.exception.ServicioSaturadoException;
+import com.proyecto.fundaciondeportiva.exception.ValidacionException;
+import com.proyecto.fundaciondeportiva.model.entity.Evento;
+import com.proyecto.fundaciondeportiva.repository.EventoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ingesta de eventos de telemetría con escritura diferida (write-behind).
+ *
+ * Los eventos aceptados entran en un buffer sin locks (ConcurrentLinkedQueue + contador
+ * atómico que lo acota) y se escriben en lotes con un INSERT multi-fila cuando el buffer
+ * alcanza eventos.ingesta.tamanio-lote o cada eventos.ingesta.intervalo-flush-ms, lo que
+ * ocurra primero. La petición HTTP no espera a la BD.
+ *
+ * Con el buffer lleno se aplica eventos.ingesta.politica:
+ *  - DESCARTAR: se acepta la petición pero el evento se pierde (la telemetría no es crítica);
+ *  - RECHAZAR:  503 + Retry-After, para que el cliente reintente más tarde (back-pressure).
+ */
+@Service
+public class IngestaEventosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestaEventosService.class);
+
+    public enum PoliticaBufferLleno { DESCARTAR, RECHAZAR }
+
+    private final EventoRepository eventoRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${eventos.ingesta.capacidad:10000}")
+    private int capacidad;
+
+    @Value("${eventos.ingesta.tamanio-lote:500}")
+    private int tamanioLote;
+
+    @Value("${eventos.ingesta.politica:DESCARTAR}")
+    private PoliticaBufferLleno politica;
+
+    @Value("${eventos.ingesta.max-detalles-bytes:8192}")
+    private int maxDetallesBytes;
+
+    @Value("${eventos.ingesta.reintentar-en-segundos:5}")
+    private long reintentarEnSegundos;
+
+    @Value("${eventos.lote.max-eventos:1000}")
+    private int maxEventosPorLote;
+
+    @Value("${eventos.lote.antiguedad-maxima-horas:72}")
+    private long antiguedadMaximaHoras;
+
+    private final Queue<Evento> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger enBuffer = new AtomicInteger();
+
+    // Un solo flush a la vez (por tamaño, por tiempo o al apagar)
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushProgramado = new AtomicBoolean();
+    private ExecutorService flusher;
+
+    private final Counter aceptados;
+    private final Counter descartados;
+    private final Counter rechazados;
+    private final Counter escritos;
+    private final Counter perdidos;
+    private final Counter eventosPorLote;
+    private final Counter tsCorregidos;
+
+    public IngestaEventosService(EventoRepository eventoRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.eventoRepository = eventoRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.aceptados = contador(meterRegistry, "eventos.ingesta", "aceptado");
+        this.descartados = contador(meterRegistry, "eventos.ingesta", "descartado");
+        this.rechazados = contador(meterRegistry, "eventos.ingesta", "rechazado");
+        this.escritos = contador(meterRegistry, "eventos.ingesta.flush", "escrito");
+        this.perdidos = contador(meterRegistry, "eventos.ingesta.flush", "error");
+        this.eventosPorLote = contador(meterRegistry, "eventos.ingesta", "lote");
+        this.tsCorregidos = Counter.builder("eventos.ingesta.ts.corregidos")
+                .description("Eventos por lote con hora del cliente ausente del rango aceptado")
+                .register(meterRegistry);
+        Gauge.builder("eventos.ingesta.buffer", enBuffer, AtomicInteger::get)
+                .description("Eventos aceptados pendientes de escribir")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        flusher = Executors.newSingleThreadExecutor(r -> {
+            Thread hilo = new Thread(r, "eventos-flush");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    public void detener() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Lo que quede en el buffer se escribe antes de apagar
+        flush(Integer.MAX_VALUE);
+    }
+
+    // ==========================================================
+    // ACEPTAR
+    // ==========================================================
+
+    /**
+     * Valida el evento y lo deja en el buffer. Devuelve false si se descartó por buffer lleno
+     * (política DESCARTAR); con política RECHAZAR lanza ServicioSaturadoException.
+     */
+    public boolean registrar(Long usuarioId, EventoRequest request) {
+        Evento evento = validar(usuarioId, request, LocalDateTime.now());
+
+        if (enBuffer.incrementAndGet() > capacidad) {
+            enBuffer.decrementAndGet();
+            if (politica == PoliticaBufferLleno.RECHAZAR) {
+                rechazados.increment();
+                throw new ServicioSaturadoException(
+                        "Demasiados eventos pendientes, reintenta en unos segundos", reintentarEnSegundos);
+            }
+            descartados.increment();
+            return false;
+        }
+
+        buffer.offer(evento);
+        aceptados.increment();
+
+        if (enBuffer.get() >= tamanioLote && flushProgramado.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushProgramado.set(false);
+                while (enBuffer.get() >= tamanioLote) {
+                    flush(tamanioLote);
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Normaliza y valida un evento: tipo obligatorio (máx. 255) y detalles JSON válido
+     * (la columna es JSON: un valor inválido haría fallar el INSERT de todo el lote).
+     */
+    public Evento validar(Long usuarioId, EventoRequest request, LocalDateTime ts) {
+        if (request == null || request.getTipo() == null || request.getTipo().isBlank()) {
+            throw new ValidacionException("El tipo de evento es obligatorio");
+        }
+        String tipo = request.getTipo().trim();
+        if (tipo.length() > 255) {
+            throw new ValidacionException("El tipo de evento no puede superar 255 caracteres");
+        }
+
+        String detalles = request.getDetalles();
+        if (detalles != null && !detalles.isBlank()) {
+            if (detalles.getBytes(StandardCharsets.UTF_8).length > maxDetallesBytes) {
+                throw new ValidacionException("Los detalles del evento superan " + maxDetallesBytes + " bytes");
+            }
+            try {
+                objectMapper.readTree(detalles);
+            } catch (JsonProcessingException e) {
+                throw new ValidacionException("Los detalles del evento deben ser JSON válido");
+            }
+        } else {
+            detalles = null;
+        }
+
+        Evento e = new Evento();
+        e.setUsuarioId(usuarioId);
+        e.setTipo(tipo);
+        e.setDetalles(detalles);
+        e.setTs(ts);
+        return e;
+    }
+
+    // ==========================================================
+    // LOTES DEL CLIENTE
+    // ==========================================================
+
+    /**
+     * Registra un lote enviado por el navegador: un arreglo JSON o NDJSON (un objeto por línea)
+     * de EventoRequest. Todos se validan antes de escribir y se guardan en una sola transacción
+     * con batch JDBC; si uno es inválido no se guarda ninguno.
+     *
+     * El cuerpo se lee y valida fuera de la transacción: la conexión a la BD se toma recién
+     * para el INSERT, así un cliente lento no retiene una conexión del pool.
+     */
+    public int registrarLote(Long usuarioId, InputStream cuerpo) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Evento> eventos = new ArrayList<>();
+
+        try (MappingIterator<EventoRequest> it = objectMapper.readerFor(EventoRequest.class).readValues(cuerpo)) {
+            while (it.hasNextValue()) {
+                if (eventos.size() == maxEventosPorLote) {
+                    throw new ValidacionException("El lote supera el máximo de " + maxEventosPorLote + " eventos");
+                }
+                EventoRequest request = it.nextValue();
+                try {
+                    eventos.add(validar(usuarioId, request, momentoDelEvento(request, ahora)));
+                } catch (ValidacionException e) {
+                    throw new ValidacionException("Evento #" + (eventos.size() + 1) + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new ValidacionException("El lote no es un arreglo JSON ni NDJSON válido");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> eventoRepository.insertarLote(eventos));
+        eventosPorLote.increment(eventos.size());
+        return eventos.size();
+    }
+
+    /**
+     * Hora del cliente convertida a la zona del servidor. Si falta o es imposible
+     * (muy en el futuro o más antigua que eventos.lote.antiguedad-maxima-horas) se usa la del servidor.
+     */
+    private LocalDateTime momentoDelEvento(EventoRequest request, LocalDateTime ahora) {
+        if (request == null || request.getTs() == null) {
+            return ahora;
+        }
+        LocalDateTime ts = request.getTs().atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        if (ts.isAfter(ahora.plusMinutes(5)) || ts.isBefore(ahora.minusHours(antiguedadMaximaHoras))) {
+            tsCorregidos.increment();
+            return ahora;
+        }
+        return ts;
+    }
+
+    // ==========================================================
+    // FLUSH
+    // ==========================================================
+
+    @Scheduled(fixedDelayString = "${eventos.ingesta.intervalo-flush-ms:1000}")
+    public void flushPeriodico() {
+        while (enBuffer.get() > 0) {
+            if (flush(tamanioLote) == 0) break;
+        }
+    }
+
+    /**
+     * Saca hasta max eventos del buffer y los escribe con un batch JDBC.
+     * Si la BD falla, el lote se pierde (se cuenta y se registra): reencolarlo podría
+     * llenar el buffer y bloquear la ingesta mientras la BD no responda.
+     */
+    private int flush(int max) {
+        flushLock.lock();
+        try {
+            List<Evento> lote = new ArrayList<>(Math.min(max, Math.max(enBuffer.get(), 1)));
+            Evento e;
+            while (lote.size() < max && (e = buffer.poll()) != null) {
+                lote.add(e);
+            }
+            if (lote.isEmpty()) return 0;
+            enBuffer.addAndGet(-lote.size());
+
+            try {
+                eventoRepository.insertarLote(lote);
+                escritos.increment(lote.size());
+            } catch (Exception ex) {
+                perdidos.increment(lote.size());
+                logger.error("No se pudieron escribir {} eventos de telemetría", lote.size(), ex);
+            }
+            return lote.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static Counter contador(MeterRegistry registry, String nombre, String resultado) {
+        return Counter.builder(nombre).tag("resultado", resultado).register(registry);
+    }
+}
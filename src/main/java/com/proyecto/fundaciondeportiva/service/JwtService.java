@@ -1,48 +1,119 @@
 package com.proyecto.fundaciondeportiva.service;
 
+import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import com.proyecto.fundaciondeportiva.model.enums.Rol;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
+/**
+ * Emisión y verificación de JWT (HS256).
+ *
+ * La clave y el parser se construyen una sola vez (son inmutables y thread-safe). Cada token
+ * se parsea y se verifica una vez: verificar() devuelve todo lo necesario en un TokenVerificado.
+ * Los access tokens verificados se guardan en una cache acotada (CacheTokensJwt) hasta que vencen,
+ * así las peticiones siguientes con el mismo token no repiten el parseo ni la firma.
+ *
+ * Los tokens llevan el id (uid), el rol y la versión de seguridad (ver) del usuario: con eso
+ * el filtro autentica sin ir a la BD, y subir la versión del usuario revoca sus tokens.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
-
-    @Value("${jwt.access.expiration:900000}")
-    private long accessExpirationMs;
-
-    @Value("${jwt.refresh.expiration:604800000}")
-    private long refreshExpirationMs;
-
     private static final String CLAIM_TOKEN_TYPE = "typ";
+    private static final String CLAIM_USUARIO_ID = "uid";
+    private static final String CLAIM_ROL = "rol";
+    private static final String CLAIM_VERSION = "ver";
     private static final String TYPE_ACCESS = "access";
     private static final String TYPE_REFRESH = "refresh";
 
+    private final long accessExpirationMs;
+    private final long refreshExpirationMs;
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final CacheTokensJwt cache;
+
+    private final Counter verificacionesCache;
+    private final Counter verificacionesParseo;
+    private final Counter verificacionesInvalidas;
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.access.expiration:900000}") long accessExpirationMs,
+                      @Value("${jwt.refresh.expiration:604800000}") long refreshExpirationMs,
+                      @Value("${jwt.cache.max-entradas:10000}") int cacheMaxEntradas,
+                      @Value("${jwt.cache.ttl-maximo-ms:300000}") long cacheTtlMaximoMs,
+                      MeterRegistry meterRegistry) {
+        this.accessExpirationMs = accessExpirationMs;
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.cache = new CacheTokensJwt(cacheMaxEntradas, cacheTtlMaximoMs);
+
+        this.verificacionesCache = Counter.builder("jwt.verificaciones")
+                .tag("resultado", "cache").register(meterRegistry);
+        this.verificacionesParseo = Counter.builder("jwt.verificaciones")
+                .tag("resultado", "parseo").register(meterRegistry);
+        this.verificacionesInvalidas = Counter.builder("jwt.verificaciones")
+                .tag("resultado", "invalido").register(meterRegistry);
+        Gauge.builder("jwt.cache.entradas", cache, CacheTokensJwt::tamanio)
+                .description("Access tokens verificados en cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Datos de un token con firma y expiración ya verificadas.
+     * claims es de solo lectura (puede estar compartido desde la cache).
+     */
+    public record TokenVerificado(String email, String tipo, Long usuarioId, Rol rol, Integer versionSeguridad,
+                                  Instant expiracion, Claims claims) {
+
+        public boolean esAccess() {
+            return TYPE_ACCESS.equals(tipo);
+        }
+
+        public boolean esRefresh() {
+            return TYPE_REFRESH.equals(tipo);
+        }
+    }
+
     // ====== GENERACIÓN ======
 
-    public String generateAccessToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
+    public String generateAccessToken(Usuario usuario) {
+        Map<String, Object> claims = claimsUsuario(usuario);
         claims.put(CLAIM_TOKEN_TYPE, TYPE_ACCESS);
-        return createToken(claims, userDetails.getUsername(), accessExpirationMs);
+        claims.put(CLAIM_ROL, usuario.getRol().name());
+        return createToken(claims, usuario.getEmail(), accessExpirationMs);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
+    public String generateRefreshToken(Usuario usuario) {
+        Map<String, Object> claims = claimsUsuario(usuario);
         claims.put(CLAIM_TOKEN_TYPE, TYPE_REFRESH);
-        return createToken(claims, userDetails.getUsername(), refreshExpirationMs);
+        return createToken(claims, usuario.getEmail(), refreshExpirationMs);
+    }
+
+    private Map<String, Object> claimsUsuario(Usuario usuario) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USUARIO_ID, usuario.getId());
+        claims.put(CLAIM_VERSION, usuario.getVersionSeguridad() != null ? usuario.getVersionSeguridad() : 0);
+        return claims;
     }
 
     private String createToken(Map<String, Object> claims, String subject, long expirationMs) {
@@ -51,15 +122,68 @@ public class JwtService {
                 .setSubject(subject) // email
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     // ====== LECTURA / VALIDACIÓN ======
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Parsea y verifica el token (firma y expiración) una sola vez.
+     * Lanza JwtException (o IllegalArgumentException) si no es válido.
+     */
+    public TokenVerificado verificar(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Object typ = claims.get(CLAIM_TOKEN_TYPE);
+        Object uid = claims.get(CLAIM_USUARIO_ID);
+        Object rol = claims.get(CLAIM_ROL);
+        Object ver = claims.get(CLAIM_VERSION);
+        return new TokenVerificado(
+                claims.getSubject(),
+                typ != null ? typ.toString() : null,
+                uid instanceof Number n ? n.longValue() : null,
+                rol != null ? Rol.valueOf(rol.toString()) : null,
+                ver instanceof Number n ? n.intValue() : null,
+                claims.getExpiration().toInstant(),
+                claims);
+    }
+
+    /**
+     * Verificación de un access token para autenticar una petición, con cache.
+     * Vacío si el token es inválido, venció, no es de tipo access o no trae uid/rol/ver
+     * (tokens emitidos antes de estos claims: el cliente los renueva con el refresh).
+     * La versión de seguridad la valida quien llama, en cada petición.
+     */
+    public Optional<TokenVerificado> verificarAccessToken(String token) {
+        if (!cache.habilitada()) {
+            return verificarSinCache(token);
+        }
+        long ahora = System.currentTimeMillis();
+        String clave = CacheTokensJwt.clave(token);
+        TokenVerificado enCache = cache.obtener(clave, ahora);
+        if (enCache != null) {
+            verificacionesCache.increment();
+            return Optional.of(enCache);
+        }
+        Optional<TokenVerificado> verificado = verificarSinCache(token);
+        verificado.ifPresent(t -> cache.guardar(clave, t, ahora));
+        return verificado;
+    }
+
+    private Optional<TokenVerificado> verificarSinCache(String token) {
+        try {
+            TokenVerificado t = verificar(token);
+            if (t.email() == null || !t.esAccess()
+                    || t.usuarioId() == null || t.rol() == null || t.versionSeguridad() == null) {
+                verificacionesInvalidas.increment();
+                return Optional.empty();
+            }
+            verificacionesParseo.increment();
+            return Optional.of(t);
+        } catch (JwtException | IllegalArgumentException e) {
+            verificacionesInvalidas.increment();
+            return Optional.empty();
+        }
     }
 
     public String extractUsername(String token) {
@@ -71,42 +195,30 @@ public class JwtService {
     }
 
     public String extractTokenType(String token) {
-        Claims claims = extractAllClaims(token);
-        Object typ = claims.get(CLAIM_TOKEN_TYPE);
-        return typ != null ? typ.toString() : null;
+        return verificar(token).tipo();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return claimsResolver.apply(verificar(token).claims());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean validateAccessToken(String token, Usuario usuario) {
+        return validateToken(token, usuario, TYPE_ACCESS);
     }
 
-    public boolean validateAccessToken(String token, UserDetails userDetails) {
-        return validateToken(token, userDetails, TYPE_ACCESS);
+    public boolean validateRefreshToken(String token, Usuario usuario) {
+        return validateToken(token, usuario, TYPE_REFRESH);
     }
 
-    public boolean validateRefreshToken(String token, UserDetails userDetails) {
-        return validateToken(token, userDetails, TYPE_REFRESH);
-    }
-
-    private boolean validateToken(String token, UserDetails userDetails, String expectedType) {
-        final String username = extractUsername(token);
-        final String type = extractTokenType(token);
-
-        return username.equals(userDetails.getUsername())
-                && expectedType.equals(type)
-                && !isTokenExpired(token);
+    // Un solo parseo; el parser ya rechaza tokens vencidos, la comparación de fecha queda como resguardo
+    private boolean validateToken(String token, Usuario usuario, String expectedType) {
+        TokenVerificado t = verificar(token);
+        int versionActual = usuario.getVersionSeguridad() != null ? usuario.getVersionSeguridad() : 0;
+        // Tokens emitidos antes del claim ver cuentan como versión 0 (la inicial)
+        int versionToken = t.versionSeguridad() != null ? t.versionSeguridad() : 0;
+        return usuario.getEmail().equals(t.email())
+                && expectedType.equals(t.tipo())
+                && versionToken == versionActual
+                && t.expiracion().isAfter(Instant.now());
     }
 }
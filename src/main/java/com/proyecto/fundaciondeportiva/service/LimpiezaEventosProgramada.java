@@ -0,0 +1,131 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ejecuta la limpieza de eventos en segundo plano cada limpieza.eventos.intervalo-ms.
+ *
+ * Con varias instancias, un lease en la BD (BloqueoProcesoService) garantiza que solo una
+ * limpie a la vez; dentro de la instancia, la programada y el endpoint manual comparten una
+ * bandera, así que nunca hay dos ejecuciones compitiendo por la marca de agua (se leerían el
+ * mismo checkpoint y el rollup contaría dos veces el mismo lote). El lease se renueva con el
+ * token de su adquisición antes de cada lote y la ejecución se detiene si no se puede renovar
+ * (otra instancia lo tomó al vencer).
+ */
+@Component
+public class LimpiezaEventosProgramada {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimpiezaEventosProgramada.class);
+
+    static final String BLOQUEO = "limpieza-eventos";
+
+    private final DataCleaningService dataCleaningService;
+    private final BloqueoProcesoService bloqueoService;
+
+    @Value("${limpieza.eventos.programada.habilitada:true}")
+    private boolean habilitada;
+
+    @Value("${limpieza.eventos.max-lotes-por-ejecucion:50}")
+    private int maxLotesPorEjecucion;
+
+    // Se renueva en cada lote: debe cubrir holgadamente la duración de uno
+    @Value("${limpieza.eventos.lease-segundos:300}")
+    private long leaseSegundos;
+
+    private final AtomicBoolean enEjecucion = new AtomicBoolean();
+
+    private final Timer duracion;
+    private final Counter omitidas;
+    private volatile double eventosPorSegundo;
+
+    public LimpiezaEventosProgramada(DataCleaningService dataCleaningService,
+                                     BloqueoProcesoService bloqueoService,
+                                     MeterRegistry meterRegistry) {
+        this.dataCleaningService = dataCleaningService;
+        this.bloqueoService = bloqueoService;
+
+        this.duracion = Timer.builder("eventos.limpieza.ejecucion")
+                .description("Duración de cada ejecución de la limpieza de eventos")
+                .register(meterRegistry);
+        this.omitidas = Counter.builder("eventos.limpieza.omitidas")
+                .description("Ejecuciones omitidas porque ya hay otra en curso (aquí o en otra instancia)")
+                .register(meterRegistry);
+        Gauge.builder("eventos.limpieza.throughput", this, l -> l.eventosPorSegundo)
+                .description("Eventos leídos por segundo en la última ejecución")
+                .baseUnit("eventos/s")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${limpieza.eventos.retraso-inicial-ms:30000}",
+               fixedDelayString = "${limpieza.eventos.intervalo-ms:60000}")
+    public void ejecutarProgramada() {
+        if (!habilitada) return;
+        try {
+            ejecutar().ifPresent(r -> {
+                if (r.leidos() > 0) {
+                    logger.info("Limpieza de eventos: {} leídos, {} limpios, {} pendientes",
+                            r.leidos(), r.limpios(), r.pendientes());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Falló la limpieza programada de eventos", e);
+        }
+    }
+
+    /**
+     * Ejecuta como máximo limpieza.eventos.max-lotes-por-ejecucion lotes si esta instancia
+     * obtiene el lease. Vacío si ya se está ejecutando, en esta instancia o en otra.
+     */
+    public Optional<DataCleaningService.ResultadoLimpieza> ejecutar() {
+        return ejecutar(maxLotesPorEjecucion);
+    }
+
+    private Optional<DataCleaningService.ResultadoLimpieza> ejecutar(int maxLotes) {
+        // Una sola ejecución por instancia (programada y endpoint manual comparten esta bandera)
+        if (!enEjecucion.compareAndSet(false, true)) {
+            omitidas.increment();
+            return Optional.empty();
+        }
+        try {
+            Optional<String> token = bloqueoService.adquirir(BLOQUEO, Duration.ofSeconds(leaseSegundos));
+            if (token.isEmpty()) {
+                omitidas.increment();
+                return Optional.empty();
+            }
+            try {
+                long inicio = System.nanoTime();
+                DataCleaningService.ResultadoLimpieza resultado =
+                        dataCleaningService.limpiar(maxLotes, () -> renovarLease(token.get()));
+                long ns = System.nanoTime() - inicio;
+
+                duracion.record(Duration.ofNanos(ns));
+                eventosPorSegundo = ns > 0 ? resultado.leidos() * 1_000_000_000.0 / ns : 0;
+                return Optional.of(resultado);
+            } finally {
+                bloqueoService.liberar(BLOQUEO, token.get());
+            }
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+
+    private boolean renovarLease(String token) {
+        if (bloqueoService.renovar(BLOQUEO, token, Duration.ofSeconds(leaseSegundos))) {
+            return true;
+        }
+        logger.warn("Se perdió el lease de la limpieza de eventos; se detiene antes del siguiente lote");
+        return false;
+    }
+}
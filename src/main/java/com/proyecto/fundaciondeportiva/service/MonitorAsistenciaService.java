@@ -0,0 +1,19 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.dto.response.MonitorAsistenciaSesionDTO;
+
+import java.util.List;
+
+public interface MonitorAsistenciaService {
+
+    /**
+     * Sesiones de hoy (zona America/Lima) con conteos y estado del semáforo.
+     * Los conteos salen de un snapshot en memoria de TTL corto; el semáforo se recalcula siempre.
+     */
+    List<MonitorAsistenciaSesionDTO> monitorAsistenciasHoy();
+
+    /**
+     * Descarta el snapshot; la siguiente consulta vuelve a la BD.
+     */
+    void invalidar();
+}
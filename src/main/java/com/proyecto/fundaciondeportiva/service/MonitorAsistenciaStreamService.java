@@ -0,0 +1,153 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.dto.response.MonitorAsistenciaSesionDTO;
+import com.proyecto.fundaciondeportiva.event.AsistenciaRegistradaEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Publicador único del monitor de asistencias por Server-Sent Events.
+ *
+ * Al suscribirse se envía el evento "snapshot" con todas las sesiones del día. Después, una
+ * tarea periódica compara con lo último enviado y manda a todos los suscriptores solo las
+ * filas que cambiaron ("delta") y las sesiones que ya no están ("eliminadas"). Un cambio se
+ * produce al confirmar asistencias (el snapshot del monitor se invalida) o cuando una sesión
+ * cruza un umbral del semáforo (PROXIMA -> EN_CURSO -> ALERTA).
+ *
+ * La consulta a la BD la hace MonitorAsistenciaService (snapshot con TTL), así que el costo
+ * no depende de la cantidad de coordinadores conectados.
+ */
+@Service
+public class MonitorAsistenciaStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorAsistenciaStreamService.class);
+
+    @Autowired
+    private MonitorAsistenciaService monitorAsistenciaService;
+
+    // 0 = sin timeout del lado servidor; el cliente reconecta si se corta
+    @Value("${monitor.stream.timeout-ms:0}")
+    private long timeoutMs;
+
+    @Value("${monitor.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    private final List<SseEmitter> suscriptores = new CopyOnWriteArrayList<>();
+
+    // Último estado enviado por sesión (solo lo toca el publicador)
+    private final Map<Long, MonitorAsistenciaSesionDTO> ultimoEnviado = new HashMap<>();
+    private long ultimoEnvioMs = System.currentTimeMillis();
+    private volatile boolean cambiosPendientes;
+
+    public SseEmitter suscribir() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> suscriptores.remove(emitter));
+        emitter.onTimeout(() -> suscriptores.remove(emitter));
+        emitter.onError(e -> suscriptores.remove(emitter));
+
+        synchronized (this) {
+            try {
+                List<MonitorAsistenciaSesionDTO> filas = monitorAsistenciaService.monitorAsistenciasHoy();
+                emitter.send(SseEmitter.event().name("snapshot").data(filas, MediaType.APPLICATION_JSON));
+                if (suscriptores.isEmpty()) {
+                    // Primer suscriptor: el snapshot es la base para los siguientes deltas
+                    filas.forEach(f -> ultimoEnviado.put(f.getSesionId(), f));
+                }
+                suscriptores.add(emitter);
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }
+        return emitter;
+    }
+
+    public int cantidadSuscriptores() {
+        return suscriptores.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alRegistrarAsistencia(AsistenciaRegistradaEvent evento) {
+        // No se envía en el hilo de la petición: el publicador lo recoge en su próximo ciclo
+        cambiosPendientes = true;
+    }
+
+    // ==========================================================
+    // PUBLICADOR
+    // ==========================================================
+
+    @Scheduled(fixedDelayString = "${monitor.stream.intervalo-ms:1000}")
+    public synchronized void publicarCambios() {
+        if (suscriptores.isEmpty()) {
+            ultimoEnviado.clear();
+            return;
+        }
+        if (cambiosPendientes) {
+            cambiosPendientes = false;
+            monitorAsistenciaService.invalidar();
+        }
+
+        List<MonitorAsistenciaSesionDTO> actuales;
+        try {
+            actuales = monitorAsistenciaService.monitorAsistenciasHoy();
+        } catch (Exception e) {
+            logger.error("No se pudo obtener el monitor de asistencias para el stream", e);
+            return;
+        }
+
+        List<MonitorAsistenciaSesionDTO> cambiadas = new ArrayList<>();
+        Map<Long, MonitorAsistenciaSesionDTO> nuevos = new HashMap<>();
+        for (MonitorAsistenciaSesionDTO fila : actuales) {
+            nuevos.put(fila.getSesionId(), fila);
+            if (!Objects.equals(ultimoEnviado.get(fila.getSesionId()), fila)) {
+                cambiadas.add(fila);
+            }
+        }
+        List<Long> eliminadas = ultimoEnviado.keySet().stream()
+                .filter(id -> !nuevos.containsKey(id))
+                .toList();
+
+        ultimoEnviado.clear();
+        ultimoEnviado.putAll(nuevos);
+
+        long ahora = System.currentTimeMillis();
+        if (!cambiadas.isEmpty()) {
+            difundir(SseEmitter.event().name("delta").data(cambiadas, MediaType.APPLICATION_JSON));
+            ultimoEnvioMs = ahora;
+        }
+        if (!eliminadas.isEmpty()) {
+            difundir(SseEmitter.event().name("eliminadas").data(eliminadas, MediaType.APPLICATION_JSON));
+            ultimoEnvioMs = ahora;
+        }
+        if (ahora - ultimoEnvioMs >= heartbeatMs) {
+            // Comentario SSE: mantiene viva la conexión a través de proxies
+            difundir(SseEmitter.event().comment("heartbeat"));
+            ultimoEnvioMs = ahora;
+        }
+    }
+
+    private void difundir(SseEmitter.SseEventBuilder evento) {
+        for (SseEmitter emitter : suscriptores) {
+            try {
+                emitter.send(evento);
+            } catch (IOException | IllegalStateException e) {
+                suscriptores.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
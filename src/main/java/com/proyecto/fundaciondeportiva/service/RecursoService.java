@@ -1,6 +1,7 @@
 // src/main/java/com/proyecto/fundaciondeportiva/service/RecursoService.java
 package com.proyecto.fundaciondeportiva.service;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.RecursoRequest;
 import com.proyecto.fundaciondeportiva.dto.response.RecursoDTO;
 import org.springframework.web.multipart.MultipartFile;
@@ -11,7 +12,7 @@ public interface RecursoService {
 
     List<RecursoDTO> listarPorSesion(Long sesionId);
 
-    RecursoDTO crearRecurso(RecursoRequest request, String emailProfesor);
+    RecursoDTO crearRecurso(RecursoRequest request, UsuarioAutenticado usuario);
 
     RecursoDTO crearRecursoArchivo(
             Long sesionId,
@@ -20,10 +21,10 @@ public interface RecursoService {
             String momentoStr,
             String tipoRecursoStr,
             MultipartFile archivo,
-            String emailProfesor
+            UsuarioAutenticado usuario
     );
 
-    RecursoDTO actualizarRecurso(Long id, RecursoRequest request, String emailProfesor);
+    RecursoDTO actualizarRecurso(Long id, RecursoRequest request, UsuarioAutenticado usuario);
 
-    void eliminarRecurso(Long id, String emailProfesor);
+    void eliminarRecurso(Long id, UsuarioAutenticado usuario);
 }
\ No newline at end of file
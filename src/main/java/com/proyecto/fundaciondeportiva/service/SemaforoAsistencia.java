@@ -0,0 +1,60 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
+
+import java.time.LocalTime;
+
+/**
+ * Reglas del semáforo del monitor de asistencias.
+ * Se calculan en cada consulta (dependen de la hora actual), no se guardan en caché.
+ */
+public final class SemaforoAsistencia {
+
+    // Minutos de tolerancia tras la hora de inicio antes de marcar ALERTA
+    public static final int TOLERANCIA_MINUTOS = 10;
+
+    private SemaforoAsistencia() {
+    }
+
+    /**
+     * Hora de inicio por turno, para sesiones sin hora_inicio en BD.
+     */
+    public static LocalTime obtenerHoraInicioBase(Turno turno) {
+        if (turno == null) return null;
+
+        switch (turno) {
+            case MAÑANA:
+                return LocalTime.of(8, 30);
+            case TARDE:
+                return LocalTime.of(14, 0);
+            case NOCHE:
+                return LocalTime.of(18, 30);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * SIN_HORARIO, PROXIMA, EN_CURSO, ALERTA u OK.
+     */
+    public static String calcularEstado(LocalTime inicio, LocalTime ahora, int sinAsistencia) {
+        if (inicio == null) {
+            // ni la sesión tiene hora, ni pudimos deducirla por turno
+            return "SIN_HORARIO";
+        }
+
+        LocalTime tiempoTolerancia = inicio.plusMinutes(TOLERANCIA_MINUTOS);
+
+        if (ahora.isBefore(inicio)) {
+            return "PROXIMA"; // todavía no empieza
+        }
+
+        if (!ahora.isAfter(tiempoTolerancia)) {
+            // entre inicio y tolerancia
+            return sinAsistencia > 0 ? "EN_CURSO" : "OK";
+        }
+
+        // ya se pasó la tolerancia
+        return sinAsistencia > 0 ? "ALERTA" : "OK";
+    }
+}
@@ -2,6 +2,7 @@ package com.proyecto.fundaciondeportiva.service;
 
 import com.proyecto.fundaciondeportiva.dto.request.CursoRequestDTO;
 import com.proyecto.fundaciondeportiva.dto.response.CursoResponseDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 
 import java.util.List;
@@ -14,11 +15,13 @@ public interface ServicioCurso {
 
     List<CursoResponseDTO> listarTodosLosCursos();
 
+    PaginaCursorDTO<CursoResponseDTO> paginarCursos(String cursor, Integer limite, NivelAcademico nivel);
+
     CursoResponseDTO obtenerCursoPorId(Long id);
 
     List<CursoResponseDTO> listarCursosPorNivel(NivelAcademico nivel);
 
-    CursoResponseDTO crearCurso(CursoRequestDTO request, String emailAdmin);
+    CursoResponseDTO crearCurso(CursoRequestDTO request, Long adminId);
 
     CursoResponseDTO actualizarCurso(Long id, CursoRequestDTO request);
 
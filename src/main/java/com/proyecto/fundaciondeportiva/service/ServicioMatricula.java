@@ -2,7 +2,10 @@ package com.proyecto.fundaciondeportiva.service;
 
 import com.proyecto.fundaciondeportiva.dto.request.MatriculaRequestDTO;
 import com.proyecto.fundaciondeportiva.dto.response.MatriculaResponseDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
 
 import java.util.List;
 
@@ -25,6 +28,11 @@ public interface ServicioMatricula {
     // Operaciones de Administrador
     List<MatriculaResponseDTO> listarTodasLasMatriculas();
 
+    // Listado paginado por cursor con filtros opcionales
+    PaginaCursorDTO<MatriculaResponseDTO> paginarMatriculas(String cursor, Integer limite, String ciclo,
+                                                            EstadoMatricula estado, NivelAcademico nivel,
+                                                            Turno turno, Long profesorId, Long seccionId);
+
     MatriculaResponseDTO obtenerMatriculaPorId(Long id);
 
     MatriculaResponseDTO actualizarEstadoMatricula(Long id, EstadoMatricula nuevoEstado);
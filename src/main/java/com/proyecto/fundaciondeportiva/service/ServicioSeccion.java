@@ -1,6 +1,7 @@
 package com.proyecto.fundaciondeportiva.service;
 
 import com.proyecto.fundaciondeportiva.dto.request.SeccionRequestDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.dto.response.SeccionResponseDTO;
 import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.model.enums.Turno;
@@ -36,4 +37,9 @@ public interface ServicioSeccion {
     List<SeccionResponseDTO> listarSeccionesConCupo();
 
     List<SeccionResponseDTO> listarSeccionesPorNivel(NivelAcademico nivel);
+
+    // Listado paginado por cursor con filtros opcionales
+    PaginaCursorDTO<SeccionResponseDTO> paginarSecciones(String cursor, Integer limite, Boolean activa,
+                                                         Long cursoId, Long profesorId, Turno turno,
+                                                         NivelAcademico nivel, boolean soloConCupo);
 }
@@ -1,18 +1,24 @@
 package com.proyecto.fundaciondeportiva.service;
 
+import com.proyecto.fundaciondeportiva.config.CacheConfig;
 import com.proyecto.fundaciondeportiva.dto.input.UsuarioInputDTO;
+import com.proyecto.fundaciondeportiva.dto.output.UsuarioOutputDTO;
 import com.proyecto.fundaciondeportiva.dto.output.UsuarioUpdateDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.dto.response.UsuarioResponse;
 import com.proyecto.fundaciondeportiva.exception.RecursoNoEncontradoException;
 import com.proyecto.fundaciondeportiva.exception.ValidacionException;
 import com.proyecto.fundaciondeportiva.model.entity.PerfilAlumno;
 import com.proyecto.fundaciondeportiva.model.entity.PerfilProfesor;
 import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.model.enums.Rol;
 import com.proyecto.fundaciondeportiva.repository.PerfilAlumnoRepository;
 import com.proyecto.fundaciondeportiva.repository.PerfilProfesorRepository;
 import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -46,6 +52,9 @@ public class UsuarioService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private VersionSeguridadService versionSeguridadService;
+
     // --- 1. Lógica de Seguridad (Implementación de UserDetailsService) ---
 
     @Transactional(readOnly = true)
@@ -181,6 +190,15 @@ public class UsuarioService implements UserDetailsService {
         return usuarioRepository.findAll();
     }
 
+    // Listado paginado por cursor; nivel filtra por el perfil de alumno
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<UsuarioOutputDTO> paginarUsuarios(String cursor, Integer limite, Rol rol, NivelAcademico nivel) {
+        int tamanio = PaginaCursorDTO.normalizarLimite(limite);
+        List<Usuario> filas = usuarioRepository.buscarPagina(
+                PaginaCursorDTO.decodificarCursor(cursor), rol, nivel, Limit.of(tamanio + 1));
+        return PaginaCursorDTO.desdeFilas(filas, tamanio, Usuario::getId, UsuarioOutputDTO::deEntidad);
+    }
+
     @Transactional(readOnly = true)
     public Usuario obtenerUsuarioPorId(Long id) {
         return usuarioRepository.findById(id)
@@ -193,22 +211,32 @@ public class UsuarioService implements UserDetailsService {
     }
 
     @Transactional
+    // Las cabeceras de sección llevan nombre, email y DNI del profesor
+    @CacheEvict(cacheNames = CacheConfig.SECCIONES, allEntries = true)
     public Usuario actualizarUsuario(Long id, UsuarioUpdateDTO request) {
 
         Usuario usuario = obtenerUsuarioPorId(id);
 
         // --- Actualizar Campos de Usuario ---
+        boolean cambioCredenciales = false;
         if (StringUtils.hasText(request.getNombre())) {
             usuario.setNombre(request.getNombre());
         }
         if (StringUtils.hasText(request.getPassword())) {
             usuario.setPassword(passwordEncoder.encode(request.getPassword()));
+            cambioCredenciales = true;
         }
         if (StringUtils.hasText(request.getEmail()) && !request.getEmail().equals(usuario.getEmail())) {
             if (usuarioRepository.existsByEmail(request.getEmail())) {
                 throw new ValidacionException("El nuevo correo electrónico ya está en uso.");
             }
             usuario.setEmail(request.getEmail());
+            cambioCredenciales = true;
+        }
+        // Nueva versión de seguridad: los tokens emitidos antes dejan de valer
+        if (cambioCredenciales) {
+            usuario.setVersionSeguridad(usuario.getVersionSeguridad() + 1);
+            versionSeguridadService.invalidar(usuario.getId());
         }
 
         // --- Actualizar Perfiles (Lógica mejorada) ---
@@ -259,11 +287,13 @@ public class UsuarioService implements UserDetailsService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SECCIONES, allEntries = true)
     public void eliminarUsuario(Long id) {
         if (!usuarioRepository.existsById(id)) {
             throw new RecursoNoEncontradoException("Usuario no encontrado con id: " + id);
         }
         usuarioRepository.deleteById(id);
+        versionSeguridadService.invalidar(id);
     }
 
     private String generarCodigoEstudianteUnico() {
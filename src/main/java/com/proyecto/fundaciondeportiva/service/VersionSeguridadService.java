@@ -0,0 +1,105 @@
+package com.proyecto.fundaciondeportiva.service;
+
+import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
+import com.proyecto.fundaciondeportiva.service.cache.BusInvalidacionCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión de seguridad vigente de cada usuario, en memoria.
+ *
+ * El access token lleva la versión con la que se emitió (claim ver); si el usuario cambia
+ * su contraseña o email la versión sube y los tokens anteriores dejan de valer. La versión se
+ * consulta a la BD una vez por usuario y se guarda jwt.version.ttl-ms: los cambios hechos en
+ * este nodo se aplican al confirmar la transacción; los de otros nodos llegan por
+ * BusInvalidacionCache (y, si algo se pierde, al vencer la entrada).
+ *
+ * Una carga que leyó la BD antes de una invalidación no debe guardarse después de ella: cada
+ * invalidación sube un contador y la carga solo se guarda si el contador no cambió mientras
+ * consultaba. Si cambió, el valor vale para esa petición pero no se cachea.
+ */
+@Service
+public class VersionSeguridadService {
+
+    static final String CACHE = "versionSeguridad";
+
+    private final UsuarioRepository usuarioRepository;
+    private final BusInvalidacionCache bus;
+
+    @Value("${jwt.version.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${jwt.version.max-entradas:50000}")
+    private int maxEntradas;
+
+    // version == null: el usuario no existe (se recuerda también para no consultar en cada petición)
+    private final ConcurrentHashMap<Long, Entrada> versiones = new ConcurrentHashMap<>();
+
+    // Sube antes de cada invalidación (de cualquier usuario); ver doc de la clase
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    private record Entrada(Integer version, long cargadaEnMs) {
+    }
+
+    public VersionSeguridadService(UsuarioRepository usuarioRepository, BusInvalidacionCache bus) {
+        this.usuarioRepository = usuarioRepository;
+        this.bus = bus;
+        bus.suscribir(CACHE, clave -> {
+            invalidaciones.incrementAndGet();
+            if (clave == null) {
+                versiones.clear();
+            } else {
+                versiones.remove(Long.valueOf(clave));
+            }
+        });
+    }
+
+    /**
+     * true si el usuario existe y la versión del token es la vigente.
+     */
+    public boolean esVigente(Long usuarioId, int versionToken) {
+        long ahora = System.currentTimeMillis();
+        Entrada e = versiones.get(usuarioId);
+        if (e == null || ahora - e.cargadaEnMs() > ttlMs) {
+            if (versiones.size() >= maxEntradas) {
+                // Acotado: se vuelve a cargar bajo demanda
+                versiones.clear();
+            }
+            long marca = invalidaciones.get();
+            Entrada cargada = new Entrada(usuarioRepository.findVersionSeguridad(usuarioId).orElse(null), ahora);
+            // Dentro de compute: una invalidación posterior a esta comprobación quita la entrada después
+            versiones.compute(usuarioId, (id, actual) -> invalidaciones.get() == marca ? cargada : actual);
+            e = cargada;
+        }
+        return e.version() != null && e.version() == versionToken;
+    }
+
+    /**
+     * Olvida la versión del usuario al confirmarse la transacción en curso (o de inmediato si
+     * no hay una), así la próxima petición lee el valor nuevo. Los demás nodos lo olvidan al
+     * leer la invalidación del bus.
+     */
+    public void invalidar(Long usuarioId) {
+        bus.publicar(CACHE, String.valueOf(usuarioId));
+        olvidar(usuarioId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    olvidar(usuarioId);
+                }
+            });
+        }
+    }
+
+    // Primero la marca y luego el borrado: una carga en curso o no se guarda o queda borrada
+    private void olvidar(Long usuarioId) {
+        invalidaciones.incrementAndGet();
+        versiones.remove(usuarioId);
+    }
+}
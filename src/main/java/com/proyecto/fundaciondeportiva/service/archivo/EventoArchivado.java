@@ -0,0 +1,14 @@
+package com.proyecto.fundaciondeportiva.service.archivo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Un evento limpio leído de un archivo del histórico (una fila del CSV).
+ */
+public record EventoArchivado(long eventoId,
+                              long usuarioId,
+                              String tipo,
+                              LocalDateTime ts,
+                              String calidad,
+                              String detalles) {
+}
@@ -0,0 +1,191 @@
+package com.proyecto.fundaciondeportiva.service.archivo;
+
+import com.proyecto.fundaciondeportiva.model.entity.EventoLimpio;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formato del histórico de eventos limpios.
+ *
+ * Una carpeta por día (dia=AAAA-MM-DD) con archivos CSV comprimidos con gzip, uno por lote
+ * archivado: eventos-{primerEventoId}-{ultimoEventoId}.csv.gz. Las columnas siguen a
+ * evento_limpio; los campos con coma, comillas o saltos de línea van entre comillas (RFC 4180),
+ * así que detalles (JSON) se guarda tal cual.
+ */
+public final class FormatoArchivoEventos {
+
+    public static final String CABECERA = "evento_id,usuario_id,tipo,ts,calidad,detalles";
+    public static final String PREFIJO_DIA = "dia=";
+    public static final String EXTENSION = ".csv.gz";
+    // Archivo escrito pero aún no publicado (el borrado en la BD no se confirmó todavía)
+    public static final String EXTENSION_TEMPORAL = EXTENSION + ".tmp";
+
+    private static final int COLUMNAS = 6;
+
+    private FormatoArchivoEventos() {
+    }
+
+    public static Path carpetaDia(Path raiz, LocalDate dia) {
+        return raiz.resolve(PREFIJO_DIA + dia);
+    }
+
+    public static String nombreArchivo(long primerEventoId, long ultimoEventoId) {
+        return "eventos-" + primerEventoId + "-" + ultimoEventoId + EXTENSION;
+    }
+
+    /**
+     * Primer evento_id de un archivo a partir de su nombre (publicado o temporal).
+     */
+    public static long primerEventoId(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        int inicio = "eventos-".length();
+        return Long.parseLong(nombre.substring(inicio, nombre.indexOf('-', inicio)));
+    }
+
+    /**
+     * Día de una carpeta de partición, o null si la carpeta no es una partición.
+     */
+    public static LocalDate diaDeCarpeta(Path carpeta) {
+        String nombre = carpeta.getFileName().toString();
+        if (!nombre.startsWith(PREFIJO_DIA)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(nombre.substring(PREFIJO_DIA.length()));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ==========================================================
+    // ESCRITURA
+    // ==========================================================
+
+    public static void escribir(Path archivo, List<EventoLimpio> eventos) throws IOException {
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(archivo)), StandardCharsets.UTF_8))) {
+            w.write(CABECERA);
+            w.write('\n');
+            for (EventoLimpio e : eventos) {
+                w.write(Long.toString(e.getEventoId()));
+                w.write(',');
+                w.write(Long.toString(e.getUsuarioId()));
+                w.write(',');
+                w.write(campo(e.getTipo()));
+                w.write(',');
+                w.write(e.getTs().toString());
+                w.write(',');
+                w.write(campo(e.getCalidad()));
+                w.write(',');
+                w.write(campo(e.getDetalles()));
+                w.write('\n');
+            }
+        }
+    }
+
+    private static String campo(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0
+                && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    // ==========================================================
+    // LECTURA
+    // ==========================================================
+
+    /**
+     * Lector secuencial de un archivo del histórico; devuelve null al terminar.
+     */
+    public static final class Lector implements AutoCloseable {
+
+        private final Reader reader;
+        private final Path archivo;
+
+        public Lector(Path archivo) throws IOException {
+            this.archivo = archivo;
+            this.reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(archivo)), StandardCharsets.UTF_8));
+            leerFila(); // cabecera
+        }
+
+        public EventoArchivado siguiente() throws IOException {
+            List<String> f = leerFila();
+            if (f == null) {
+                return null;
+            }
+            if (f.size() != COLUMNAS) {
+                throw new IOException("Fila con " + f.size() + " columnas en " + archivo);
+            }
+            return new EventoArchivado(
+                    Long.parseLong(f.get(0)),
+                    Long.parseLong(f.get(1)),
+                    f.get(2),
+                    LocalDateTime.parse(f.get(3)),
+                    f.get(4),
+                    f.get(5).isEmpty() ? null : f.get(5));
+        }
+
+        private List<String> leerFila() throws IOException {
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> campos = new ArrayList<>(COLUMNAS);
+            StringBuilder actual = new StringBuilder();
+            boolean entreComillas = false;
+            while (c >= 0) {
+                char ch = (char) c;
+                if (entreComillas) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            actual.append('"');
+                        } else {
+                            reader.reset();
+                            entreComillas = false;
+                        }
+                    } else {
+                        actual.append(ch);
+                    }
+                } else if (ch == '"') {
+                    entreComillas = true;
+                } else if (ch == ',') {
+                    campos.add(actual.toString());
+                    actual.setLength(0);
+                } else if (ch == '\n') {
+                    break;
+                } else {
+                    actual.append(ch);
+                }
+                c = reader.read();
+            }
+            campos.add(actual.toString());
+            return campos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
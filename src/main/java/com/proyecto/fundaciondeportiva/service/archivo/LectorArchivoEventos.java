@@ -0,0 +1,112 @@
+package com.proyecto.fundaciondeportiva.service.archivo;
+
+import com.proyecto.fundaciondeportiva.exception.ValidacionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Lectura del histórico de eventos archivados (ver FormatoArchivoEventos).
+ *
+ * Solo abre las carpetas de los días pedidos, archivo por archivo y en streaming, así que
+ * recorrer un rango no carga el histórico en memoria. Sirve para consultas sobre eventos que
+ * ya no están en evento_limpio.
+ */
+@Service
+public class LectorArchivoEventos {
+
+    private final Path raiz;
+
+    public LectorArchivoEventos(@Value("${archivo.eventos.directorio:./archivo-eventos}") String directorio) {
+        this.raiz = Paths.get(directorio);
+    }
+
+    public record ParticionArchivo(LocalDate dia, int archivos, long bytes) {
+    }
+
+    /**
+     * Particiones (días) archivadas en [desde, hasta], en orden.
+     */
+    public List<ParticionArchivo> particiones(LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        List<ParticionArchivo> resultado = new ArrayList<>();
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            List<Path> archivos = archivosDelDia(dia);
+            if (archivos.isEmpty()) {
+                continue;
+            }
+            long bytes = 0;
+            for (Path a : archivos) {
+                bytes += tamanio(a);
+            }
+            resultado.add(new ParticionArchivo(dia, archivos.size(), bytes));
+        }
+        return resultado;
+    }
+
+    /**
+     * Recorre los eventos archivados de los días [desde, hasta], en orden de día y de evento.
+     * Devuelve cuántos eventos se leyeron.
+     */
+    public long recorrer(LocalDate desde, LocalDate hasta, Consumer<EventoArchivado> consumidor) {
+        validarRango(desde, hasta);
+        long leidos = 0;
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            for (Path archivo : archivosDelDia(dia)) {
+                try (FormatoArchivoEventos.Lector lector = new FormatoArchivoEventos.Lector(archivo)) {
+                    EventoArchivado e;
+                    while ((e = lector.siguiente()) != null) {
+                        consumidor.accept(e);
+                        leidos++;
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("No se pudo leer " + archivo, ex);
+                }
+            }
+        }
+        return leidos;
+    }
+
+    // Solo archivos publicados: los .tmp son lotes cuyo borrado aún no se confirmó
+    private List<Path> archivosDelDia(LocalDate dia) {
+        Path carpeta = FormatoArchivoEventos.carpetaDia(raiz, dia);
+        if (!Files.isDirectory(carpeta)) {
+            return List.of();
+        }
+        try (Stream<Path> s = Files.list(carpeta)) {
+            return s.filter(p -> p.getFileName().toString().endsWith(FormatoArchivoEventos.EXTENSION))
+                    .sorted(Comparator.comparingLong(FormatoArchivoEventos::primerEventoId))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo listar " + carpeta, e);
+        }
+    }
+
+    private static long tamanio(Path archivo) {
+        try {
+            return Files.size(archivo);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new ValidacionException("Debe indicar desde y hasta");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new ValidacionException("'desde' no puede ser posterior a 'hasta'");
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.proyecto.fundaciondeportiva.service.cache;
+
+import com.proyecto.fundaciondeportiva.model.entity.InvalidacionCache;
+import com.proyecto.fundaciondeportiva.repository.InvalidacionCacheRepository;
+import com.proyecto.fundaciondeportiva.service.BloqueoProcesoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Propaga invalidaciones de cache entre instancias usando solo la BD compartida.
+ *
+ * Publicar inserta una fila en invalidacion_cache (en la transacción en curso si la hay, así
+ * que una escritura que se revierte no invalida nada). Cada nodo consulta cada
+ * cache.invalidacion.intervalo-ms las filas con id mayor a la última versión aplicada y avisa
+ * al suscriptor de esa cache; las que publicó él mismo se saltan.
+ *
+ * Los ids se asignan al insertar pero las transacciones confirman en cualquier orden: una fila
+ * con id menor puede aparecer después de otra mayor. Los ids saltados quedan como huecos durante
+ * cache.invalidacion.espera-huecos-ms y se vuelven a buscar en cada consulta; pasado ese tiempo
+ * se dan por revertidos. El TTL de cada cache sigue siendo el respaldo si algo se pierde.
+ */
+@Service
+public class BusInvalidacionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusInvalidacionCache.class);
+
+    private final InvalidacionCacheRepository invalidacionRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodo;
+
+    @Value("${cache.invalidacion.max-filas:1000}")
+    private int maxFilas;
+
+    @Value("${cache.invalidacion.espera-huecos-ms:60000}")
+    private long esperaHuecosMs;
+
+    @Value("${cache.invalidacion.retencion-horas:24}")
+    private long retencionHoras;
+
+    // Nombre de cache -> qué hacer con la clave invalidada (null: toda la cache)
+    private final Map<String, Consumer<String>> suscriptores = new ConcurrentHashMap<>();
+
+    // Solo se tocan desde sondear (synchronized)
+    private long ultimaVersion;
+    // id saltado -> cuándo se detectó (ms)
+    private final Map<Long, Long> huecos = new HashMap<>();
+
+    private final Counter publicadas;
+    private final Counter aplicadas;
+
+    public BusInvalidacionCache(InvalidacionCacheRepository invalidacionRepo,
+                                BloqueoProcesoService bloqueoService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.invalidacionRepo = invalidacionRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodo = bloqueoService.getPropietario();
+        // Al arrancar las caches están vacías: solo interesa lo que se publique desde ahora
+        this.ultimaVersion = invalidacionRepo.findMaxId();
+
+        this.publicadas = Counter.builder("cache.invalidacion")
+                .tag("tipo", "publicada").register(meterRegistry);
+        this.aplicadas = Counter.builder("cache.invalidacion")
+                .tag("tipo", "aplicada").register(meterRegistry);
+        Gauge.builder("cache.invalidacion.huecos", this, BusInvalidacionCache::contarHuecos)
+                .description("Versiones saltadas que aún se esperan")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra qué hacer cuando otro nodo invalida la cache indicada (una sola por nombre).
+     */
+    public void suscribir(String cache, Consumer<String> alInvalidar) {
+        suscriptores.put(cache, alInvalidar);
+    }
+
+    /**
+     * Publica la invalidación para los demás nodos; clave null invalida toda la cache.
+     * Se confirma con la transacción en curso, si la hay.
+     */
+    public void publicar(String cache, String clave) {
+        invalidacionRepo.save(InvalidacionCache.builder()
+                .cache(cache)
+                .clave(clave)
+                .origen(nodo)
+                .fecha(LocalDateTime.now())
+                .build());
+        publicadas.increment();
+    }
+
+    @Scheduled(initialDelayString = "${cache.invalidacion.intervalo-ms:2000}",
+               fixedDelayString = "${cache.invalidacion.intervalo-ms:2000}")
+    public void sondearProgramado() {
+        try {
+            sondear();
+        } catch (Exception e) {
+            logger.error("Falló la lectura de invalidaciones de cache", e);
+        }
+    }
+
+    /**
+     * Aplica las invalidaciones de otros nodos confirmadas desde la última consulta.
+     * Devuelve cuántas se aplicaron.
+     */
+    public synchronized int sondear() {
+        long ahora = System.currentTimeMillis();
+        huecos.values().removeIf(detectado -> ahora - detectado > esperaHuecosMs);
+
+        long desde = huecos.isEmpty() ? ultimaVersion : Math.min(ultimaVersion, Collections.min(huecos.keySet()) - 1);
+        List<InvalidacionCache> filas = invalidacionRepo.findSiguientes(desde, Limit.of(maxFilas));
+
+        int aplicadasAhora = 0;
+        for (InvalidacionCache fila : filas) {
+            long id = fila.getId();
+            if (id <= ultimaVersion) {
+                // Entre las ya vistas solo interesan los huecos que se acaban de confirmar
+                if (huecos.remove(id) == null) {
+                    continue;
+                }
+            } else {
+                if (id - ultimaVersion - 1 <= maxFilas) {
+                    for (long h = ultimaVersion + 1; h < id; h++) {
+                        huecos.put(h, ahora);
+                    }
+                } else {
+                    logger.warn("Salto de {} versiones en invalidacion_cache; no se esperan como huecos",
+                            id - ultimaVersion - 1);
+                }
+                ultimaVersion = id;
+            }
+            if (!nodo.equals(fila.getOrigen()) && aplicar(fila)) {
+                aplicadasAhora++;
+            }
+        }
+        aplicadas.increment(aplicadasAhora);
+        return aplicadasAhora;
+    }
+
+    private boolean aplicar(InvalidacionCache fila) {
+        Consumer<String> suscriptor = suscriptores.get(fila.getCache());
+        if (suscriptor == null) {
+            logger.debug("Invalidación para la cache {} sin suscriptor en este nodo", fila.getCache());
+            return false;
+        }
+        try {
+            suscriptor.accept(fila.getClave());
+            return true;
+        } catch (Exception e) {
+            logger.error("Falló la invalidación {} de la cache {}", fila.getClave(), fila.getCache(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Borra las invalidaciones más viejas que cache.invalidacion.retencion-horas. Cualquier nodo
+     * puede hacerlo: el borrado es idempotente y solo toca filas que ya aplicaron todos.
+     */
+    @Scheduled(initialDelayString = "${cache.invalidacion.limpieza-ms:3600000}",
+               fixedDelayString = "${cache.invalidacion.limpieza-ms:3600000}")
+    public void limpiarAntiguas() {
+        try {
+            Integer borradas = transactionTemplate.execute(status ->
+                    invalidacionRepo.borrarAnteriores(LocalDateTime.now().minusHours(retencionHoras)));
+            if (borradas != null && borradas > 0) {
+                logger.info("Invalidaciones de cache borradas: {}", borradas);
+            }
+        } catch (Exception e) {
+            logger.error("Falló la limpieza de invalidacion_cache", e);
+        }
+    }
+
+    public String getNodo() {
+        return nodo;
+    }
+
+    private synchronized double contarHuecos() {
+        return huecos.size();
+    }
+}
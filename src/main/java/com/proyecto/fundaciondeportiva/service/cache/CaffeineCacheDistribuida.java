@@ -0,0 +1,74 @@
+package com.proyecto.fundaciondeportiva.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache Caffeine cuyas invalidaciones (evict / clear) se publican en BusInvalidacionCache
+ * para que los demás nodos las apliquen.
+ *
+ * Dentro de una transacción la invalidación local se hace al confirmar (como
+ * TransactionAwareCacheDecorator) y la fila del bus se confirma con la misma transacción.
+ * Sigue siendo una CaffeineCache, así que actuator mantiene sus métricas cache.*.
+ */
+public class CaffeineCacheDistribuida extends CaffeineCache {
+
+    private final BusInvalidacionCache bus;
+
+    public CaffeineCacheDistribuida(String nombre, Cache<Object, Object> cache,
+                                    boolean permitirNulos, BusInvalidacionCache bus) {
+        super(nombre, cache, permitirNulos);
+        this.bus = bus;
+    }
+
+    @Override
+    public void evict(Object key) {
+        bus.publicar(getName(), String.valueOf(key));
+        alConfirmar(() -> super.evict(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        bus.publicar(getName(), String.valueOf(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        bus.publicar(getName(), null);
+        alConfirmar(super::clear);
+    }
+
+    @Override
+    public boolean invalidate() {
+        bus.publicar(getName(), null);
+        return super.invalidate();
+    }
+
+    /**
+     * Aplica una invalidación recibida de otro nodo, sin volver a publicarla. Las claves viajan
+     * como texto: se quitan las entradas cuya clave tenga esa representación (null: todas).
+     */
+    public void invalidarLocal(String clave) {
+        if (clave == null) {
+            super.clear();
+        } else {
+            getNativeCache().asMap().keySet().removeIf(k -> clave.equals(String.valueOf(k)));
+        }
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
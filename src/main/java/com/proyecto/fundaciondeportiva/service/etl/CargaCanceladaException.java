@@ -0,0 +1,18 @@
+package com.proyecto.fundaciondeportiva.service.etl;
+
+/**
+ * La carga se detuvo a pedido del usuario. Los lotes hasta ultimaFilaConfirmada quedaron guardados.
+ */
+public class CargaCanceladaException extends RuntimeException {
+
+    private final int ultimaFilaConfirmada;
+
+    public CargaCanceladaException(int ultimaFilaConfirmada) {
+        super("Carga cancelada después de la fila " + ultimaFilaConfirmada);
+        this.ultimaFilaConfirmada = ultimaFilaConfirmada;
+    }
+
+    public int getUltimaFilaConfirmada() {
+        return ultimaFilaConfirmada;
+    }
+}
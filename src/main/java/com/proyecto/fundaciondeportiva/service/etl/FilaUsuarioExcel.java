@@ -0,0 +1,113 @@
+package com.proyecto.fundaciondeportiva.service.etl;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.math.BigDecimal;
+
+/**
+ * Una fila del Excel de carga masiva de usuarios, ya leída y normalizada
+ * (email en minúsculas, rol y nivel en mayúsculas, celdas recortadas).
+ *
+ * Columnas: nombre, email, rol, dni, tel. emergencia, nivel, grado,
+ * tel. profesor, experiencia, password.
+ */
+public record FilaUsuarioExcel(
+        String nombre,
+        String email,
+        String rol,
+        String dni,
+        String telEmergencia,
+        String nivel,
+        String grado,
+        String telProfesor,
+        String experiencia,
+        String passwordPlano
+) {
+
+    public static final int NUMERO_COLUMNAS = 10;
+
+    public static FilaUsuarioExcel desdeFila(Row row) {
+        String[] valores = new String[NUMERO_COLUMNAS];
+        for (int i = 0; i < NUMERO_COLUMNAS; i++) {
+            valores[i] = getStringCell(row, i);
+        }
+        return desdeValores(valores);
+    }
+
+    /**
+     * Construye la fila desde los valores ya leídos de las 10 columnas
+     * (lector por streaming); aplica la misma normalización que desdeFila.
+     */
+    public static FilaUsuarioExcel desdeValores(String[] valores) {
+        return new FilaUsuarioExcel(
+                recortar(valores[0]),
+                safeLower(valores[1]),
+                safeUpper(valores[2]),
+                recortar(valores[3]),
+                recortar(valores[4]),
+                safeUpper(valores[5]),
+                recortar(valores[6]),
+                recortar(valores[7]),
+                recortar(valores[8]),
+                recortar(valores[9])
+        );
+    }
+
+    public static boolean esVacia(String[] valores) {
+        for (String v : valores) {
+            if (!isBlank(v)) return false;
+        }
+        return true;
+    }
+
+    public static boolean esFilaVacia(Row row) {
+        if (row == null) return true;
+        // Revisamos columnas 0..9 (10 columnas)
+        for (int i = 0; i < NUMERO_COLUMNAS; i++) {
+            String v = getStringCell(row, i);
+            if (!isBlank(v)) return false;
+        }
+        return true;
+    }
+
+    public static String getStringCell(Row row, int index) {
+        if (row == null) return null;
+        Cell cell = row.getCell(index);
+        if (cell == null) return null;
+
+        return switch (cell.getCellType()) {
+            case STRING -> cell.getStringCellValue().trim();
+            case NUMERIC -> {
+                BigDecimal bd = BigDecimal.valueOf(cell.getNumericCellValue());
+                yield bd.toPlainString();
+            }
+            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
+            case FORMULA -> {
+                try {
+                    yield cell.getStringCellValue().trim();
+                } catch (Exception e) {
+                    BigDecimal bd = BigDecimal.valueOf(cell.getNumericCellValue());
+                    yield bd.toPlainString();
+                }
+            }
+            default -> null;
+        };
+    }
+
+    public static boolean isBlank(String s) {
+        return s == null || s.trim().isEmpty();
+    }
+
+    private static String recortar(String s) {
+        return s == null ? null : s.trim();
+    }
+
+    private static String safeLower(String s) {
+        return s == null ? null : s.toLowerCase().trim();
+    }
+
+    private static String safeUpper(String s) {
+        return s == null ? null : s.toUpperCase().trim();
+    }
+}
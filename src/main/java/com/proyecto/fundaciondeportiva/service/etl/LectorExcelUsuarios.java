@@ -0,0 +1,164 @@
+package com.proyecto.fundaciondeportiva.service.etl;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Lee la primera hoja del Excel de usuarios fila por fila.
+ *
+ * - .xlsx: streaming SAX (XSSFReader), memoria constante sin importar el tamaño del archivo.
+ * - .xls: no tiene modelo por eventos compatible, se carga completo con WorkbookFactory
+ *   (el formato limita a 65.536 filas).
+ *
+ * Se salta la primera fila (encabezado) y las filas vacías. El número de fila que recibe el
+ * consumidor es el de Excel (1 = encabezado).
+ */
+public final class LectorExcelUsuarios {
+
+    @FunctionalInterface
+    public interface ConsumidorFila {
+        void aceptar(int numeroFila, FilaUsuarioExcel fila);
+    }
+
+    private LectorExcelUsuarios() {
+    }
+
+    public static void leer(Path archivo, ConsumidorFila consumidor) throws IOException {
+        FileMagic tipo;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(archivo))) {
+            tipo = FileMagic.valueOf(in);
+        }
+
+        if (tipo == FileMagic.OOXML) {
+            leerStreaming(archivo, consumidor);
+        } else {
+            leerCompleto(archivo, consumidor);
+        }
+    }
+
+    // ==========================================================
+    // XLSX (SAX)
+    // ==========================================================
+
+    private static void leerStreaming(Path archivo, ConsumidorFila consumidor) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(archivo.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+
+            Iterator<InputStream> hojas = reader.getSheetsData();
+            if (!hojas.hasNext()) {
+                return;
+            }
+            try (InputStream hoja = hojas.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        reader.getStylesTable(), null, strings,
+                        new ManejadorFilas(consumidor), new FormatoNumerico(), false));
+                parser.parse(new InputSource(hoja));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("No se pudo leer el Excel: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Acumula las 10 columnas de cada fila y la entrega al terminarla.
+     */
+    private static final class ManejadorFilas implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ConsumidorFila consumidor;
+        private final String[] valores = new String[FilaUsuarioExcel.NUMERO_COLUMNAS];
+        private boolean encabezadoLeido;
+        private int filaActual;
+
+        private ManejadorFilas(ConsumidorFila consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            filaActual = rowNum + 1;
+            Arrays.fill(valores, null);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int columna = new CellReference(cellReference).getCol();
+            if (columna < valores.length) {
+                valores[columna] = formattedValue;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!encabezadoLeido) {
+                encabezadoLeido = true;
+                return;
+            }
+            if (FilaUsuarioExcel.esVacia(valores)) {
+                return;
+            }
+            consumidor.aceptar(filaActual, FilaUsuarioExcel.desdeValores(valores));
+        }
+    }
+
+    /**
+     * Números como los lee FilaUsuarioExcel.getStringCell (BigDecimal sin notación científica),
+     * para que un DNI o teléfono numérico dé el mismo texto en ambos lectores.
+     */
+    private static final class FormatoNumerico extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return BigDecimal.valueOf(value).toPlainString();
+        }
+    }
+
+    // ==========================================================
+    // XLS (modelo completo)
+    // ==========================================================
+
+    private static void leerCompleto(Path archivo, ConsumidorFila consumidor) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(archivo.toFile(), null, true)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            boolean encabezadoLeido = false;
+
+            for (Row row : sheet) {
+                if (!encabezadoLeido) {
+                    encabezadoLeido = true;
+                    continue;
+                }
+                if (FilaUsuarioExcel.esFilaVacia(row)) {
+                    continue;
+                }
+                consumidor.aceptar(row.getRowNum() + 1, FilaUsuarioExcel.desdeFila(row));
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.proyecto.fundaciondeportiva.service.etl;
+
+import com.proyecto.fundaciondeportiva.dto.response.ErrorFilaDTO;
+
+import java.util.List;
+
+/**
+ * Avance de una carga masiva de usuarios, lote a lote.
+ * Lo usa el runner de jobs ETL para guardar el punto de reanudación y para cancelar.
+ */
+public interface ProgresoCarga {
+
+    ProgresoCarga NINGUNO = new ProgresoCarga() {
+        @Override
+        public void loteConfirmado(LoteConfirmado lote) {
+        }
+
+        @Override
+        public boolean cancelado() {
+            return false;
+        }
+    };
+
+    /**
+     * Se llama dentro de la misma transacción que inserta los usuarios del lote:
+     * lo que se registre aquí se confirma (o se revierte) junto con ellos.
+     */
+    void loteConfirmado(LoteConfirmado lote);
+
+    /**
+     * Se consulta después de cada lote; si devuelve true la carga se detiene.
+     */
+    boolean cancelado();
+
+    record LoteConfirmado(int ultimaFila, int procesadas, int exitosas, int duplicados,
+                          List<ErrorFilaDTO> errores) {
+    }
+}
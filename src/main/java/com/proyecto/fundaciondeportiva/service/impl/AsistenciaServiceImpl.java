@@ -1,25 +1,30 @@
 package com.proyecto.fundaciondeportiva.service.impl;
 
+import com.proyecto.fundaciondeportiva.config.ContadorConsultasHibernate;
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.RegistrarAsistenciasSesionRequest;
 import com.proyecto.fundaciondeportiva.dto.request.RegistroAsistenciaAlumnoRequest;
 import com.proyecto.fundaciondeportiva.dto.response.AsistenciaAlumnoSemanaDTO;
 import com.proyecto.fundaciondeportiva.dto.response.AsistenciaDetalleAlumnoDTO;
+import com.proyecto.fundaciondeportiva.dto.response.RegistroAsistenciasResultadoDTO;
+import com.proyecto.fundaciondeportiva.event.AsistenciaRegistradaEvent;
 import com.proyecto.fundaciondeportiva.exception.ResourceNotFoundException;
+import com.proyecto.fundaciondeportiva.exception.ValidacionException;
 import com.proyecto.fundaciondeportiva.model.entity.Asistencia;
-import com.proyecto.fundaciondeportiva.model.entity.ConfiguracionMatricula;
 import com.proyecto.fundaciondeportiva.model.entity.Matricula;
 import com.proyecto.fundaciondeportiva.model.entity.Sesion;
 import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
 import com.proyecto.fundaciondeportiva.model.enums.Rol;
 import com.proyecto.fundaciondeportiva.repository.AsistenciaRepository;
-import com.proyecto.fundaciondeportiva.repository.ConfiguracionMatriculaRepository;
+import com.proyecto.fundaciondeportiva.repository.AsistenciaRepositoryCustom;
 import com.proyecto.fundaciondeportiva.repository.MatriculaRepository;
 import com.proyecto.fundaciondeportiva.repository.SesionRepository;
-import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
 import com.proyecto.fundaciondeportiva.service.AsistenciaService;
+import com.proyecto.fundaciondeportiva.service.ConfiguracionMatriculaService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -35,18 +40,16 @@ public class AsistenciaServiceImpl implements AsistenciaService {
     private SesionRepository sesionRepository;
 
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private MatriculaRepository matriculaRepository;
 
     @Autowired
-    private MatriculaRepository matriculaRepository;
+    private ConfiguracionMatriculaService configuracionMatriculaService;
 
     @Autowired
-    private ConfiguracionMatriculaRepository configuracionMatriculaRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     private String obtenerCicloActual() {
-        return configuracionMatriculaRepository.findFirstByOrderByIdAsc()
-                .map(ConfiguracionMatricula::getCicloActual)
-                .orElse("2025-II");
+        return configuracionMatriculaService.obtenerCicloActual();
     }
 
     // ========= DOCENTE/ADMIN: VER ASISTENCIAS DE UNA SESIÓN =========
@@ -100,70 +103,78 @@ public class AsistenciaServiceImpl implements AsistenciaService {
     }
 
     // ========= DOCENTE/ADMIN: REGISTRAR/ACTUALIZAR ASISTENCIAS =========
+    // Sentencias: sesión+sección, matrículas de la sección y el batch de upsert (el ciclo sale de la cache).
+    // Ya no se consulta ni se guarda alumno por alumno.
     @Override
     @Transactional
-    public void registrarAsistenciasSesion(RegistrarAsistenciasSesionRequest request, String emailUsuario) {
+    public RegistroAsistenciasResultadoDTO registrarAsistenciasSesion(RegistrarAsistenciasSesionRequest request, UsuarioAutenticado usuario) {
 
-        Sesion sesion = sesionRepository.findById(request.getSesionId())
-                .orElseThrow(() -> new ResourceNotFoundException("Sesión no encontrada"));
+        int sentenciasAntes = ContadorConsultasHibernate.sentenciasHastaAhora();
 
-        Usuario usuario = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+        Sesion sesion = sesionRepository.findByIdConSeccion(request.getSesionId())
+                .orElseThrow(() -> new ResourceNotFoundException("Sesión no encontrada"));
 
-        // Permisos
-        if (usuario.getRol() == Rol.PROFESOR) {
+        // Permisos (id y rol del token)
+        if (usuario.rol() == Rol.PROFESOR) {
             if (sesion.getSeccion().getProfesor() == null ||
-                    !sesion.getSeccion().getProfesor().getId().equals(usuario.getId())) {
+                    !sesion.getSeccion().getProfesor().getId().equals(usuario.id())) {
                 throw new RuntimeException("No puedes registrar asistencia en una sección que no es tuya.");
             }
-        } else if (usuario.getRol() != Rol.ADMINISTRADOR) {
+        } else if (usuario.rol() != Rol.ADMINISTRADOR) {
             throw new RuntimeException("No tienes permiso para registrar asistencias.");
         }
 
         Long seccionId = sesion.getSeccion().getId();
         String cicloActual = obtenerCicloActual();
 
+        // Precarga: alumnoId -> matrícula ACTIVA del ciclo (una sola consulta)
+        Map<Long, Long> matriculaPorAlumnoId = matriculaRepository
+                .findBySeccionIdAndCicloAndEstado(seccionId, cicloActual, EstadoMatricula.ACTIVA)
+                .stream()
+                .collect(Collectors.toMap(m -> m.getAlumno().getId(), Matricula::getId, (m1, m2) -> m1));
+
+        // Si el mismo alumno viene dos veces, prevalece el último registro
+        Map<Long, AsistenciaRepositoryCustom.FilaAsistencia> filas = new LinkedHashMap<>();
         for (RegistroAsistenciaAlumnoRequest reg : request.getRegistros()) {
 
-            Matricula matriculaActiva = matriculaRepository
-                    .findByAlumnoIdAndSeccionIdAndCicloAndEstado(
-                            reg.getAlumnoId(),
-                            seccionId,
-                            cicloActual,
-                            EstadoMatricula.ACTIVA
-                    )
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "No existe matrícula ACTIVA para el alumno en esta sección (ciclo " + cicloActual + ")."
-                    ));
-
-            Asistencia asistencia = asistenciaRepository
-                    .findByMatriculaIdAndSesionId(matriculaActiva.getId(), sesion.getId())
-                    .orElseGet(() -> {
-                        Asistencia nueva = new Asistencia();
-                        nueva.setSesion(sesion);
-                        nueva.setMatricula(matriculaActiva);
-
-                        return nueva;
-                    });
-
-            asistencia.setEstado(reg.getEstado());
-            asistencia.setObservaciones(reg.getObservaciones());
-
-            asistenciaRepository.save(asistencia);
+            Long matriculaId = matriculaPorAlumnoId.get(reg.getAlumnoId());
+            if (matriculaId == null) {
+                throw new ResourceNotFoundException(
+                        "No existe matrícula ACTIVA para el alumno en esta sección (ciclo " + cicloActual + ")."
+                );
+            }
+            if (reg.getEstado() == null) {
+                throw new ValidacionException("El estado de asistencia es obligatorio (alumno ID " + reg.getAlumnoId() + ").");
+            }
+
+            filas.put(matriculaId, new AsistenciaRepositoryCustom.FilaAsistencia(
+                    matriculaId, reg.getEstado(), reg.getObservaciones()));
         }
+
+        // INSERT ... ON DUPLICATE KEY UPDATE sobre (sesion_id, matricula_id): no hace falta leer las existentes
+        int batches = asistenciaRepository.upsertLote(sesion.getId(), new ArrayList<>(filas.values()));
+
+        // Lo que contó Hibernate en este método más los batches JDBC, que no pasan por Hibernate
+        int sentencias = ContadorConsultasHibernate.sentenciasHastaAhora() - sentenciasAntes + batches;
+
+        // El monitor descarta su snapshot cuando se confirma la transacción
+        eventPublisher.publishEvent(new AsistenciaRegistradaEvent(sesion.getId(), seccionId));
+
+        return RegistroAsistenciasResultadoDTO.builder()
+                .sesionId(sesion.getId())
+                .registrosProcesados(filas.size())
+                .sentenciasEjecutadas(sentencias)
+                .build();
     }
 
     // ========= ALUMNO: VER MIS ASISTENCIAS EN UNA SECCIÓN =========
     @Override
-    public List<AsistenciaAlumnoSemanaDTO> obtenerMisAsistenciasEnSeccion(Long seccionId, String emailAlumno) {
-
-        Usuario alumno = usuarioRepository.findByEmail(emailAlumno)
-                .orElseThrow(() -> new ResourceNotFoundException("Alumno no encontrado"));
+    public List<AsistenciaAlumnoSemanaDTO> obtenerMisAsistenciasEnSeccion(Long seccionId, Long alumnoId) {
 
         String cicloActual = obtenerCicloActual();
 
         Matricula matriculaActiva = matriculaRepository
-                .findByAlumnoIdAndSeccionIdAndCicloAndEstado(alumno.getId(), seccionId, cicloActual, EstadoMatricula.ACTIVA)
+                .findByAlumnoIdAndSeccionIdAndCicloAndEstado(alumnoId, seccionId, cicloActual, EstadoMatricula.ACTIVA)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "No tienes matrícula activa en esta sección (ciclo " + cicloActual + ")."
                 ));
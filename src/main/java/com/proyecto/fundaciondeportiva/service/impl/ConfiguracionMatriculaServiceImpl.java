@@ -1,5 +1,6 @@
 package com.proyecto.fundaciondeportiva.service.impl;
 
+import com.proyecto.fundaciondeportiva.config.CacheConfig;
 import com.proyecto.fundaciondeportiva.dto.response.ConfiguracionMatriculaResponse;
 import com.proyecto.fundaciondeportiva.exception.RecursoNoEncontradoException;
 import com.proyecto.fundaciondeportiva.exception.ValidacionException;
@@ -7,6 +8,8 @@ import com.proyecto.fundaciondeportiva.model.entity.ConfiguracionMatricula;
 import com.proyecto.fundaciondeportiva.repository.ConfiguracionMatriculaRepository;
 import com.proyecto.fundaciondeportiva.service.ConfiguracionMatriculaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +23,7 @@ public class ConfiguracionMatriculaServiceImpl implements ConfiguracionMatricula
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CONFIGURACION_MATRICULA, key = "'configuracion'")
     public ConfiguracionMatriculaResponse obtenerConfiguracionMatricula() {
         ConfiguracionMatricula config = configuracionMatriculaRepository.findFirstByOrderByIdAsc()
                 .orElseThrow(() -> new RecursoNoEncontradoException("No existe configuración de matrícula."));
@@ -27,8 +31,20 @@ public class ConfiguracionMatriculaServiceImpl implements ConfiguracionMatricula
         return ConfiguracionMatriculaResponse.deEntidad(config);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CONFIGURACION_MATRICULA, key = "'cicloActual'")
+    public String obtenerCicloActual() {
+        return configuracionMatriculaRepository.findFirstByOrderByIdAsc()
+                .map(ConfiguracionMatricula::getCicloActual)
+                .orElse("2025-II");
+    }
+
+    // Las escrituras leen siempre de la BD y vacían la cache al confirmar
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONFIGURACION_MATRICULA, allEntries = true)
     public ConfiguracionMatriculaResponse actualizarFechasMatricula(LocalDate fechaInicio, LocalDate fechaFin) {
         ConfiguracionMatricula config = configuracionMatriculaRepository.findFirstByOrderByIdAsc()
                 .orElseThrow(() -> new RecursoNoEncontradoException("No existe configuración de matrícula."));
@@ -49,6 +65,7 @@ public class ConfiguracionMatriculaServiceImpl implements ConfiguracionMatricula
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONFIGURACION_MATRICULA, allEntries = true)
     public ConfiguracionMatriculaResponse actualizarPermisoGlobalMatricula(boolean habilitado) {
         ConfiguracionMatricula config = configuracionMatriculaRepository.findFirstByOrderByIdAsc()
                 .orElseThrow(() -> new RecursoNoEncontradoException("No existe configuración de matrícula."));
@@ -62,6 +79,7 @@ public class ConfiguracionMatriculaServiceImpl implements ConfiguracionMatricula
     // NUEVO
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONFIGURACION_MATRICULA, allEntries = true)
     public ConfiguracionMatriculaResponse actualizarCicloActual(String cicloActual) {
         ConfiguracionMatricula config = configuracionMatriculaRepository.findFirstByOrderByIdAsc()
                 .orElseThrow(() -> new RecursoNoEncontradoException("No existe configuración de matrícula."));
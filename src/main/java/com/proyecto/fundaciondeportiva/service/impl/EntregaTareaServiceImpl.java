@@ -1,10 +1,10 @@
 package com.proyecto.fundaciondeportiva.service.impl;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.response.EntregaTareaDTO;
 import com.proyecto.fundaciondeportiva.exception.ResourceNotFoundException;
 import com.proyecto.fundaciondeportiva.model.entity.EntregaTarea;
 import com.proyecto.fundaciondeportiva.model.entity.Recurso;
-import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.Rol;
 import com.proyecto.fundaciondeportiva.model.enums.TipoRecurso;
 import com.proyecto.fundaciondeportiva.repository.EntregaTareaRepository;
@@ -38,7 +38,7 @@ public class EntregaTareaServiceImpl implements EntregaTareaService {
                                             String titulo,
                                             String descripcion,
                                             String archivoUrl,
-                                            String emailAlumno) {
+                                            UsuarioAutenticado alumno) {
 
         // 1. Buscar recurso
         Recurso recurso = recursoRepository.findById(recursoId)
@@ -64,17 +64,14 @@ public class EntregaTareaServiceImpl implements EntregaTareaService {
             throw new RuntimeException("Las entregas para esta tarea están deshabilitadas.");
         }
 
-        // 2. Buscar alumno
-        Usuario alumno = usuarioRepository.findByEmail(emailAlumno)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-
-        if (alumno.getRol() != Rol.ALUMNO) {
+        // 2. Alumno: id y rol vienen del token
+        if (alumno.rol() != Rol.ALUMNO) {
             throw new RuntimeException("Solo los alumnos pueden registrar entregas.");
         }
 
         // 3. Ver si ya existe entrega para ese recurso y alumno
         Optional<EntregaTarea> optExistente =
-                entregaTareaRepository.findByRecursoIdAndAlumnoId(recursoId, alumno.getId());
+                entregaTareaRepository.findByRecursoIdAndAlumnoId(recursoId, alumno.id());
 
         EntregaTarea entrega;
         if (optExistente.isPresent()) {
@@ -83,7 +80,8 @@ public class EntregaTareaServiceImpl implements EntregaTareaService {
         } else {
             entrega = new EntregaTarea();
             entrega.setRecurso(recurso);
-            entrega.setAlumno(alumno);
+            // Solo hace falta la FK: referencia sin SELECT
+            entrega.setAlumno(usuarioRepository.getReferenceById(alumno.id()));
         }
 
         entrega.setTitulo(titulo);
@@ -100,24 +98,21 @@ public class EntregaTareaServiceImpl implements EntregaTareaService {
     @Override
     @Transactional
     public List<EntregaTareaDTO> listarEntregasPorRecurso(Long recursoId,
-                                                          String emailProfesor) {
+                                                          UsuarioAutenticado usuario) {
 
         // 1. Buscar recurso
         Recurso recurso = recursoRepository.findById(recursoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Recurso no encontrado"));
 
-        // 2. Verificar permisos del usuario que consulta
-        Usuario usuario = usuarioRepository.findByEmail(emailProfesor)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-
-        if (usuario.getRol() == Rol.ADMINISTRADOR) {
+        // 2. Verificar permisos del usuario que consulta (id y rol del token)
+        if (usuario.rol() == Rol.ADMINISTRADOR) {
             // ok
-        } else if (usuario.getRol() == Rol.PROFESOR) {
+        } else if (usuario.rol() == Rol.PROFESOR) {
             // el profesor debe ser el de la sección donde está la tarea
             if (recurso.getSesion() == null ||
                     recurso.getSesion().getSeccion() == null ||
                     recurso.getSesion().getSeccion().getProfesor() == null ||
-                    !recurso.getSesion().getSeccion().getProfesor().getId().equals(usuario.getId())) {
+                    !recurso.getSesion().getSeccion().getProfesor().getId().equals(usuario.id())) {
                 throw new RuntimeException("No tienes permiso para ver estas entregas.");
             }
         } else {
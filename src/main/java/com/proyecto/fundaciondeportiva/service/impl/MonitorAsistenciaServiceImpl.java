@@ -0,0 +1,111 @@
+package com.proyecto.fundaciondeportiva.service.impl;
+
+import com.proyecto.fundaciondeportiva.dto.projection.MonitorSesionProyeccion;
+import com.proyecto.fundaciondeportiva.dto.response.MonitorAsistenciaSesionDTO;
+import com.proyecto.fundaciondeportiva.event.AsistenciaRegistradaEvent;
+import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
+import com.proyecto.fundaciondeportiva.repository.SesionRepository;
+import com.proyecto.fundaciondeportiva.service.MonitorAsistenciaService;
+import com.proyecto.fundaciondeportiva.service.SemaforoAsistencia;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class MonitorAsistenciaServiceImpl implements MonitorAsistenciaService {
+
+    // Zona horaria Perú
+    private static final ZoneId ZONA = ZoneId.of("America/Lima");
+    private static final DateTimeFormatter HORA_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    @Autowired
+    private SesionRepository sesionRepository;
+
+    // Vigencia del snapshot: todos los coordinadores que consultan dentro de este intervalo comparten una consulta
+    @Value("${monitor.asistencia.ttl-ms:5000}")
+    private long ttlMs;
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public List<MonitorAsistenciaSesionDTO> monitorAsistenciasHoy() {
+        LocalTime ahora = LocalTime.now(ZONA);
+
+        return obtenerFilas(LocalDate.now(ZONA)).stream()
+                .map(fila -> mapearFila(fila, ahora))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void invalidar() {
+        snapshot = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alRegistrarAsistencia(AsistenciaRegistradaEvent evento) {
+        invalidar();
+    }
+
+    // ==========================================================
+    // SNAPSHOT
+    // ==========================================================
+
+    private List<MonitorSesionProyeccion> obtenerFilas(LocalDate hoy) {
+        Snapshot actual = snapshot;
+        if (actual != null && actual.vigente(hoy)) {
+            return actual.filas();
+        }
+
+        // Un solo hilo refresca; los demás esperan y reutilizan el resultado
+        synchronized (this) {
+            actual = snapshot;
+            if (actual != null && actual.vigente(hoy)) {
+                return actual.filas();
+            }
+            List<MonitorSesionProyeccion> filas =
+                    List.copyOf(sesionRepository.findMonitorPorFecha(hoy, EstadoMatricula.ACTIVA));
+            snapshot = new Snapshot(hoy, filas, System.nanoTime() + ttlMs * 1_000_000L);
+            return filas;
+        }
+    }
+
+    private MonitorAsistenciaSesionDTO mapearFila(MonitorSesionProyeccion fila, LocalTime ahora) {
+        int totalAlumnos = fila.getTotalAlumnos().intValue();
+        int conAsistencia = fila.getConAsistencia().intValue();
+        int sinAsistencia = Math.max(totalAlumnos - conAsistencia, 0);
+
+        // si la sesión no tiene hora_inicio en BD, usamos el turno como fallback
+        LocalTime horaInicioReal = fila.getHoraInicio() != null
+                ? fila.getHoraInicio()
+                : SemaforoAsistencia.obtenerHoraInicioBase(fila.getTurno());
+
+        return MonitorAsistenciaSesionDTO.builder()
+                .sesionId(fila.getSesionId())
+                .seccionId(fila.getSeccionId())
+                .nombreSeccion(fila.getNombreSeccion())
+                .curso(fila.getCurso())
+                .gradoSeccion(fila.getGradoSeccion())
+                .nivelSeccion(fila.getNivelSeccion() != null ? fila.getNivelSeccion().name() : null)
+                .horaInicio(horaInicioReal != null ? horaInicioReal.format(HORA_FORMATTER) : null)
+                .horaFin(fila.getHoraFin() != null ? fila.getHoraFin().format(HORA_FORMATTER) : null)
+                .totalAlumnos(totalAlumnos)
+                .conAsistencia(conAsistencia)
+                .sinAsistencia(sinAsistencia)
+                .estadoSemaforo(SemaforoAsistencia.calcularEstado(horaInicioReal, ahora, sinAsistencia))
+                .build();
+    }
+
+    private record Snapshot(LocalDate fecha, List<MonitorSesionProyeccion> filas, long expiraNanos) {
+        boolean vigente(LocalDate hoy) {
+            return fecha.equals(hoy) && System.nanoTime() - expiraNanos < 0;
+        }
+    }
+}
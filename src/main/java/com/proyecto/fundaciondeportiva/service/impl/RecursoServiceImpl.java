@@ -1,18 +1,17 @@
 // src/main/java/com/proyecto/fundaciondeportiva/service/impl/RecursoServiceImpl.java
 package com.proyecto.fundaciondeportiva.service.impl;
 
+import com.proyecto.fundaciondeportiva.config.UsuarioAutenticado;
 import com.proyecto.fundaciondeportiva.dto.request.RecursoRequest;
 import com.proyecto.fundaciondeportiva.dto.response.RecursoDTO;
 import com.proyecto.fundaciondeportiva.exception.ResourceNotFoundException;
 import com.proyecto.fundaciondeportiva.model.entity.Recurso;
 import com.proyecto.fundaciondeportiva.model.entity.Sesion;
-import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.MomentoSesion;
 import com.proyecto.fundaciondeportiva.model.enums.Rol;
 import com.proyecto.fundaciondeportiva.model.enums.TipoRecurso;
 import com.proyecto.fundaciondeportiva.repository.RecursoRepository;
 import com.proyecto.fundaciondeportiva.repository.SesionRepository;
-import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
 import com.proyecto.fundaciondeportiva.service.RecursoService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,9 +35,6 @@ public class RecursoServiceImpl implements RecursoService {
     @Autowired
     private SesionRepository sesionRepository;
 
-    @Autowired
-    private UsuarioRepository usuarioRepository;
-
     // directorio base donde se guardarán los archivos
     @Value("${file.upload-dir}")
     private String uploadDir;
@@ -55,7 +51,7 @@ public class RecursoServiceImpl implements RecursoService {
 
     @Override
     @Transactional
-    public RecursoDTO crearRecurso(RecursoRequest request, String emailProfesor) {
+    public RecursoDTO crearRecurso(RecursoRequest request, UsuarioAutenticado usuario) {
 
         System.out.println("RecursoRequest recibido: "
                 + "sesionId=" + request.getSesionId()
@@ -67,9 +63,6 @@ public class RecursoServiceImpl implements RecursoService {
         Sesion sesion = sesionRepository.findById(request.getSesionId())
                 .orElseThrow(() -> new ResourceNotFoundException("Sesión no encontrada"));
 
-        Usuario usuario = usuarioRepository.findByEmail(emailProfesor)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-
         validarPermisos(usuario, sesion);
 
         Recurso recurso = new Recurso();
@@ -100,7 +93,7 @@ public class RecursoServiceImpl implements RecursoService {
             String momentoStr,
             String tipoRecursoStr,
             MultipartFile archivo,
-            String emailProfesor
+            UsuarioAutenticado usuario
     ) {
 
         if (archivo == null || archivo.isEmpty()) {
@@ -110,9 +103,6 @@ public class RecursoServiceImpl implements RecursoService {
         Sesion sesion = sesionRepository.findById(sesionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Sesión no encontrada"));
 
-        Usuario usuario = usuarioRepository.findByEmail(emailProfesor)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-
         validarPermisos(usuario, sesion);
 
         MomentoSesion momento = MomentoSesion.valueOf(momentoStr);    // ANTES / DURANTE / DESPUES
@@ -162,7 +152,7 @@ public class RecursoServiceImpl implements RecursoService {
     // NUEVO: actualizar recurso
     @Override
     @Transactional
-    public RecursoDTO actualizarRecurso(Long id, RecursoRequest request, String emailProfesor) {
+    public RecursoDTO actualizarRecurso(Long id, RecursoRequest request, UsuarioAutenticado usuario) {
 
         Recurso recurso = recursoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Recurso no encontrado"));
@@ -177,9 +167,6 @@ public class RecursoServiceImpl implements RecursoService {
             recurso.setSesion(sesion);
         }
 
-        Usuario usuario = usuarioRepository.findByEmail(emailProfesor)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-
         validarPermisos(usuario, sesion);
 
         // Actualizar campos editables
@@ -201,16 +188,13 @@ public class RecursoServiceImpl implements RecursoService {
     // NUEVO: eliminar recurso
     @Override
     @Transactional
-    public void eliminarRecurso(Long id, String emailProfesor) {
+    public void eliminarRecurso(Long id, UsuarioAutenticado usuario) {
 
         Recurso recurso = recursoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Recurso no encontrado"));
 
         Sesion sesion = recurso.getSesion();
 
-        Usuario usuario = usuarioRepository.findByEmail(emailProfesor)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-
         validarPermisos(usuario, sesion);
 
         recursoRepository.delete(recurso);
@@ -218,14 +202,15 @@ public class RecursoServiceImpl implements RecursoService {
 
     // --- helpers privados ---
 
-    private void validarPermisos(Usuario usuario, Sesion sesion) {
-        if (usuario.getRol() == Rol.ADMINISTRADOR) {
+    // id y rol vienen del token: no hace falta cargar el usuario
+    private void validarPermisos(UsuarioAutenticado usuario, Sesion sesion) {
+        if (usuario.rol() == Rol.ADMINISTRADOR) {
             return;
         }
-        if (usuario.getRol() == Rol.PROFESOR) {
+        if (usuario.rol() == Rol.PROFESOR) {
             if (sesion.getSeccion().getProfesor() == null ||
-                    !sesion.getSeccion().getProfesor().getId().equals(usuario.getId())) {
-                System.out.println("Permiso denegado: usuario " + usuario.getEmail()
+                    !sesion.getSeccion().getProfesor().getId().equals(usuario.id())) {
+                System.out.println("Permiso denegado: usuario " + usuario.email()
                         + " intenta crear/editar/eliminar recurso en sección " + sesion.getSeccion().getId());
                 throw new RuntimeException("No puedes registrar recursos en una sección que no es tuya.");
             }
@@ -1,7 +1,9 @@
 package com.proyecto.fundaciondeportiva.service.impl;
 
+import com.proyecto.fundaciondeportiva.config.CacheConfig;
 import com.proyecto.fundaciondeportiva.dto.request.CursoRequestDTO;
 import com.proyecto.fundaciondeportiva.dto.response.CursoResponseDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.exception.RecursoNoEncontradoException;
 import com.proyecto.fundaciondeportiva.exception.ValidacionException;
 import com.proyecto.fundaciondeportiva.model.entity.Curso;
@@ -11,6 +13,10 @@ import com.proyecto.fundaciondeportiva.repository.CursoRepository;
 import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
 import com.proyecto.fundaciondeportiva.service.ServicioCurso;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -36,6 +42,7 @@ public class ServicioCursoImpl implements ServicioCurso {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CURSOS, key = "'todos'")
     public List<CursoResponseDTO> listarTodosLosCursos() {
         logger.info("Listando todos los cursos");
         return cursoRepository.findAll()
@@ -46,6 +53,16 @@ public class ServicioCursoImpl implements ServicioCurso {
 
     @Override
     @Transactional(readOnly = true)
+    public PaginaCursorDTO<CursoResponseDTO> paginarCursos(String cursor, Integer limite, NivelAcademico nivel) {
+        int tamanio = PaginaCursorDTO.normalizarLimite(limite);
+        List<Curso> filas = cursoRepository.buscarPagina(
+                PaginaCursorDTO.decodificarCursor(cursor), nivel, Limit.of(tamanio + 1));
+        return PaginaCursorDTO.desdeFilas(filas, tamanio, Curso::getId, CursoResponseDTO::deEntidad);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CURSOS, key = "'id:' + #id")
     public CursoResponseDTO obtenerCursoPorId(Long id) {
         logger.info("Obteniendo curso con id: {}", id);
         Curso curso = cursoRepository.findById(id)
@@ -55,6 +72,7 @@ public class ServicioCursoImpl implements ServicioCurso {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CURSOS, key = "'nivel:' + #nivel")
     public List<CursoResponseDTO> listarCursosPorNivel(NivelAcademico nivel) {
         logger.info("Listando cursos por nivel: {}", nivel);
         return cursoRepository.findByNivelDestino(nivel)
@@ -65,17 +83,18 @@ public class ServicioCursoImpl implements ServicioCurso {
 
     @Override
     @Transactional
-    public CursoResponseDTO crearCurso(CursoRequestDTO request, String emailAdmin) {
-        logger.info("Iniciando creación de curso. Email admin: {}", emailAdmin);
+    @CacheEvict(cacheNames = CacheConfig.CURSOS, allEntries = true)
+    public CursoResponseDTO crearCurso(CursoRequestDTO request, Long adminId) {
+        logger.info("Iniciando creación de curso. ID admin: {}", adminId);
         logger.debug("Datos del curso: titulo={}, nivel={}", request.getTitulo(), request.getNivelDestino());
 
         try {
-            // Buscar usuario administrador
-            logger.debug("Buscando usuario administrador con email: {}", emailAdmin);
-            Usuario admin = usuarioRepository.findByEmail(emailAdmin)
+            // Buscar usuario administrador (por id del token; su nombre va en la respuesta)
+            logger.debug("Buscando usuario administrador con id: {}", adminId);
+            Usuario admin = usuarioRepository.findById(adminId)
                     .orElseThrow(() -> {
-                        logger.error("Usuario administrador no encontrado: {}", emailAdmin);
-                        return new RecursoNoEncontradoException("Usuario administrador no encontrado: " + emailAdmin);
+                        logger.error("Usuario administrador no encontrado: {}", adminId);
+                        return new RecursoNoEncontradoException("Usuario administrador no encontrado: " + adminId);
                     });
 
             logger.info("Usuario administrador encontrado: {} (ID: {})", admin.getNombre(), admin.getId());
@@ -109,6 +128,11 @@ public class ServicioCursoImpl implements ServicioCurso {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CURSOS, allEntries = true),
+            // Las cabeceras de sección llevan código y título del curso
+            @CacheEvict(cacheNames = CacheConfig.SECCIONES, allEntries = true)
+    })
     public CursoResponseDTO actualizarCurso(Long id, CursoRequestDTO request) {
         logger.info("Actualizando curso con id: {}", id);
 
@@ -140,6 +164,10 @@ public class ServicioCursoImpl implements ServicioCurso {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CURSOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SECCIONES, allEntries = true)
+    })
     public void eliminarCurso(Long id) {
         logger.info("Eliminando curso con id: {}", id);
 
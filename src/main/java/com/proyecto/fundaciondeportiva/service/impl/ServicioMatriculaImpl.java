@@ -1,24 +1,32 @@
 package com.proyecto.fundaciondeportiva.service.impl;
 
+import com.proyecto.fundaciondeportiva.config.CacheConfig;
 import com.proyecto.fundaciondeportiva.model.entity.ConfiguracionMatricula;
 
 import com.proyecto.fundaciondeportiva.dto.request.MatriculaRequestDTO;
 import com.proyecto.fundaciondeportiva.dto.response.MatriculaResponseDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
+import com.proyecto.fundaciondeportiva.exception.CupoAgotadoException;
 import com.proyecto.fundaciondeportiva.exception.RecursoNoEncontradoException;
 import com.proyecto.fundaciondeportiva.exception.ValidacionException;
 import com.proyecto.fundaciondeportiva.model.entity.Matricula;
 import com.proyecto.fundaciondeportiva.model.entity.Seccion;
 import com.proyecto.fundaciondeportiva.model.entity.Usuario;
 import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
 import com.proyecto.fundaciondeportiva.model.enums.Rol;
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
 import com.proyecto.fundaciondeportiva.repository.ConfiguracionMatriculaRepository;
 import com.proyecto.fundaciondeportiva.repository.MatriculaRepository;
 import com.proyecto.fundaciondeportiva.repository.SeccionRepository;
 import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
+import com.proyecto.fundaciondeportiva.service.ConfiguracionMatriculaService;
 import com.proyecto.fundaciondeportiva.service.ServicioMatricula;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,12 +53,15 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
     @Autowired
     private ConfiguracionMatriculaRepository configuracionMatriculaRepository;
 
+    @Autowired
+    private ConfiguracionMatriculaService configuracionMatriculaService;
+
     // --- OPERACIONES DE ALUMNO ---
 
     @Override
     @Transactional
     public MatriculaResponseDTO matricularseEnSeccion(Long alumnoId, MatriculaRequestDTO request) {
-        Usuario alumno = usuarioRepository.findById(alumnoId)
+        Usuario alumno = usuarioRepository.findByIdConPerfilAlumno(alumnoId)
                 .orElseThrow(() -> new RecursoNoEncontradoException("Alumno no encontrado con ID: " + alumnoId));
 
         if (alumno.getRol() != Rol.ALUMNO) throw new ValidacionException("El usuario no es un alumno");
@@ -63,39 +74,34 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
         if (!seccion.getActiva()) throw new ValidacionException("La sección no está activa.");
         if (seccion.getFechaFin().isBefore(LocalDate.now())) throw new ValidacionException("La sección ya finalizó.");
 
+        // Validar nivel
+        if (!alumno.getPerfilAlumno().getNivel().equals(seccion.getNivelSeccion())) {
+            throw new ValidacionException("No puedes matricularte. Tu nivel no coincide con la sección.");
+        }
+
         // Ciclo actual
-        String cicloActual = configuracionMatriculaRepository.findFirstByOrderByIdAsc()
-                .map(ConfiguracionMatricula::getCicloActual)
-                .orElse("2025-II");
+        String cicloActual = configuracionMatriculaService.obtenerCicloActual();
 
         // Buscar si ya existe matrícula RETIRADA en el mismo ciclo
         Optional<Matricula> existente = matriculaRepository.findByAlumnoIdAndSeccionIdAndCiclo(alumnoId, seccion.getId(), cicloActual);
 
-        if (existente.isPresent()) {
-            Matricula matriculaExistente = existente.get();
-
-            if (matriculaExistente.getEstado() == EstadoMatricula.RETIRADA) {
-                // Si ya está retirada, reactivar la matrícula
-                matriculaExistente.setEstado(EstadoMatricula.ACTIVA);
-                matriculaExistente.setFechaRetiro(null);  // Eliminar la fecha de retiro
-                matriculaExistente.setObservaciones(request.getObservaciones());
-
-                Matricula guardada = matriculaRepository.save(matriculaExistente);
-                return MatriculaResponseDTO.deEntidad(guardada);
-            } else {
-                throw new ValidacionException("El alumno ya tiene una matrícula activa en esta sección.");
-            }
+        if (existente.isPresent() && existente.get().getEstado() != EstadoMatricula.RETIRADA) {
+            throw new ValidacionException("El alumno ya tiene una matrícula activa en esta sección.");
         }
 
-        // Validación de cupo
-        long matriculasActivas = matriculaRepository.findBySeccionIdAndEstado(seccion.getId(), EstadoMatricula.ACTIVA).size();
-        if (matriculasActivas >= seccion.getCapacidad()) {
-            throw new ValidacionException("La sección alcanzó su capacidad máxima.");
-        }
+        // Reserva atómica del cupo: un único UPDATE condicional. Si la transacción
+        // falla más adelante (p. ej. matrícula duplicada), la reserva se revierte con ella.
+        reservarCupo(seccion.getId());
 
-        // Validar nivel
-        if (!alumno.getPerfilAlumno().getNivel().equals(seccion.getNivelSeccion())) {
-            throw new ValidacionException("No puedes matricularte. Tu nivel no coincide con la sección.");
+        if (existente.isPresent()) {
+            // Si ya está retirada, reactivar la matrícula
+            Matricula matriculaExistente = existente.get();
+            matriculaExistente.setEstado(EstadoMatricula.ACTIVA);
+            matriculaExistente.setFechaRetiro(null);  // Eliminar la fecha de retiro
+            matriculaExistente.setObservaciones(request.getObservaciones());
+
+            Matricula guardada = matriculaRepository.save(matriculaExistente);
+            return MatriculaResponseDTO.deEntidad(guardada);
         }
 
         // Crear nueva matrícula
@@ -118,9 +124,7 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
 
         try {
             // Buscar la matrícula
-            String cicloActual = configuracionMatriculaRepository.findFirstByOrderByIdAsc()
-                    .map(ConfiguracionMatricula::getCicloActual)
-                    .orElse("2025-II");
+            String cicloActual = configuracionMatriculaService.obtenerCicloActual();
 
             Matricula matricula = matriculaRepository
                     .findByAlumnoIdAndSeccionIdAndCicloAndEstado(alumnoId, seccionId, cicloActual, EstadoMatricula.ACTIVA)
@@ -140,6 +144,7 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
             // Actualizar el estado
             matricula.setEstado(EstadoMatricula.RETIRADA);
             matricula.setFechaRetiro(LocalDateTime.now());
+            seccionRepository.liberarCupo(seccionId);
 
             Matricula matriculaActualizada = matriculaRepository.save(matricula);
             logger.info("Alumno retirado exitosamente de la sección");
@@ -233,6 +238,20 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<MatriculaResponseDTO> paginarMatriculas(String cursor, Integer limite, String ciclo,
+                                                                   EstadoMatricula estado, NivelAcademico nivel,
+                                                                   Turno turno, Long profesorId, Long seccionId) {
+        int tamanio = PaginaCursorDTO.normalizarLimite(limite);
+
+        List<Matricula> filas = matriculaRepository.buscarPagina(
+                PaginaCursorDTO.decodificarCursor(cursor), ciclo, estado, nivel, turno, profesorId, seccionId,
+                Limit.of(tamanio + 1));
+
+        return PaginaCursorDTO.desdeFilas(filas, tamanio, Matricula::getId, MatriculaResponseDTO::deEntidad);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public MatriculaResponseDTO obtenerMatriculaPorId(Long id) {
@@ -258,13 +277,14 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
                 matricula.setFechaRetiro(LocalDateTime.now());
             }
 
+            ajustarCupo(matricula, nuevoEstado);
             matricula.setEstado(nuevoEstado);
             Matricula matriculaActualizada = matriculaRepository.save(matricula);
 
             logger.info("Estado de matrícula actualizado exitosamente");
             return MatriculaResponseDTO.deEntidad(matriculaActualizada);
 
-        } catch (RecursoNoEncontradoException e) {
+        } catch (RecursoNoEncontradoException | ValidacionException e) {
             throw e;
         } catch (Exception e) {
             logger.error("Error al actualizar estado de matrícula", e);
@@ -290,6 +310,7 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
 
             // Si la calificación es aprobatoria y el curso terminó, marcar como completada
             if (calificacion >= 11 && matricula.getSeccion().getFechaFin().isBefore(LocalDate.now())) {
+                ajustarCupo(matricula, EstadoMatricula.COMPLETADA);
                 matricula.setEstado(EstadoMatricula.COMPLETADA);
             }
 
@@ -311,12 +332,14 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
     public void eliminarMatricula(Long id) {
         logger.info("Eliminando matrícula con ID: {}", id);
 
-        if (!matriculaRepository.existsById(id)) {
-            throw new RecursoNoEncontradoException("Matrícula no encontrada con ID: " + id);
-        }
+        Matricula matricula = matriculaRepository.findById(id)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Matrícula no encontrada con ID: " + id));
 
         try {
-            matriculaRepository.deleteById(id);
+            if (matricula.getEstado() == EstadoMatricula.ACTIVA) {
+                seccionRepository.liberarCupo(matricula.getSeccion().getId());
+            }
+            matriculaRepository.delete(matricula);
             logger.info("Matrícula eliminada exitosamente");
         } catch (Exception e) {
             logger.error("Error al eliminar matrícula", e);
@@ -326,6 +349,7 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONFIGURACION_MATRICULA, allEntries = true)
     public int resetCicloAcademico() {
         logger.info("Iniciando reinicio de ciclo académico: archivando matrículas activas");
 
@@ -343,6 +367,9 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
             }
             matriculaRepository.saveAll(activas);
             logger.info("Matrículas archivadas: {}", activas.size());
+
+            // Todas las secciones quedan sin matrículas activas
+            seccionRepository.reconciliarCuposOcupados();
         }
 
         // 2) BLOQUEAR MATRÍCULA A NIVEL GLOBAL
@@ -380,4 +407,26 @@ public class ServicioMatriculaImpl implements ServicioMatricula {
         // Devolvemos cuántas matrículas se archivaron, como antes
         return activas.size();
     }
+
+    // --- CONTROL DE CUPOS ---
+
+    private void reservarCupo(Long seccionId) {
+        if (seccionRepository.reservarCupo(seccionId) == 0) {
+            throw new CupoAgotadoException("La sección alcanzó su capacidad máxima.");
+        }
+    }
+
+    /**
+     * Mantiene el contador cupos_ocupados al pasar una matrícula de/hacia ACTIVA.
+     */
+    private void ajustarCupo(Matricula matricula, EstadoMatricula nuevoEstado) {
+        boolean eraActiva = matricula.getEstado() == EstadoMatricula.ACTIVA;
+        boolean seraActiva = nuevoEstado == EstadoMatricula.ACTIVA;
+
+        if (eraActiva && !seraActiva) {
+            seccionRepository.liberarCupo(matricula.getSeccion().getId());
+        } else if (!eraActiva && seraActiva) {
+            reservarCupo(matricula.getSeccion().getId());
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package com.proyecto.fundaciondeportiva.service.impl;
 
+import com.proyecto.fundaciondeportiva.config.CacheConfig;
+import com.proyecto.fundaciondeportiva.dto.projection.EstadisticasSeccionProyeccion;
+import com.proyecto.fundaciondeportiva.dto.projection.SeccionListadoProyeccion;
 import com.proyecto.fundaciondeportiva.dto.request.SeccionRequestDTO;
+import com.proyecto.fundaciondeportiva.dto.response.PaginaCursorDTO;
 import com.proyecto.fundaciondeportiva.dto.response.SeccionResponseDTO;
 import com.proyecto.fundaciondeportiva.exception.RecursoNoEncontradoException;
 import com.proyecto.fundaciondeportiva.exception.ValidacionException;
@@ -17,10 +21,13 @@ import com.proyecto.fundaciondeportiva.repository.PerfilProfesorRepository;
 import com.proyecto.fundaciondeportiva.repository.SeccionRepository;
 import com.proyecto.fundaciondeportiva.repository.SesionRepository;
 import com.proyecto.fundaciondeportiva.repository.UsuarioRepository;
+import com.proyecto.fundaciondeportiva.service.CabeceraSeccionService;
 import com.proyecto.fundaciondeportiva.service.ServicioSeccion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,6 +55,9 @@ public class ServicioSeccionImpl implements ServicioSeccion {
     @Autowired
     private PerfilProfesorRepository perfilProfesorRepository;
 
+    @Autowired
+    private CabeceraSeccionService cabeceraSeccionService;
+
     // ===========================
     //        LISTADOS
     // ===========================
@@ -56,29 +66,27 @@ public class ServicioSeccionImpl implements ServicioSeccion {
     @Transactional(readOnly = true)
     public List<SeccionResponseDTO> listarTodasLasSecciones() {
         logger.info("Listando todas las secciones");
-        return seccionRepository.findAll()
-                .stream()
-                .map(SeccionResponseDTO::deEntidad)
-                .collect(Collectors.toList());
+        return listar(null, null, null, null, null, false);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SeccionResponseDTO> listarSeccionesActivas() {
         logger.info("Listando secciones activas");
-        return seccionRepository.findByActivaTrue()
-                .stream()
-                .map(SeccionResponseDTO::deEntidad)
-                .collect(Collectors.toList());
+        return listar(true, null, null, null, null, false);
     }
 
     @Override
     @Transactional(readOnly = true)
     public SeccionResponseDTO obtenerSeccionPorId(Long id) {
         logger.info("Obteniendo sección con id: {}", id);
-        Seccion seccion = seccionRepository.findById(id)
+        // Cabecera desde la cache; matriculados y semana actual siempre de la BD (una consulta por PK)
+        SeccionResponseDTO cabecera = cabeceraSeccionService.obtener(id);
+        LocalDate hoy = LocalDate.now();
+        EstadisticasSeccionProyeccion estadisticas = seccionRepository.buscarEstadisticas(id, hoy)
                 .orElseThrow(() -> new RecursoNoEncontradoException("Sección no encontrada con id: " + id));
-        return SeccionResponseDTO.deEntidad(seccion);
+        return cabecera.conEstadisticas(
+                estadisticas.getEstudiantesMatriculados(), estadisticas.getSemanaActual(), hoy);
     }
 
     // ===========================
@@ -153,6 +161,7 @@ public class ServicioSeccionImpl implements ServicioSeccion {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SECCIONES, key = "#id")
     public SeccionResponseDTO actualizarSeccion(Long id, SeccionRequestDTO request) {
         logger.info("Actualizando sección con id: {}", id);
 
@@ -230,6 +239,7 @@ public class ServicioSeccionImpl implements ServicioSeccion {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SECCIONES, key = "#id")
     public void eliminarSeccion(Long id) {
         logger.info("Eliminando sección con id: {}", id);
 
@@ -253,6 +263,7 @@ public class ServicioSeccionImpl implements ServicioSeccion {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SECCIONES, key = "#id")
     public void desactivarSeccion(Long id) {
         logger.info("Desactivando sección con id: {}", id);
 
@@ -270,6 +281,7 @@ public class ServicioSeccionImpl implements ServicioSeccion {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SECCIONES, key = "#id")
     public void activarSeccion(Long id) {
         logger.info("Activando sección con id: {}", id);
 
@@ -299,10 +311,7 @@ public class ServicioSeccionImpl implements ServicioSeccion {
             throw new RecursoNoEncontradoException("Curso no encontrado con id: " + cursoId);
         }
 
-        return seccionRepository.findByCursoId(cursoId)
-                .stream()
-                .map(SeccionResponseDTO::deEntidad)
-                .collect(Collectors.toList());
+        return listar(null, cursoId, null, null, null, false);
     }
 
     @Override
@@ -318,40 +327,28 @@ public class ServicioSeccionImpl implements ServicioSeccion {
             throw new ValidacionException("El usuario no es un profesor");
         }
 
-        return seccionRepository.findByProfesorId(profesorId)
-                .stream()
-                .map(SeccionResponseDTO::deEntidad)
-                .collect(Collectors.toList());
+        return listar(null, null, profesorId, null, null, false);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SeccionResponseDTO> listarSeccionesPorTurno(Turno turno) {
         logger.info("Listando secciones del turno: {}", turno);
-        return seccionRepository.findByTurno(turno)
-                .stream()
-                .map(SeccionResponseDTO::deEntidad)
-                .collect(Collectors.toList());
+        return listar(null, null, null, turno, null, false);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SeccionResponseDTO> listarSeccionesConCupo() {
         logger.info("Listando secciones con cupo disponible");
-        return seccionRepository.findSeccionesConCupoDisponible()
-                .stream()
-                .map(SeccionResponseDTO::deEntidad)
-                .collect(Collectors.toList());
+        return listar(true, null, null, null, null, true);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SeccionResponseDTO> listarSeccionesPorNivel(NivelAcademico nivel) {
         logger.info("Listando secciones del nivel: {}", nivel);
-        return seccionRepository.findByNivelAndActiva(nivel)
-                .stream()
-                .map(SeccionResponseDTO::deEntidad)
-                .collect(Collectors.toList());
+        return listar(true, null, null, null, nivel, false);
     }
 
     @Override
@@ -378,16 +375,41 @@ public class ServicioSeccionImpl implements ServicioSeccion {
         logger.info("Profesor encontrado: {} (ID: {})", profesor.getNombre(), profesor.getId());
 
         // Buscar secciones por ID del profesor
-        return seccionRepository.findByProfesorId(profesor.getId())
-                .stream()
-                .map(SeccionResponseDTO::deEntidad)
-                .collect(Collectors.toList());
+        return listar(null, null, profesor.getId(), null, null, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<SeccionResponseDTO> paginarSecciones(String cursor, Integer limite, Boolean activa,
+                                                                Long cursoId, Long profesorId, Turno turno,
+                                                                NivelAcademico nivel, boolean soloConCupo) {
+        int tamanio = PaginaCursorDTO.normalizarLimite(limite);
+        LocalDate hoy = LocalDate.now();
+
+        List<SeccionListadoProyeccion> filas = seccionRepository.listarProyeccion(hoy, activa, cursoId, profesorId,
+                turno, nivel, soloConCupo, PaginaCursorDTO.decodificarCursor(cursor), Limit.of(tamanio + 1));
+
+        return PaginaCursorDTO.desdeFilas(filas, tamanio, SeccionListadoProyeccion::getId,
+                p -> SeccionResponseDTO.deProyeccion(p, hoy));
     }
 
     // ===========================
     //      MÉTODOS PRIVADOS
     // ===========================
 
+    /**
+     * Todos los listados pasan por una sola consulta de proyección (sin cargar entidades).
+     */
+    private List<SeccionResponseDTO> listar(Boolean activa, Long cursoId, Long profesorId,
+                                            Turno turno, NivelAcademico nivel, boolean soloConCupo) {
+        LocalDate hoy = LocalDate.now();
+        return seccionRepository.listarProyeccion(hoy, activa, cursoId, profesorId, turno, nivel, soloConCupo,
+                        0L, Limit.unlimited())
+                .stream()
+                .map(p -> SeccionResponseDTO.deProyeccion(p, hoy))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Valida que las fechas sean consistentes
      */
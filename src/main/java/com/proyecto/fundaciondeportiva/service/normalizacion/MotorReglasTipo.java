@@ -0,0 +1,289 @@
+package com.proyecto.fundaciondeportiva.service.normalizacion;
+
+import com.proyecto.fundaciondeportiva.service.normalizacion.ReglasTipoConfig.ModoRegla;
+import com.proyecto.fundaciondeportiva.service.normalizacion.ReglasTipoConfig.Regla;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Reglas de tipos de evento compiladas. Inmutable: se construye una vez y se comparte entre hilos.
+ *
+ * El tipo se compara en mayúsculas y sin espacios a los extremos, en este orden:
+ * <ol>
+ *   <li>EXACTO y sinónimos: un HashMap.</li>
+ *   <li>PREFIJO: un trie; gana el prefijo más largo.</li>
+ *   <li>CONTIENE: un autómata Aho-Corasick con todos los patrones; una sola pasada sobre el
+ *       texto y, si coinciden varias reglas, gana la que aparece primero en la configuración.</li>
+ *   <li>REGEX: en orden de configuración (find, se pueden anclar con ^ y $).</li>
+ * </ol>
+ * Las tres primeras etapas son O(largo del tipo) sin importar cuántas reglas haya.
+ */
+public final class MotorReglasTipo {
+
+    public static final String REGLA_POR_DEFECTO = "por-defecto";
+
+    private final List<Regla> reglas;
+    private final String porDefecto;
+    private final Map<String, Integer> exactos;
+    private final TriePrefijos prefijos;
+    private final AutomataSubcadenas subcadenas;
+    private final List<ReglaRegex> regex;
+
+    private MotorReglasTipo(List<Regla> reglas, String porDefecto, Map<String, Integer> exactos,
+                            TriePrefijos prefijos, AutomataSubcadenas subcadenas, List<ReglaRegex> regex) {
+        this.reglas = reglas;
+        this.porDefecto = porDefecto;
+        this.exactos = exactos;
+        this.prefijos = prefijos;
+        this.subcadenas = subcadenas;
+        this.regex = regex;
+    }
+
+    /**
+     * Resultado de normalizar un tipo: el tipo canónico y el índice de la regla que coincidió
+     * (-1 si no coincidió ninguna y se usó el tipo por defecto).
+     */
+    public record Coincidencia(String tipo, int regla) {
+    }
+
+    /**
+     * Valida y compila la configuración. Los sinónimos se convierten en reglas EXACTO
+     * ("sinonimo:TIPO") que van antes que las reglas declaradas.
+     */
+    public static MotorReglasTipo compilar(ReglasTipoConfig config) {
+        String porDefecto = normalizarTexto(config.getPorDefecto());
+        if (porDefecto.isEmpty()) {
+            throw new IllegalArgumentException("Reglas de tipo: porDefecto es obligatorio");
+        }
+
+        List<Regla> reglas = new ArrayList<>();
+        if (config.getSinonimos() != null) {
+            config.getSinonimos().forEach((canonico, variantes) -> reglas.add(Regla.builder()
+                    .nombre("sinonimo:" + normalizarTexto(canonico))
+                    .modo(ModoRegla.EXACTO)
+                    .patrones(variantes)
+                    .resultado(canonico)
+                    .build()));
+        }
+        if (config.getReglas() != null) {
+            reglas.addAll(config.getReglas());
+        }
+
+        Map<String, Integer> exactos = new HashMap<>();
+        TriePrefijos prefijos = new TriePrefijos();
+        AutomataSubcadenas subcadenas = new AutomataSubcadenas();
+        List<ReglaRegex> regex = new ArrayList<>();
+        Set<String> nombres = new HashSet<>();
+        List<Regla> normalizadas = new ArrayList<>(reglas.size());
+
+        for (int i = 0; i < reglas.size(); i++) {
+            Regla r = reglas.get(i);
+            String nombre = r.getNombre() == null ? "" : r.getNombre().trim();
+            if (nombre.isEmpty() || !nombres.add(nombre)) {
+                throw new IllegalArgumentException("Reglas de tipo: nombre vacío o repetido en la regla " + (i + 1));
+            }
+            if (r.getModo() == null) {
+                throw new IllegalArgumentException("Reglas de tipo: falta el modo de '" + nombre + "'");
+            }
+            String resultado = normalizarTexto(r.getResultado());
+            if (resultado.isEmpty()) {
+                throw new IllegalArgumentException("Reglas de tipo: falta el resultado de '" + nombre + "'");
+            }
+            // Las regex se guardan tal cual (pasarlas a mayúsculas cambiaría \d por \D, etc.)
+            List<String> patrones = r.getPatrones() == null ? List.of() : r.getPatrones().stream()
+                    .map(p -> r.getModo() == ModoRegla.REGEX ? (p == null ? "" : p.trim()) : normalizarTexto(p))
+                    .filter(p -> !p.isEmpty())
+                    .toList();
+            if (patrones.isEmpty()) {
+                throw new IllegalArgumentException("Reglas de tipo: '" + nombre + "' no tiene patrones");
+            }
+
+            final int indice = i;
+            switch (r.getModo()) {
+                case EXACTO -> patrones.forEach(p -> exactos.putIfAbsent(p, indice));
+                case PREFIJO -> patrones.forEach(p -> prefijos.agregar(p, indice));
+                case CONTIENE -> patrones.forEach(p -> subcadenas.agregar(p, indice));
+                case REGEX -> regex.add(new ReglaRegex(indice, compilarRegex(nombre, patrones)));
+            }
+            normalizadas.add(Regla.builder()
+                    .nombre(nombre).modo(r.getModo()).patrones(patrones).resultado(resultado).build());
+        }
+        subcadenas.construir();
+
+        return new MotorReglasTipo(Collections.unmodifiableList(normalizadas), porDefecto,
+                exactos, prefijos, subcadenas, List.copyOf(regex));
+    }
+
+    public Coincidencia normalizar(String tipo) {
+        String t = normalizarTexto(tipo);
+        int regla = buscar(t);
+        return regla < 0
+                ? new Coincidencia(porDefecto, -1)
+                : new Coincidencia(reglas.get(regla).getResultado(), regla);
+    }
+
+    private int buscar(String t) {
+        if (t.isEmpty()) {
+            return -1;
+        }
+        Integer exacto = exactos.get(t);
+        if (exacto != null) {
+            return exacto;
+        }
+        int regla = prefijos.buscar(t);
+        if (regla >= 0) {
+            return regla;
+        }
+        regla = subcadenas.buscar(t);
+        if (regla >= 0) {
+            return regla;
+        }
+        for (ReglaRegex r : regex) {
+            if (r.patron().matcher(t).find()) {
+                return r.regla();
+            }
+        }
+        return -1;
+    }
+
+    public List<Regla> getReglas() {
+        return reglas;
+    }
+
+    public String getPorDefecto() {
+        return porDefecto;
+    }
+
+    private static String normalizarTexto(String s) {
+        return s == null ? "" : s.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Los patrones de una regla se unen en una sola alternativa; se evalúan sobre el texto en mayúsculas
+    private static Pattern compilarRegex(String nombre, List<String> patrones) {
+        String alternativa = patrones.stream()
+                .map(p -> "(?:" + p + ")")
+                .collect(Collectors.joining("|"));
+        try {
+            return Pattern.compile(alternativa, Pattern.CASE_INSENSITIVE);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Reglas de tipo: regex inválida en '" + nombre + "': " + e.getMessage(), e);
+        }
+    }
+
+    private record ReglaRegex(int regla, Pattern patron) {
+    }
+
+    // ==========================================================
+    // TRIE DE PREFIJOS
+    // ==========================================================
+
+    private static final class TriePrefijos {
+
+        private final NodoTrie raiz = new NodoTrie();
+
+        void agregar(String patron, int regla) {
+            NodoTrie nodo = raiz;
+            for (int i = 0; i < patron.length(); i++) {
+                nodo = nodo.hijos.computeIfAbsent(patron.charAt(i), c -> new NodoTrie());
+            }
+            if (nodo.regla < 0) {
+                nodo.regla = regla;
+            }
+        }
+
+        // Regla del prefijo más largo de t, o -1
+        int buscar(String t) {
+            NodoTrie nodo = raiz;
+            int encontrada = -1;
+            for (int i = 0; i < t.length(); i++) {
+                nodo = nodo.hijos.get(t.charAt(i));
+                if (nodo == null) {
+                    break;
+                }
+                if (nodo.regla >= 0) {
+                    encontrada = nodo.regla;
+                }
+            }
+            return encontrada;
+        }
+    }
+
+    private static final class NodoTrie {
+        final Map<Character, NodoTrie> hijos = new HashMap<>();
+        int regla = -1;
+    }
+
+    // ==========================================================
+    // AHO-CORASICK (SUBCADENAS)
+    // ==========================================================
+
+    private static final class AutomataSubcadenas {
+
+        private final NodoAc raiz = new NodoAc();
+
+        void agregar(String patron, int regla) {
+            NodoAc nodo = raiz;
+            for (int i = 0; i < patron.length(); i++) {
+                nodo = nodo.hijos.computeIfAbsent(patron.charAt(i), c -> new NodoAc());
+            }
+            nodo.regla = Math.min(nodo.regla, regla);
+        }
+
+        /**
+         * Enlaces de fallo por BFS. Cada nodo hereda la menor regla de su enlace de fallo
+         * (los sufijos que también son patrones), así la búsqueda no recorre la cadena de salidas.
+         */
+        void construir() {
+            ArrayDeque<NodoAc> cola = new ArrayDeque<>();
+            for (NodoAc hijo : raiz.hijos.values()) {
+                hijo.fallo = raiz;
+                cola.add(hijo);
+            }
+            while (!cola.isEmpty()) {
+                NodoAc nodo = cola.poll();
+                for (Map.Entry<Character, NodoAc> e : nodo.hijos.entrySet()) {
+                    char c = e.getKey();
+                    NodoAc hijo = e.getValue();
+                    NodoAc f = nodo.fallo;
+                    while (f != null && !f.hijos.containsKey(c)) {
+                        f = f.fallo;
+                    }
+                    hijo.fallo = f == null ? raiz : f.hijos.get(c);
+                    hijo.regla = Math.min(hijo.regla, hijo.fallo.regla);
+                    cola.add(hijo);
+                }
+            }
+        }
+
+        // Menor índice de regla con algún patrón contenido en t, o -1
+        int buscar(String t) {
+            NodoAc nodo = raiz;
+            int mejor = Integer.MAX_VALUE;
+            for (int i = 0; i < t.length(); i++) {
+                char c = t.charAt(i);
+                while (nodo != raiz && !nodo.hijos.containsKey(c)) {
+                    nodo = nodo.fallo;
+                }
+                nodo = nodo.hijos.getOrDefault(c, raiz);
+                mejor = Math.min(mejor, nodo.regla);
+            }
+            return mejor == Integer.MAX_VALUE ? -1 : mejor;
+        }
+    }
+
+    private static final class NodoAc {
+        final Map<Character, NodoAc> hijos = new HashMap<>();
+        NodoAc fallo;
+        int regla = Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,93 @@
+package com.proyecto.fundaciondeportiva.service.normalizacion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Normaliza el tipo de los eventos con las reglas de eventos.tipos.reglas (JSON, ver
+ * ReglasTipoConfig y MotorReglasTipo).
+ *
+ * Las reglas se compilan al arrancar; recargar() vuelve a leer el archivo y reemplaza el motor
+ * de una vez, sin detener la limpieza. Cada regla cuenta sus aciertos en la métrica
+ * eventos.tipos.reglas{regla=...} (regla=por-defecto cuando no coincide ninguna).
+ */
+@Service
+public class NormalizadorTiposEvento {
+
+    private static final Logger logger = LoggerFactory.getLogger(NormalizadorTiposEvento.class);
+
+    private final Resource archivoReglas;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Motor y contadores van juntos: los índices de regla son los del motor
+    private volatile Compilado compilado;
+
+    private record Compilado(MotorReglasTipo motor, Counter[] aciertos, Counter porDefecto) {
+    }
+
+    public NormalizadorTiposEvento(@Value("${eventos.tipos.reglas:classpath:reglas-tipo-evento.json}") Resource archivoReglas,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.archivoReglas = archivoReglas;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        // Falla el arranque si las reglas son inválidas
+        this.compilado = compilar(leerConfig());
+    }
+
+    public String normalizar(String tipo) {
+        Compilado c = compilado;
+        MotorReglasTipo.Coincidencia coincidencia = c.motor().normalizar(tipo);
+        if (coincidencia.regla() < 0) {
+            c.porDefecto().increment();
+        } else {
+            c.aciertos()[coincidencia.regla()].increment();
+        }
+        return coincidencia.tipo();
+    }
+
+    /**
+     * Vuelve a leer y compilar las reglas. Si son inválidas se lanza la excepción y sigue
+     * vigente el motor anterior. Devuelve cuántas reglas quedaron activas.
+     */
+    public int recargar() {
+        Compilado nuevo = compilar(leerConfig());
+        compilado = nuevo;
+        logger.info("Reglas de tipo de evento recargadas: {} reglas", nuevo.aciertos().length);
+        return nuevo.aciertos().length;
+    }
+
+    private ReglasTipoConfig leerConfig() {
+        try (InputStream in = archivoReglas.getInputStream()) {
+            return objectMapper.readValue(in, ReglasTipoConfig.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron leer las reglas de tipo de evento: " + archivoReglas, e);
+        }
+    }
+
+    private Compilado compilar(ReglasTipoConfig config) {
+        MotorReglasTipo motor = MotorReglasTipo.compilar(config);
+        Counter[] aciertos = motor.getReglas().stream()
+                .map(r -> contador(r.getNombre()))
+                .toArray(Counter[]::new);
+        return new Compilado(motor, aciertos, contador(MotorReglasTipo.REGLA_POR_DEFECTO));
+    }
+
+    private Counter contador(String regla) {
+        return Counter.builder("eventos.tipos.reglas")
+                .description("Eventos normalizados por cada regla de tipo")
+                .tag("regla", regla)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.proyecto.fundaciondeportiva.service.normalizacion;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contenido del archivo de reglas de tipos de evento (eventos.tipos.reglas, JSON).
+ *
+ * <pre>
+ * {
+ *   "porDefecto": "OTRO",
+ *   "sinonimos": { "LOGIN": ["SIGN_IN", "INICIO_SESION"] },
+ *   "reglas": [
+ *     { "nombre": "curso", "modo": "CONTIENE", "patrones": ["CURSO"], "resultado": "VER_CURSO" }
+ *   ]
+ * }
+ * </pre>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReglasTipoConfig {
+
+    @Builder.Default
+    private String porDefecto = "OTRO";
+
+    // Tipo canónico -> variantes que se traducen exactamente a él
+    @Builder.Default
+    private Map<String, List<String>> sinonimos = new LinkedHashMap<>();
+
+    @Builder.Default
+    private List<Regla> reglas = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Regla {
+        private String nombre;
+        private ModoRegla modo;
+        private List<String> patrones;
+        private String resultado;
+    }
+
+    public enum ModoRegla {
+        EXACTO,
+        PREFIJO,
+        CONTIENE,
+        REGEX
+    }
+}
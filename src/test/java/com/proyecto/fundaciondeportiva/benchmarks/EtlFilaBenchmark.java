@@ -0,0 +1,56 @@
+package com.proyecto.fundaciondeportiva.benchmarks;
+
+import com.proyecto.fundaciondeportiva.service.etl.FilaUsuarioExcel;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura y normalización de filas del Excel de usuarios (FilaUsuarioExcel),
+ * sin la parte de BD ni BCrypt.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EtlFilaBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int filas;
+
+    private XSSFWorkbook workbook;
+    private Sheet sheet;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        workbook = Fixtures.excelUsuarios(filas);
+        sheet = workbook.getSheetAt(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public void parsearFilas(Blackhole bh) {
+        boolean encabezado = true;
+        for (Row row : sheet) {
+            if (encabezado) {
+                encabezado = false;
+                continue;
+            }
+            if (FilaUsuarioExcel.esFilaVacia(row)) {
+                continue;
+            }
+            bh.consume(FilaUsuarioExcel.desdeFila(row));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.proyecto.fundaciondeportiva.benchmarks;
+
+import com.proyecto.fundaciondeportiva.model.entity.Curso;
+import com.proyecto.fundaciondeportiva.model.entity.Matricula;
+import com.proyecto.fundaciondeportiva.model.entity.PerfilAlumno;
+import com.proyecto.fundaciondeportiva.model.entity.PerfilProfesor;
+import com.proyecto.fundaciondeportiva.model.entity.Seccion;
+import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import com.proyecto.fundaciondeportiva.model.enums.Rol;
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Datos sintéticos (sin BD) con la forma de los datos reales:
+ * secciones de 16 semanas con ~30 matrículas, la mitad de ellas activas.
+ */
+final class Fixtures {
+
+    static final int SEMANAS_POR_SECCION = 16;
+    static final int MATRICULAS_POR_SECCION = 30;
+
+    private static final Turno[] TURNOS = Turno.values();
+
+    private Fixtures() {
+    }
+
+    static Curso curso(long id) {
+        return Curso.builder()
+                .id(id)
+                .codigo("CUR-" + id)
+                .titulo("Curso " + id)
+                .nivelDestino(NivelAcademico.SECUNDARIA)
+                .build();
+    }
+
+    static Usuario profesor(long id) {
+        Usuario u = Usuario.builder()
+                .id(id)
+                .nombre("Profesor " + id)
+                .email("profesor" + id + "@fundacion.pe")
+                .rol(Rol.PROFESOR)
+                .build();
+        u.setPerfilProfesor(PerfilProfesor.builder().id(id).dni(String.format("%08d", id)).usuario(u).build());
+        return u;
+    }
+
+    static Usuario alumno(long id) {
+        Usuario u = Usuario.builder()
+                .id(id)
+                .nombre("Alumno " + id)
+                .email("alumno" + id + "@fundacion.pe")
+                .rol(Rol.ALUMNO)
+                .build();
+        u.setPerfilAlumno(PerfilAlumno.builder()
+                .id(id)
+                .dni(String.format("%08d", id))
+                .codigoEstudiante("EST" + id)
+                .nivel(NivelAcademico.SECUNDARIA)
+                .grado("3ro")
+                .usuario(u)
+                .build());
+        return u;
+    }
+
+    /**
+     * Sección en curso (la semana actual cae a la mitad) con semanas y matrículas.
+     */
+    static Seccion seccion(long id, Curso curso, Usuario profesor, int matriculas) {
+        Seccion s = Seccion.builder()
+                .id(id)
+                .codigo("SEC-" + id)
+                .nombre("Sección " + id)
+                .nivelSeccion(NivelAcademico.SECUNDARIA)
+                .gradoSeccion("3ro")
+                .turno(TURNOS[(int) (id % TURNOS.length)])
+                .aula("A-" + (id % 20))
+                .capacidad(matriculas + 5)
+                .fechaInicio(LocalDate.now().minusWeeks(SEMANAS_POR_SECCION / 2))
+                .fechaFin(LocalDate.now().plusWeeks(SEMANAS_POR_SECCION / 2))
+                .numeroSemanas(SEMANAS_POR_SECCION)
+                .fechaCreacion(LocalDateTime.now())
+                .curso(curso)
+                .profesor(profesor)
+                .build();
+        s.generarSemanas();
+
+        for (int i = 0; i < matriculas; i++) {
+            long matriculaId = id * 1_000 + i;
+            s.getMatriculas().add(Matricula.builder()
+                    .id(matriculaId)
+                    .alumno(alumno(matriculaId))
+                    .seccion(s)
+                    .ciclo("2025-II")
+                    .estado(i % 2 == 0 ? EstadoMatricula.ACTIVA : EstadoMatricula.RETIRADA)
+                    .fechaMatricula(LocalDateTime.now())
+                    .build());
+        }
+        return s;
+    }
+
+    static List<Seccion> secciones(int n) {
+        Curso curso = curso(1);
+        Usuario profesor = profesor(1);
+        List<Seccion> lista = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            lista.add(seccion(i + 1, curso, profesor, MATRICULAS_POR_SECCION));
+        }
+        return lista;
+    }
+
+    /**
+     * n matrículas repartidas en secciones de MATRICULAS_POR_SECCION.
+     */
+    static List<Matricula> matriculas(int n) {
+        List<Matricula> lista = new ArrayList<>(n);
+        int numSecciones = (n + MATRICULAS_POR_SECCION - 1) / MATRICULAS_POR_SECCION;
+        for (Seccion s : secciones(numSecciones)) {
+            for (Matricula m : s.getMatriculas()) {
+                if (lista.size() == n) break;
+                lista.add(m);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Libro con encabezado + n filas en el formato del ETL de usuarios
+     * (mezcla de alumnos, profesores, celdas numéricas y filas vacías).
+     */
+    static XSSFWorkbook excelUsuarios(int n) {
+        XSSFWorkbook wb = new XSSFWorkbook();
+        Sheet sheet = wb.createSheet("usuarios");
+        Row header = sheet.createRow(0);
+        String[] columnas = {"nombre", "email", "rol", "dni", "telEmergencia", "nivel", "grado",
+                "telProfesor", "experiencia", "password"};
+        for (int c = 0; c < columnas.length; c++) {
+            header.createCell(c).setCellValue(columnas[c]);
+        }
+
+        Random random = new Random(42);
+        for (int i = 1; i <= n; i++) {
+            Row row = sheet.createRow(i);
+            if (i % 50 == 0) {
+                continue; // fila vacía
+            }
+            boolean esAlumno = random.nextInt(10) < 8;
+            row.createCell(0).setCellValue("  Usuario " + i + "  ");
+            row.createCell(1).setCellValue("Usuario" + i + "@Fundacion.PE");
+            row.createCell(2).setCellValue(esAlumno ? "alumno" : "profesor");
+            row.createCell(3).setCellValue(10_000_000 + i); // DNI numérico
+            if (esAlumno) {
+                row.createCell(4).setCellValue("9" + (10_000_000 + i));
+                row.createCell(5).setCellValue("secundaria");
+                row.createCell(6).setCellValue("3ro");
+            } else {
+                row.createCell(7).setCellValue(980_000_000 + i);
+                row.createCell(8).setCellValue("5 años");
+            }
+            row.createCell(9).setCellValue("clave" + i);
+        }
+        return wb;
+    }
+}
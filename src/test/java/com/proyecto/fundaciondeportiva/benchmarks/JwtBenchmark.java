@@ -0,0 +1,94 @@
+package com.proyecto.fundaciondeportiva.benchmarks;
+
+import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import com.proyecto.fundaciondeportiva.model.enums.Rol;
+import com.proyecto.fundaciondeportiva.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de autenticar una petición con un access token (sin la carga del usuario en BD).
+ *
+ * legado: lo que hacía JwtAuthenticationFilter antes (extractUsername + validateAccessToken:
+ * cuatro parseos y la clave reconstruida en cada uno). unParseo: un solo parseo con clave y
+ * parser reutilizados. conCache: verificarAccessToken con la cache LRU; con tokens > 1 se
+ * rota entre varios usuarios como en producción.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRETO = "dGVzdHRlc3R0ZXN0dGVzdHRlc3R0ZXN0dGVzdHRlc3R0ZXN0dGVzdHRlc3R0ZXN0dGVzdA==";
+
+    @Param({"1", "1000"})
+    public int tokens;
+
+    private JwtService conCache;
+    private JwtService sinCache;
+    private String[] jwts;
+    private Usuario[] usuarios;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        conCache = new JwtService(SECRETO, 900_000, 604_800_000, 10_000, 300_000, new SimpleMeterRegistry());
+        sinCache = new JwtService(SECRETO, 900_000, 604_800_000, 0, 0, new SimpleMeterRegistry());
+        jwts = new String[tokens];
+        usuarios = new Usuario[tokens];
+        for (int i = 0; i < tokens; i++) {
+            usuarios[i] = Usuario.builder()
+                    .id((long) i + 1)
+                    .email("usuario" + i + "@fundacion.pe")
+                    .rol(Rol.ALUMNO)
+                    .build();
+            jwts[i] = conCache.generateAccessToken(usuarios[i]);
+        }
+    }
+
+    private int indice() {
+        int i = siguiente;
+        siguiente = i + 1 == tokens ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public boolean legado() {
+        int i = indice();
+        String jwt = jwts[i];
+        String email = legadoClaims(jwt).getSubject();
+        // validateAccessToken: extractUsername + extractTokenType + extractExpiration
+        return email.equals(usuarios[i].getEmail())
+                && legadoClaims(jwt).getSubject().equals(usuarios[i].getEmail())
+                && "access".equals(String.valueOf(legadoClaims(jwt).get("typ")))
+                && !legadoClaims(jwt).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public void unParseo(Blackhole bh) {
+        bh.consume(sinCache.verificarAccessToken(jwts[indice()]));
+    }
+
+    @Benchmark
+    public void conCache(Blackhole bh) {
+        bh.consume(conCache.verificarAccessToken(jwts[indice()]));
+    }
+
+    // Copia del parseo anterior: decodifica el secreto y arma parser nuevos en cada llamada
+    private static Claims legadoClaims(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRETO));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+    }
+}
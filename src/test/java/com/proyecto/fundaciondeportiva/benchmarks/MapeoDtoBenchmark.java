@@ -0,0 +1,50 @@
+package com.proyecto.fundaciondeportiva.benchmarks;
+
+import com.proyecto.fundaciondeportiva.dto.response.MatriculaResponseDTO;
+import com.proyecto.fundaciondeportiva.dto.response.SeccionResponseDTO;
+import com.proyecto.fundaciondeportiva.model.entity.Matricula;
+import com.proyecto.fundaciondeportiva.model.entity.Seccion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de mapear un listado completo de entidades a DTOs
+ * (SeccionResponseDTO.deEntidad / MatriculaResponseDTO.deEntidad).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MapeoDtoBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int filas;
+
+    private List<Seccion> secciones;
+    private List<Matricula> matriculas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        secciones = Fixtures.secciones(filas);
+        matriculas = Fixtures.matriculas(filas);
+    }
+
+    @Benchmark
+    public void seccionDeEntidad(Blackhole bh) {
+        for (Seccion s : secciones) {
+            bh.consume(SeccionResponseDTO.deEntidad(s));
+        }
+    }
+
+    @Benchmark
+    public void matriculaDeEntidad(Blackhole bh) {
+        for (Matricula m : matriculas) {
+            bh.consume(MatriculaResponseDTO.deEntidad(m));
+        }
+    }
+}
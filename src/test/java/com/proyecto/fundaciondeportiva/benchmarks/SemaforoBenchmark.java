@@ -0,0 +1,52 @@
+package com.proyecto.fundaciondeportiva.benchmarks;
+
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
+import com.proyecto.fundaciondeportiva.service.SemaforoAsistencia;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estado del semáforo del monitor de asistencias para n sesiones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SemaforoBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int filas;
+
+    private LocalTime[] horasInicio;
+    private int[] sinAsistencia;
+    private LocalTime ahora;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        Turno[] turnos = Turno.values();
+        horasInicio = new LocalTime[filas];
+        sinAsistencia = new int[filas];
+        for (int i = 0; i < filas; i++) {
+            // 1 de cada 10 sesiones sin hora propia: se deduce del turno
+            horasInicio[i] = i % 10 == 0
+                    ? SemaforoAsistencia.obtenerHoraInicioBase(turnos[i % turnos.length])
+                    : LocalTime.of(7 + random.nextInt(14), random.nextInt(4) * 15);
+            sinAsistencia[i] = random.nextInt(3) == 0 ? 0 : random.nextInt(30);
+        }
+        ahora = LocalTime.of(14, 5);
+    }
+
+    @Benchmark
+    public void calcularEstado(Blackhole bh) {
+        for (int i = 0; i < filas; i++) {
+            bh.consume(SemaforoAsistencia.calcularEstado(horasInicio[i], ahora, sinAsistencia[i]));
+        }
+    }
+}
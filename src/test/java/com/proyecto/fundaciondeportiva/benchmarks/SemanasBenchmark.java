@@ -0,0 +1,49 @@
+package com.proyecto.fundaciondeportiva.benchmarks;
+
+import com.proyecto.fundaciondeportiva.model.entity.Seccion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seccion.generarSemanas y Seccion.getSemanaActual sobre un listado de secciones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SemanasBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int filas;
+
+    private List<Seccion> secciones;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Sin matrículas: solo interesan las semanas
+        secciones = new java.util.ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            secciones.add(Fixtures.seccion(i + 1, Fixtures.curso(1), Fixtures.profesor(1), 0));
+        }
+    }
+
+    @Benchmark
+    public void generarSemanas(Blackhole bh) {
+        for (Seccion s : secciones) {
+            s.generarSemanas();
+            bh.consume(s.getSemanas());
+        }
+    }
+
+    @Benchmark
+    public void getNumeroSemanaActual(Blackhole bh) {
+        for (Seccion s : secciones) {
+            bh.consume(s.getNumeroSemanaActual());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.proyecto.fundaciondeportiva.repository;
+
+import com.proyecto.fundaciondeportiva.dto.request.CursoRequestDTO;
+import com.proyecto.fundaciondeportiva.dto.request.MatriculaRequestDTO;
+import com.proyecto.fundaciondeportiva.exception.CupoAgotadoException;
+import com.proyecto.fundaciondeportiva.model.entity.PerfilAlumno;
+import com.proyecto.fundaciondeportiva.model.entity.Seccion;
+import com.proyecto.fundaciondeportiva.model.entity.Usuario;
+import com.proyecto.fundaciondeportiva.model.enums.EstadoMatricula;
+import com.proyecto.fundaciondeportiva.model.enums.NivelAcademico;
+import com.proyecto.fundaciondeportiva.model.enums.Rol;
+import com.proyecto.fundaciondeportiva.model.enums.Turno;
+import com.proyecto.fundaciondeportiva.service.ServicioCurso;
+import com.proyecto.fundaciondeportiva.service.ServicioMatricula;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reserva de cupos con el UPDATE condicional de SeccionRepository.reservarCupo: con muchos
+ * hilos compitiendo por la misma sección, se aceptan exactamente tantas reservas como capacidad.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SeccionRepositoryCuposTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeccionRepositoryCuposTest.class);
+
+    private static final int HILOS = 16;
+
+    @Autowired
+    private SeccionRepository seccionRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private MatriculaRepository matriculaRepository;
+
+    @Autowired
+    private ServicioCurso servicioCurso;
+
+    @Autowired
+    private ServicioMatricula servicioMatricula;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reservasConcurrentesNoSuperanLaCapacidad() throws Exception {
+        int capacidad = 25;
+        int intentos = 400;
+        Long seccionId = crearSeccion(capacidad).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicInteger aceptadas = new AtomicInteger();
+
+        enParalelo(intentos, i -> {
+            if (tx.execute(status -> seccionRepository.reservarCupo(seccionId)) == 1) {
+                aceptadas.incrementAndGet();
+            }
+        });
+
+        assertEquals(capacidad, aceptadas.get());
+        assertEquals(capacidad, seccionRepository.findById(seccionId).orElseThrow().getCuposOcupados());
+    }
+
+    @Test
+    void matriculasConcurrentesNoSobrevenden() throws Exception {
+        int capacidad = 300;
+        int alumnos = 400;
+        for (int ronda = 0; ronda < 3; ronda++) {
+            calentar(400);
+        }
+        Seccion seccion = crearSeccion(capacidad);
+        List<Long> alumnoIds = crearAlumnos(alumnos);
+        AtomicInteger aceptadas = new AtomicInteger();
+        AtomicInteger sinCupo = new AtomicInteger();
+
+        long inicio = System.nanoTime();
+        enParalelo(alumnos, i -> {
+            try {
+                servicioMatricula.matricularseEnSeccion(alumnoIds.get(i),
+                        MatriculaRequestDTO.builder().seccionId(seccion.getId()).build());
+                aceptadas.incrementAndGet();
+            } catch (CupoAgotadoException e) {
+                sinCupo.incrementAndGet();
+            }
+        });
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        assertEquals(capacidad, aceptadas.get());
+        assertEquals(alumnos - capacidad, sinCupo.get());
+        assertEquals(capacidad, matriculaRepository
+                .findBySeccionIdAndEstado(seccion.getId(), EstadoMatricula.ACTIVA).size());
+        assertEquals(capacidad, seccionRepository.findById(seccion.getId()).orElseThrow().getCuposOcupados());
+        // Referencia en H2 en memoria (no reemplaza una medición contra MySQL)
+        logger.info("Matrícula concurrente: {} solicitudes en {} s ({} por segundo, {} hilos)",
+                alumnos, String.format("%.2f", segundos), Math.round(alumnos / segundos), HILOS);
+    }
+
+    // Misma carga sin medir, para que la medición no incluya el arranque en frío (JIT, caches)
+    private void calentar(int matriculas) throws Exception {
+        Long seccionId = crearSeccion(matriculas).getId();
+        List<Long> alumnoIds = crearAlumnos(matriculas);
+        enParalelo(matriculas, i -> servicioMatricula.matricularseEnSeccion(alumnoIds.get(i),
+                MatriculaRequestDTO.builder().seccionId(seccionId).build()));
+    }
+
+    private interface Tarea {
+        void ejecutar(int i) throws Exception;
+    }
+
+    // Lanza todas las tareas a la vez sobre HILOS hilos y espera a que terminen
+    private static void enParalelo(int tareas, Tarea tarea) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futuros = new ArrayList<>(tareas);
+            for (int i = 0; i < tareas; i++) {
+                final int indice = i;
+                Callable<Void> c = () -> {
+                    salida.await();
+                    tarea.ejecutar(indice);
+                    return null;
+                };
+                futuros.add(pool.submit(c));
+            }
+            salida.countDown();
+            for (Future<Void> f : futuros) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private Seccion crearSeccion(int capacidad) {
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+        Usuario admin = usuarioRepository.save(Usuario.builder()
+                .nombre("Admin " + sufijo).email("admin-" + sufijo + "@test.com")
+                .password("x").rol(Rol.ADMINISTRADOR).build());
+        Usuario profesor = usuarioRepository.save(Usuario.builder()
+                .nombre("Profesor " + sufijo).email("profesor-" + sufijo + "@test.com")
+                .password("x").rol(Rol.PROFESOR).build());
+        Long cursoId = servicioCurso.crearCurso(CursoRequestDTO.builder()
+                .titulo("Curso " + sufijo).descripcion("Cupos")
+                .nivelDestino(NivelAcademico.PRIMARIA).build(), admin.getId()).getId();
+
+        return seccionRepository.save(Seccion.builder()
+                .codigo("SEC-" + sufijo).nombre("Sección " + sufijo)
+                .nivelSeccion(NivelAcademico.PRIMARIA).gradoSeccion("1").turno(Turno.values()[0])
+                .capacidad(capacidad)
+                .fechaInicio(LocalDate.now().minusDays(1)).fechaFin(LocalDate.now().plusMonths(3))
+                .numeroSemanas(0).activa(true)
+                .curso(cursoRepository.findById(cursoId).orElseThrow())
+                .profesor(profesor)
+                .build());
+    }
+
+    private List<Long> crearAlumnos(int cantidad) {
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+        List<Usuario> alumnos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            alumnos.add(Usuario.builder()
+                    .nombre("Alumno " + i).email("alumno-" + sufijo + "-" + i + "@test.com")
+                    .password("x").rol(Rol.ALUMNO)
+                    .perfilAlumno(PerfilAlumno.builder()
+                            .codigoEstudiante(sufijo + "-" + i).dni(sufijo + i)
+                            .nivel(NivelAcademico.PRIMARIA).grado("1").build())
+                    .build());
+        }
+        return usuarioRepository.saveAll(alumnos).stream().map(Usuario::getId).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.proyecto.fundaciondeportiva.service.archivo;
+
+import com.proyecto.fundaciondeportiva.model.entity.EventoLimpio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FormatoArchivoEventosTest {
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    void idaYVueltaConservaLosCamposEspeciales() throws Exception {
+        String[] detalles = {
+                null,
+                "{}",
+                "{\"curso\":12,\"seccion\":\"A,B\"}",
+                "{\"texto\":\"dijo \\\"hola\\\"\"}",
+                "\"empieza y termina con comillas\"",
+                "linea 1\nlinea 2\n",
+                "windows\r\nfin",
+                ",,,",
+                "ñandú ✓ 日本"
+        };
+        List<EventoLimpio> eventos = new ArrayList<>();
+        for (int i = 0; i < detalles.length; i++) {
+            eventos.add(evento(100 + i, detalles[i]));
+        }
+        // Otros campos de texto con separadores
+        eventos.get(1).setTipo("TIPO,CON \"COMA\"");
+        eventos.get(2).setCalidad("CORREGIDO\n");
+
+        Path archivo = carpeta.resolve(FormatoArchivoEventos.nombreArchivo(100, 100 + detalles.length - 1));
+        FormatoArchivoEventos.escribir(archivo, eventos);
+
+        try (FormatoArchivoEventos.Lector lector = new FormatoArchivoEventos.Lector(archivo)) {
+            for (EventoLimpio esperado : eventos) {
+                EventoArchivado leido = lector.siguiente();
+                assertEquals(esperado.getEventoId(), leido.eventoId());
+                assertEquals(esperado.getUsuarioId(), leido.usuarioId());
+                assertEquals(esperado.getTipo(), leido.tipo());
+                assertEquals(esperado.getTs(), leido.ts());
+                assertEquals(esperado.getCalidad(), leido.calidad());
+                assertEquals(esperado.getDetalles(), leido.detalles());
+            }
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test
+    void detallesVacioSeLeeComoNulo() throws Exception {
+        Path archivo = carpeta.resolve(FormatoArchivoEventos.nombreArchivo(1, 1));
+        FormatoArchivoEventos.escribir(archivo, List.of(evento(1, "")));
+
+        try (FormatoArchivoEventos.Lector lector = new FormatoArchivoEventos.Lector(archivo)) {
+            assertNull(lector.siguiente().detalles());
+        }
+    }
+
+    @Test
+    void nombresDeArchivoYCarpeta() {
+        Path archivo = carpeta.resolve(FormatoArchivoEventos.nombreArchivo(42, 99) + ".tmp");
+        assertEquals(42, FormatoArchivoEventos.primerEventoId(archivo));
+
+        LocalDate dia = LocalDate.of(2025, 3, 1);
+        assertEquals(dia, FormatoArchivoEventos.diaDeCarpeta(FormatoArchivoEventos.carpetaDia(carpeta, dia)));
+        assertNull(FormatoArchivoEventos.diaDeCarpeta(carpeta.resolve("dia=no-es-fecha")));
+        assertNull(FormatoArchivoEventos.diaDeCarpeta(carpeta.resolve("otra")));
+    }
+
+    private static EventoLimpio evento(long eventoId, String detalles) {
+        EventoLimpio e = new EventoLimpio();
+        e.setEventoId(eventoId);
+        e.setUsuarioId(eventoId * 10);
+        e.setTipo("VER_CURSO");
+        e.setTs(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_000_000));
+        e.setCalidad("OK");
+        e.setDetalles(detalles);
+        return e;
+    }
+}
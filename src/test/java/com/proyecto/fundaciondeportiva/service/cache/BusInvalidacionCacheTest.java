@@ -0,0 +1,147 @@
+package com.proyecto.fundaciondeportiva.service.cache;
+
+import com.proyecto.fundaciondeportiva.FundaciondeportivaApplication;
+import com.proyecto.fundaciondeportiva.config.CacheConfig;
+import com.proyecto.fundaciondeportiva.service.ConfiguracionMatriculaService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dos instancias de la aplicación en la misma JVM, sobre la misma BD, comunicadas solo por
+ * invalidacion_cache. El sondeo programado está desactivado: cada test llama a sondear().
+ */
+class BusInvalidacionCacheTest {
+
+    private static ConfigurableApplicationContext nodoA;
+    private static ConfigurableApplicationContext nodoB;
+
+    private static BusInvalidacionCache busA;
+    private static BusInvalidacionCache busB;
+
+    @BeforeAll
+    static void iniciarNodos() {
+        // El primero crea el esquema; el segundo lo usa tal cual
+        nodoA = iniciar("create");
+        nodoB = iniciar("none");
+        busA = nodoA.getBean(BusInvalidacionCache.class);
+        busB = nodoB.getBean(BusInvalidacionCache.class);
+    }
+
+    @AfterAll
+    static void detenerNodos() {
+        nodoB.close();
+        nodoA.close();
+    }
+
+    private static ConfigurableApplicationContext iniciar(String ddl) {
+        return new SpringApplicationBuilder(FundaciondeportivaApplication.class)
+                .profiles("test")
+                // Como argumentos: deben pisar application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:bus-invalidacion;DB_CLOSE_DELAY=-1;MODE=MySQL;"
+                                + "DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,USER,YEAR,MONTH,DAY,HOUR",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddl,
+                        "--server.port=0");
+    }
+
+    @BeforeEach
+    void aplicarPendientes() {
+        busA.sondear();
+        busB.sondear();
+    }
+
+    @Test
+    void nodosDistintos() {
+        assertNotEquals(busA.getNodo(), busB.getNodo());
+    }
+
+    @Test
+    void otroNodoAplicaLaInvalidacionAlSondear() {
+        ConfiguracionMatriculaService configA = nodoA.getBean(ConfiguracionMatriculaService.class);
+        ConfiguracionMatriculaService configB = nodoB.getBean(ConfiguracionMatriculaService.class);
+        String anterior = configB.obtenerCicloActual();
+
+        configA.actualizarCicloActual("2030-I");
+
+        assertEquals("2030-I", configA.obtenerCicloActual());
+        // B sigue con su copia hasta leer el bus
+        assertEquals(anterior, configB.obtenerCicloActual());
+        assertTrue(busB.sondear() > 0);
+        assertEquals("2030-I", configB.obtenerCicloActual());
+    }
+
+    @Test
+    void elNodoNoReaplicaLasPropias() {
+        busA.publicar(CacheConfig.CURSOS, null);
+
+        assertEquals(0, busA.sondear());
+        assertEquals(1, busB.sondear());
+    }
+
+    @Test
+    void huecoConfirmadoTardeSeAplica() throws Exception {
+        CaffeineCacheDistribuida cursosB = cacheDe(nodoB, CacheConfig.CURSOS);
+        TransactionTemplate transaccionA = new TransactionTemplate(nodoA.getBean(PlatformTransactionManager.class));
+        CountDownLatch publicada = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+
+        // Toma un id y no confirma hasta que la publicación siguiente ya se aplicó
+        Thread lenta = new Thread(() -> transaccionA.executeWithoutResult(status -> {
+            busA.publicar(CacheConfig.CURSOS, null);
+            publicada.countDown();
+            try {
+                confirmar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        lenta.start();
+        assertTrue(publicada.await(10, TimeUnit.SECONDS));
+
+        busA.publicar(CacheConfig.SECCIONES, null);
+        assertEquals(1, busB.sondear());
+
+        cursosB.put("todos", List.of());
+        confirmar.countDown();
+        lenta.join();
+
+        assertEquals(1, busB.sondear());
+        assertNull(cursosB.get("todos"));
+        // Ya aplicado: no se repite
+        assertEquals(0, busB.sondear());
+    }
+
+    @Test
+    void evictDeUnaClaveSoloQuitaEsaEntrada() {
+        CaffeineCacheDistribuida seccionesB = cacheDe(nodoB, CacheConfig.SECCIONES);
+        seccionesB.invalidarLocal(null);
+        seccionesB.put(5L, "cinco");
+        seccionesB.put(6L, "seis");
+
+        cacheDe(nodoA, CacheConfig.SECCIONES).evict(5L);
+        busB.sondear();
+
+        assertNull(seccionesB.get(5L));
+        assertNotNull(seccionesB.get(6L));
+    }
+
+    private static CaffeineCacheDistribuida cacheDe(ConfigurableApplicationContext nodo, String nombre) {
+        return (CaffeineCacheDistribuida) nodo.getBean(CacheManager.class).getCache(nombre);
+    }
+}
@@ -0,0 +1,189 @@
+package com.proyecto.fundaciondeportiva.service.normalizacion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.fundaciondeportiva.service.normalizacion.ReglasTipoConfig.ModoRegla;
+import com.proyecto.fundaciondeportiva.service.normalizacion.ReglasTipoConfig.Regla;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MotorReglasTipoTest {
+
+    @Test
+    void patronesSolapadosGanaLaPrimeraRegla() {
+        MotorReglasTipo motor = motor(
+                regla("abc", ModoRegla.CONTIENE, "R_ABC", "ABC"),
+                regla("bcd", ModoRegla.CONTIENE, "R_BCD", "BCD"),
+                regla("cd", ModoRegla.CONTIENE, "R_CD", "CD"));
+
+        assertEquals("R_ABC", motor.normalizar("abcd").tipo());
+        assertEquals("R_BCD", motor.normalizar("xbcdx").tipo());
+        assertEquals("R_CD", motor.normalizar("acd").tipo());
+        // El patrón de mayor prioridad aparece al final del texto
+        assertEquals("R_ABC", motor.normalizar("bcd-abc").tipo());
+        assertEquals("OTRO", motor.normalizar("ab-bc").tipo());
+    }
+
+    @Test
+    void heredaLasSalidasDelEnlaceDeFallo() {
+        // HE solo se alcanza como sufijo de SHE: la búsqueda nunca pasa por su nodo
+        MotorReglasTipo motor = motor(
+                regla("he", ModoRegla.CONTIENE, "R_HE", "HE"),
+                regla("she", ModoRegla.CONTIENE, "R_SHE", "SHE"),
+                regla("hers", ModoRegla.CONTIENE, "R_HERS", "HERS"),
+                regla("his", ModoRegla.CONTIENE, "R_HIS", "HIS"));
+
+        assertEquals(0, motor.normalizar("she").regla());
+        assertEquals(0, motor.normalizar("ushers").regla());
+        assertEquals("R_HIS", motor.normalizar("this").tipo());
+
+        // Al fallar en SHE+R sigue por HE -> HER -> HERS
+        MotorReglasTipo invertido = motor(
+                regla("hers", ModoRegla.CONTIENE, "R_HERS", "HERS"),
+                regla("she", ModoRegla.CONTIENE, "R_SHE", "SHE"));
+        assertEquals("R_HERS", invertido.normalizar("shers").tipo());
+        assertEquals("R_SHE", invertido.normalizar("shex").tipo());
+        assertEquals("R_HERS", invertido.normalizar("sshhers").tipo());
+    }
+
+    @Test
+    void ordenEntreModosYReglas() {
+        ReglasTipoConfig config = ReglasTipoConfig.builder()
+                .porDefecto("otro")
+                .sinonimos(new LinkedHashMap<>(Map.of("LOGIN", List.of("sign_in"))))
+                .reglas(new ArrayList<>(List.of(
+                        regla("regex", ModoRegla.REGEX, "R_REGEX", "^SIGN.*"),
+                        regla("contiene", ModoRegla.CONTIENE, "R_CONTIENE", "SIGN"),
+                        regla("prefijo-corto", ModoRegla.PREFIJO, "R_PREFIJO_CORTO", "SIGN"),
+                        regla("prefijo-largo", ModoRegla.PREFIJO, "R_PREFIJO_LARGO", "SIGN_UP"),
+                        regla("exacto", ModoRegla.EXACTO, "R_EXACTO", "SIGN_OUT"),
+                        regla("regex-2", ModoRegla.REGEX, "R_REGEX_2", "\\d+"))))
+                .build();
+        MotorReglasTipo motor = MotorReglasTipo.compilar(config);
+
+        // Los sinónimos van antes que las reglas declaradas
+        assertEquals("LOGIN", motor.normalizar(" Sign_In ").tipo());
+        assertEquals(0, motor.normalizar("sign_in").regla());
+        // EXACTO > PREFIJO > CONTIENE > REGEX, sin importar el orden de declaración
+        assertEquals("R_EXACTO", motor.normalizar("sign_out").tipo());
+        assertEquals("R_PREFIJO_LARGO", motor.normalizar("sign_up_now").tipo());
+        assertEquals("R_PREFIJO_CORTO", motor.normalizar("signal").tipo());
+        assertEquals("R_CONTIENE", motor.normalizar("re_sign").tipo());
+        // Entre regex, el orden de configuración
+        assertEquals("R_REGEX_2", motor.normalizar("evento 42").tipo());
+        assertEquals("OTRO", motor.normalizar("nada").tipo());
+        assertEquals(-1, motor.normalizar(null).regla());
+    }
+
+    @Test
+    void subcadenasCoincidenConBusquedaIngenua() {
+        Random random = new Random(20251018L);
+        for (int caso = 0; caso < 200; caso++) {
+            List<Regla> reglas = new ArrayList<>();
+            int cantidad = 1 + random.nextInt(8);
+            for (int i = 0; i < cantidad; i++) {
+                String[] patrones = new String[1 + random.nextInt(3)];
+                for (int p = 0; p < patrones.length; p++) {
+                    patrones[p] = textoAleatorio(random, 1 + random.nextInt(4));
+                }
+                reglas.add(regla("r" + i, ModoRegla.CONTIENE, "R" + i, patrones));
+            }
+            MotorReglasTipo motor = motor(reglas.toArray(Regla[]::new));
+
+            for (int t = 0; t < 50; t++) {
+                String texto = textoAleatorio(random, random.nextInt(16));
+                assertEquals(primeraQueContiene(reglas, texto), motor.normalizar(texto).regla(),
+                        () -> "Texto " + texto + " con reglas " + reglas);
+            }
+        }
+    }
+
+    @Test
+    void mismasSalidasQueLaCadenaDeContainsAnterior() throws Exception {
+        MotorReglasTipo motor;
+        try (InputStream in = getClass().getResourceAsStream("/reglas-tipo-evento.json")) {
+            motor = MotorReglasTipo.compilar(new ObjectMapper().readValue(in, ReglasTipoConfig.class));
+        }
+
+        List<String> tipos = new ArrayList<>(Arrays.asList(null, "", "  ", "ver_curso", " Curso ",
+                "iniciar_quiz", "EXAMEN", "login", "LOGIN_CURSO", "quiz-login", "exam", "logout", "otro"));
+        Random random = new Random(7L);
+        for (int i = 0; i < 5000; i++) {
+            tipos.add(textoAleatorio(random, random.nextInt(14), "CURSOQIZEXAMLGN _c"));
+        }
+        for (String tipo : tipos) {
+            assertEquals(normalizarTipoAnterior(tipo), motor.normalizar(tipo).tipo(), () -> "Tipo " + tipo);
+        }
+    }
+
+    @Test
+    void rechazaConfiguracionesInvalidas() {
+        assertThrows(IllegalArgumentException.class, () -> motor(
+                regla("a", ModoRegla.CONTIENE, "X", "A"),
+                regla("a", ModoRegla.CONTIENE, "Y", "B")));
+        assertThrows(IllegalArgumentException.class, () -> motor(
+                regla("vacia", ModoRegla.PREFIJO, "X", " ")));
+        assertThrows(IllegalArgumentException.class, () -> motor(
+                regla("regex", ModoRegla.REGEX, "X", "(")));
+    }
+
+    // Normalización antes del motor de reglas (DataCleaningService.normalizarTipo)
+    private static String normalizarTipoAnterior(String tipo) {
+        if (tipo == null) return "OTRO";
+        String t = tipo.trim().toUpperCase();
+
+        if (t.contains("CURSO")) return "VER_CURSO";
+        if (t.contains("QUIZ") || t.contains("EXAM")) return "INICIAR_QUIZ";
+        if (t.contains("LOGIN")) return "LOGIN";
+
+        return "OTRO";
+    }
+
+    private static int primeraQueContiene(List<Regla> reglas, String texto) {
+        for (int i = 0; i < reglas.size(); i++) {
+            for (String patron : reglas.get(i).getPatrones()) {
+                if (texto.contains(patron)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String textoAleatorio(Random random, int largo) {
+        // Alfabeto chico: muchos solapamientos
+        return textoAleatorio(random, largo, "ABC");
+    }
+
+    private static String textoAleatorio(Random random, int largo, String alfabeto) {
+        StringBuilder sb = new StringBuilder(largo);
+        for (int i = 0; i < largo; i++) {
+            sb.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+        }
+        return sb.toString();
+    }
+
+    private static MotorReglasTipo motor(Regla... reglas) {
+        return MotorReglasTipo.compilar(ReglasTipoConfig.builder()
+                .reglas(new ArrayList<>(List.of(reglas)))
+                .build());
+    }
+
+    private static Regla regla(String nombre, ModoRegla modo, String resultado, String... patrones) {
+        return Regla.builder()
+                .nombre(nombre)
+                .modo(modo)
+                .patrones(List.of(patrones))
+                .resultado(resultado)
+                .build();
+    }
+}